@@ -0,0 +1,146 @@
+package com.alban.technical_test_alban.component;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import com.alban.technical_test_alban.exception.ConnectionAdmissionException;
+
+/**
+ * Data source letting at most {@code permits} connections out at a time, callers beyond that
+ * wait in a FIFO queue of bounded length and are rejected once it is full.
+ * <p>
+ * With a thread per request the pool is shielded by the size of the request thread pool, with
+ * virtual threads nothing limits how many requests reach it at once. Waiting here instead of in
+ * the pool keeps the wait fair and cheap (a parked virtual thread), and a full queue fails fast
+ * instead of letting every caller run into the pool's connection timeout.
+ */
+final class AdmissionDataSource extends DelegatingDataSource {
+
+    // SQL state of a rejected connection attempt, translated to a DataAccessResourceFailureException
+    private static final String REJECTED_STATE = "08004";
+
+    private final Semaphore permits;
+    private final int maxWaiting;
+    private final long timeoutNanos;
+    private final LongAdder rejected = new LongAdder();
+
+    AdmissionDataSource(DataSource target, int permits, int maxWaiting, Duration timeout) {
+        super(target);
+        this.permits = new Semaphore(permits, true);
+        this.maxWaiting = maxWaiting;
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        admit();
+        try {
+            return guard(super.getConnection());
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        admit();
+        try {
+            return guard(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    int waiting() {
+        return permits.getQueueLength();
+    }
+
+    long rejected() {
+        return rejected.sum();
+    }
+
+    private void admit() throws SQLException {
+        try {
+            // A timed try honours the queue, an untimed one would barge ahead of the waiters
+            if (permits.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+                return;
+            }
+            if (permits.getQueueLength() >= maxWaiting) {
+                rejected.increment();
+                throw new ConnectionAdmissionException("Too many requests waiting for a database connection",
+                        REJECTED_STATE);
+            }
+            if (!permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                rejected.increment();
+                throw new ConnectionAdmissionException("No database connection available after "
+                        + TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + " ms", REJECTED_STATE);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection",
+                    REJECTED_STATE, ex);
+        }
+    }
+
+    private Connection guard(Connection target) {
+        return (Connection) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+                new Class<?>[]{ConnectionProxy.class}, new Guard(target));
+    }
+
+    /**
+     * Gives the permit back when the connection is closed, once however often close is called.
+     */
+    private final class Guard implements InvocationHandler {
+
+        private final Connection target;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Guard(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "getTargetConnection":
+                    return target;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "close":
+                    if (released.compareAndSet(false, true)) {
+                        try {
+                            target.close();
+                        } finally {
+                            permits.release();
+                        }
+                    }
+                    return null;
+                default:
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getTargetException();
+                    }
+            }
+        }
+    }
+}
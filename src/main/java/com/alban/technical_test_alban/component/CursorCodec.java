@@ -0,0 +1,98 @@
+package com.alban.technical_test_alban.component;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.util.TypeInformation;
+import org.springframework.stereotype.Component;
+
+import com.alban.technical_test_alban.dto.CursorPageDTO;
+import com.alban.technical_test_alban.exception.InvalidCursorException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Translates between keyset scroll positions and the opaque {@code after} tokens handed to clients.
+ * <p>
+ * A token is the base64url encoded JSON of the last row's sort key values (the id is always part
+ * of them) plus the sort it was produced for, so a token cannot be replayed against another sort.
+ */
+@Component
+@RequiredArgsConstructor
+public class CursorCodec {
+
+    public static final int MAX_LIMIT = 100;
+
+    private final ObjectMapper objectMapper;
+
+    public KeysetScrollPosition decode(String token, Class<?> domainType, Sort sort) {
+        if (token == null || token.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        Cursor cursor;
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(token);
+            cursor = objectMapper.readValue(json, new TypeReference<Cursor>() {});
+        } catch (IllegalArgumentException | IOException ex) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+        if (cursor.sort() == null || cursor.keys() == null || !cursor.sort().equals(sort.toString())) {
+            throw new InvalidCursorException("Cursor does not match the requested sort");
+        }
+
+        // JSON loses the key types (Long becomes Integer, BigDecimal becomes Double, Instant becomes
+        // a String), restore them with the same mapper that wrote them
+        TypeInformation<?> type = TypeInformation.of(domainType);
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try {
+            cursor.keys().forEach((property, value) -> {
+                TypeInformation<?> propertyType = type.getProperty(property);
+                if (propertyType == null) {
+                    throw new InvalidCursorException("Unknown cursor key: " + property);
+                }
+                keys.put(property, objectMapper.convertValue(value, propertyType.getType()));
+            });
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    public <T, R> CursorPageDTO<R> toPage(Window<T> window, Sort sort, Function<T, R> mapper) {
+        String next = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            KeysetScrollPosition position = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+            next = encode(new Cursor(sort.toString(), position.getKeys()));
+        }
+        return new CursorPageDTO<>(window.getContent().stream().map(mapper).toList(), next, next != null);
+    }
+
+    /**
+     * Clamps a requested page size to 1..{@value #MAX_LIMIT}.
+     */
+    public int limit(int requested) {
+        return Math.max(1, Math.min(requested, MAX_LIMIT));
+    }
+
+    private String encode(Cursor cursor) {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsBytes(cursor));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not encode cursor", ex);
+        }
+    }
+
+    private record Cursor(String sort, Map<String, Object> keys) {
+    }
+}
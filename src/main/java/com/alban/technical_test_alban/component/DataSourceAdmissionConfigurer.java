@@ -0,0 +1,44 @@
+package com.alban.technical_test_alban.component;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Puts the application data source behind an {@link AdmissionDataSource}, so that however many
+ * request threads there are, at most {@code app.datasource.admission.permits} of them hold a
+ * connection and a bounded number queue for one.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.datasource.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class DataSourceAdmissionConfigurer implements BeanPostProcessor {
+
+    private final int permits;
+    private final int maxWaiting;
+    private final Duration timeout;
+
+    public DataSourceAdmissionConfigurer(@Value("${app.datasource.admission.permits:10}") int permits,
+                                         @Value("${app.datasource.admission.max-waiting:1000}") int maxWaiting,
+                                         @Value("${app.datasource.admission.timeout:10s}") Duration timeout) {
+        this.permits = permits;
+        this.maxWaiting = maxWaiting;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource) || bean instanceof AdmissionDataSource) {
+            return bean;
+        }
+        log.info("Data source '{}' admits {} connections, {} waiting at most", beanName, permits, maxWaiting);
+        return new AdmissionDataSource(dataSource, permits, maxWaiting, timeout);
+    }
+}
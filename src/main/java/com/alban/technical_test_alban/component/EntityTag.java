@@ -0,0 +1,21 @@
+package com.alban.technical_test_alban.component;
+
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Validators of a single resource representation.
+ *
+ * @param etag         strong entity tag, unquoted
+ * @param lastModified epoch millis, or -1 when unknown
+ */
+public record EntityTag(String etag, long lastModified) {
+
+    /**
+     * Answers the conditional headers of the request and adds the validators to the response.
+     *
+     * @return true when the response is a 304 and no body must be written
+     */
+    public boolean isNotModified(WebRequest request) {
+        return request.checkNotModified(etag, lastModified);
+    }
+}
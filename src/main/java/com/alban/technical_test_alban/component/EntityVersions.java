@@ -0,0 +1,181 @@
+package com.alban.technical_test_alban.component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.alban.technical_test_alban.event.InventoryChangedEvent;
+import com.alban.technical_test_alban.event.ItemChangedEvent;
+import com.alban.technical_test_alban.event.OrderChangedEvent;
+import com.alban.technical_test_alban.event.StockChangedEvent;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+/**
+ * Last known row versions of items, stock balances, orders and inventories, so that
+ * conditional GETs can be answered without reading the database.
+ * <p>
+ * An item representation is tagged with the item and stock balance versions, an order or
+ * inventory one with its own and its item's version, since it shows the item name.
+ * Versions only move forward: writes record what they committed and reads what they saw,
+ * so a read racing with a write never brings an older version back, and deleted rows keep a
+ * tombstone for the same reason. Last-Modified is when a version was first seen here, and
+ * is only sent once that second is over, since HTTP dates cannot tell apart two versions
+ * seen within the same second.
+ * <p>
+ * Each kind keeps at most {@code max-size} entries, dropped once unused for {@code ttl}, and
+ * tombstones are dropped {@code tombstone-ttl} after the delete, which only needs to outlast the
+ * reads racing with it. A dropped entry is read back from the database on the next request.
+ */
+@Component
+public class EntityVersions {
+
+    private static final long DELETED = Long.MAX_VALUE;
+
+    private final Clock clock;
+    private final ConcurrentMap<Long, Version> items;
+    private final ConcurrentMap<Long, Version> stocks;
+    private final ConcurrentMap<Long, Version> orders;
+    private final ConcurrentMap<Long, Version> inventories;
+
+    @Autowired
+    public EntityVersions(@Value("${app.versions.max-size:100000}") long maxSize,
+                          @Value("${app.versions.ttl:1h}") Duration ttl,
+                          @Value("${app.versions.tombstone-ttl:1m}") Duration tombstoneTtl) {
+        this(Clock.systemUTC(), maxSize, ttl, tombstoneTtl);
+    }
+
+    EntityVersions(Clock clock, long maxSize, Duration ttl, Duration tombstoneTtl) {
+        this.clock = clock;
+        this.items = versions(maxSize, ttl, tombstoneTtl);
+        this.stocks = versions(maxSize, ttl, tombstoneTtl);
+        this.orders = versions(maxSize, ttl, tombstoneTtl);
+        this.inventories = versions(maxSize, ttl, tombstoneTtl);
+    }
+
+    public Optional<EntityTag> item(Long itemId) {
+        return known(items.get(itemId), stocks.get(itemId));
+    }
+
+    public Optional<EntityTag> order(Long orderId) {
+        Version order = orders.get(orderId);
+        return order == null ? Optional.empty() : known(order, items.get(order.itemId()));
+    }
+
+    public Optional<EntityTag> inventory(Long inventoryId) {
+        Version inventory = inventories.get(inventoryId);
+        return inventory == null ? Optional.empty() : known(inventory, items.get(inventory.itemId()));
+    }
+
+    /**
+     * Records versions read from the database.
+     *
+     * @return the tag of those versions, without Last-Modified when a newer one is already known
+     */
+    public EntityTag recordItem(Long itemId, long version, long stockVersion) {
+        return tag(version, record(items, itemId, version, null), stockVersion, record(stocks, itemId, stockVersion, null));
+    }
+
+    public EntityTag recordOrder(Long orderId, Long itemId, long version, long itemVersion) {
+        return tag(version, record(orders, orderId, version, itemId), itemVersion, record(items, itemId, itemVersion, null));
+    }
+
+    public EntityTag recordInventory(Long inventoryId, Long itemId, long version, long itemVersion) {
+        return tag(version, record(inventories, inventoryId, version, itemId), itemVersion, record(items, itemId, itemVersion, null));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        record(items, event.itemId(), event.version() == null ? DELETED : event.version(), null);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        record(stocks, event.itemId(), event.version(), null);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderChanged(OrderChangedEvent event) {
+        record(orders, event.orderId(), event.version() == null ? DELETED : event.version(), event.itemId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInventoryChanged(InventoryChangedEvent event) {
+        record(inventories, event.inventoryId(), event.version() == null ? DELETED : event.version(), event.itemId());
+    }
+
+    private Version record(ConcurrentMap<Long, Version> versions, Long id, long value, Long itemId) {
+        return versions.compute(id, (key, current) -> {
+            if (current != null && value <= current.value()) {
+                return current;
+            }
+            return new Version(value, itemId, now());
+        });
+    }
+
+    private Optional<EntityTag> known(Version version, Version related) {
+        if (version == null || related == null || version.value() == DELETED || related.value() == DELETED) {
+            return Optional.empty();
+        }
+        return Optional.of(tag(version.value(), version, related.value(), related));
+    }
+
+    private EntityTag tag(long version, Version current, long related, Version currentRelated) {
+        // A read that lost a race with a write is tagged with what it read, but only the
+        // current versions have a known modification time
+        if (current.value() != version || currentRelated.value() != related) {
+            return new EntityTag(version + "-" + related, -1);
+        }
+        Instant modifiedAt = current.modifiedAt().isAfter(currentRelated.modifiedAt())
+                ? current.modifiedAt() : currentRelated.modifiedAt();
+        return new EntityTag(version + "-" + related, modifiedAt.isBefore(now()) ? modifiedAt.toEpochMilli() : -1);
+    }
+
+    private ConcurrentMap<Long, Version> versions(long maxSize, Duration ttl, Duration tombstoneTtl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<Long, Version>() {
+                    @Override
+                    public long expireAfterCreate(Long id, Version version, long currentTime) {
+                        if (version.value() != DELETED) {
+                            return ttl.toNanos();
+                        }
+                        // Counted from the delete, the reads a tombstone turns away do not keep it
+                        return Math.max(0, nanos(version.modifiedAt()) + tombstoneTtl.toNanos() - currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long id, Version version, long currentTime, long currentDuration) {
+                        return expireAfterCreate(id, version, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long id, Version version, long currentTime, long currentDuration) {
+                        return expireAfterCreate(id, version, currentTime);
+                    }
+                })
+                .ticker(() -> nanos(clock.instant()))
+                .executor(Runnable::run)
+                .<Long, Version>build()
+                .asMap();
+    }
+
+    private static long nanos(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+
+    private Instant now() {
+        return clock.instant().truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    private record Version(long value, Long itemId, Instant modifiedAt) {
+    }
+}
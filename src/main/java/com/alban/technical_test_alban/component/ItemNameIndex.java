@@ -0,0 +1,90 @@
+package com.alban.technical_test_alban.component;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.alban.technical_test_alban.entity.Item;
+import com.alban.technical_test_alban.event.ItemChangedEvent;
+import com.alban.technical_test_alban.repository.ItemRepository;
+import com.alban.technical_test_alban.repository.ItemSnapshot;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory name to id index of the item catalogue, answering duplicate name checks
+ * without a query.
+ * <p>
+ * Entries are written after each commit, so the index can briefly miss a name another
+ * transaction is about to commit; the unique constraint on {@code items.name} rejects
+ * that duplicate.
+ * <p>
+ * Each item's name is kept with its row version, and only a newer version moves it, so the
+ * bulk load at startup and events delivered out of order never bring back a name the item
+ * has since left. Deleted items keep a tombstone for the same reason.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemNameIndex {
+
+    private final ItemRepository itemRepository;
+
+    private static final long DELETED = Long.MAX_VALUE;
+
+    private final ConcurrentHashMap<String, Long> ids = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Entry> items = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    private record Entry(String name, long version) {
+    }
+
+    /**
+     * @return the id of the item carrying the name, read from the database until the index is hydrated
+     */
+    public Optional<Long> findId(String name) {
+        if (!ready) {
+            return itemRepository.findByName(name).map(Item::getId);
+        }
+        return Optional.ofNullable(ids.get(name));
+    }
+
+    public int size() {
+        return ids.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        put(event.itemId(), event.name(), event.name() == null ? DELETED : event.version());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void hydrate() {
+        for (ItemSnapshot item : itemRepository.findAllSnapshots()) {
+            put(item.getItemId(), item.getName(), item.getVersion());
+        }
+        ready = true;
+        log.info("Item name index hydrated with {} names", ids.size());
+    }
+
+    private void put(Long itemId, String name, long version) {
+        items.compute(itemId, (key, current) -> {
+            if (current != null && version <= current.version()) {
+                return current;
+            }
+            if (current != null && current.name() != null && !current.name().equals(name)) {
+                // Another item may have taken the name over since
+                ids.remove(current.name(), itemId);
+            }
+            if (name != null) {
+                ids.put(name, itemId);
+            }
+            return new Entry(name, version);
+        });
+    }
+}
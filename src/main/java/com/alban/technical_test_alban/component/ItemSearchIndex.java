@@ -0,0 +1,604 @@
+package com.alban.technical_test_alban.component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.alban.technical_test_alban.event.ItemChangedEvent;
+import com.alban.technical_test_alban.repository.ItemRepository;
+import com.alban.technical_test_alban.repository.ItemSnapshot;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory type-ahead search over item names, also the in-memory view of every item's name
+ * and price for the reads that must not wait on the database.
+ * <p>
+ * Every word of a name is indexed as trigrams of {@code "  " + word + " "}, so the leading
+ * grams anchor word prefixes ({@code "  p"}, {@code " pe"}) and the inner ones allow substring
+ * and typo tolerant matches. Each trigram maps to a sorted {@code int[]} posting list of
+ * document numbers. A query first intersects the lists of the trigrams any real match must
+ * contain and ranks exact names, name prefixes, word prefixes then substrings, shortest name
+ * first; when that leaves room, names sharing at least half of the trigrams of every query
+ * word follow as fuzzy matches, most shared first.
+ * <p>
+ * Documents are append-only: a rename or delete tombstones the old document, and the index
+ * is rebuilt once tombstones outnumber the live documents. Reads share a lock that writes,
+ * applied after each commit, take exclusively. Every item's row version is kept, deleted
+ * items included, and a change is only applied when newer, so neither the bulk load at
+ * startup nor events delivered out of order bring back an old name.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemSearchIndex {
+
+    public static final int MAX_RESULTS = 50;
+
+    private static final int GRAM = 3;
+    private static final long DELETED = Long.MAX_VALUE;
+    private static final int MIN_TOMBSTONES_TO_COMPACT = 1024;
+
+    private static final int TIER_EXACT = 0;
+    private static final int TIER_PREFIX = 1;
+    private static final int TIER_WORD_PREFIX = 2;
+    private static final int TIER_SUBSTRING = 3;
+    private static final int TIER_FUZZY = 4;
+
+    private final ItemRepository itemRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Documents documents = new Documents(16);
+    private final Map<Long, Long> versions = new HashMap<>();
+    private volatile boolean ready;
+
+    public record Hit(Long itemId, String name, BigDecimal price) {
+    }
+
+    /**
+     * @param fuzzy also return names sharing at least half of the trigrams of every query word without containing them
+     * @return up to {@code limit} items, best match first
+     */
+    public List<Hit> search(String query, int limit, boolean fuzzy) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        int max = Math.max(1, Math.min(limit, MAX_RESULTS));
+        String[] words = normalized.split(" ");
+        String[][] grams = queryGrams(words);
+
+        lock.readLock().lock();
+        try {
+            return documents.search(normalized, words, grams, max, fuzzy);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the item, empty when it does not exist or the index is not loaded yet
+     */
+    public Optional<Hit> get(Long itemId) {
+        lock.readLock().lock();
+        try {
+            return documents.get(itemId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.live();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.name() == null) {
+                if (advance(event.itemId(), DELETED)) {
+                    documents.remove(event.itemId());
+                }
+            } else if (advance(event.itemId(), event.version())) {
+                documents.put(event.itemId(), event.name(), event.price());
+            }
+            if (documents.tombstones() > MIN_TOMBSTONES_TO_COMPACT && documents.tombstones() > documents.live()) {
+                documents = documents.compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void hydrate() {
+        List<ItemSnapshot> items = itemRepository.findAllSnapshots();
+        lock.writeLock().lock();
+        try {
+            Documents loaded = new Documents(items.size());
+            for (ItemSnapshot item : items) {
+                if (advance(item.getItemId(), item.getVersion())) {
+                    loaded.put(item.getItemId(), item.getName(), item.getPrice());
+                }
+            }
+            // Changes committed while loading were applied to the old documents and are newer
+            documents.forEachLive((itemId, name, price) -> {
+                if (!loaded.contains(itemId)) {
+                    loaded.put(itemId, name, price);
+                }
+            });
+            loaded.trim();
+            documents = loaded;
+            ready = true;
+            log.info("Item search index hydrated with {} items, {} trigrams", loaded.live(), loaded.gramCount());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Records the version when newer than the known one, under the write lock.
+     *
+     * @return whether the change carrying it must be applied
+     */
+    private boolean advance(Long itemId, long version) {
+        Long current = versions.get(itemId);
+        if (current != null && version <= current) {
+            return false;
+        }
+        versions.put(itemId, version);
+        return true;
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean space = true;
+        for (char c : text.toLowerCase(Locale.ROOT).toCharArray()) {
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(c);
+                space = false;
+            } else if (!space) {
+                normalized.append(' ');
+                space = true;
+            }
+        }
+        int length = normalized.length();
+        return space && length > 0 ? normalized.substring(0, length - 1) : normalized.toString();
+    }
+
+    /**
+     * Distinct trigrams of each query word. Query words are prefixes being typed, so they get
+     * no trailing boundary gram.
+     */
+    private static String[][] queryGrams(String[] words) {
+        String[][] grams = new String[words.length][];
+        for (int w = 0; w < words.length; w++) {
+            String padded = "  " + words[w];
+            grams[w] = IntStream.rangeClosed(0, padded.length() - GRAM)
+                    .mapToObj(i -> padded.substring(i, i + GRAM))
+                    .distinct()
+                    .toArray(String[]::new);
+        }
+        return grams;
+    }
+
+    private static boolean isInner(String gram) {
+        return gram.indexOf(' ') < 0;
+    }
+
+    private static final class Documents {
+
+        private final Map<String, Postings> postings = new HashMap<>();
+        private final Map<Long, Integer> documentByItem;
+        private final BitSet deleted = new BitSet();
+        private long[] itemIds;
+        private String[] names;
+        private String[] normalizedNames;
+        private BigDecimal[] prices;
+        private int count;
+        private int tombstones;
+
+        Documents(int capacity) {
+            int size = Math.max(16, capacity);
+            documentByItem = new HashMap<>(size * 4 / 3 + 1);
+            itemIds = new long[size];
+            names = new String[size];
+            normalizedNames = new String[size];
+            prices = new BigDecimal[size];
+        }
+
+        int live() {
+            return count - tombstones;
+        }
+
+        int tombstones() {
+            return tombstones;
+        }
+
+        boolean contains(Long itemId) {
+            return documentByItem.containsKey(itemId);
+        }
+
+        Optional<Hit> get(Long itemId) {
+            Integer document = documentByItem.get(itemId);
+            return document == null
+                    ? Optional.empty()
+                    : Optional.of(new Hit(itemIds[document], names[document], prices[document]));
+        }
+
+        int gramCount() {
+            return postings.size();
+        }
+
+        void put(Long itemId, String name, BigDecimal price) {
+            Integer existing = documentByItem.get(itemId);
+            if (existing != null && names[existing].equals(name)) {
+                prices[existing] = price;
+                return;
+            }
+            remove(itemId);
+            if (count == itemIds.length) {
+                int size = count * 2;
+                itemIds = Arrays.copyOf(itemIds, size);
+                names = Arrays.copyOf(names, size);
+                normalizedNames = Arrays.copyOf(normalizedNames, size);
+                prices = Arrays.copyOf(prices, size);
+            }
+            int document = count++;
+            itemIds[document] = itemId;
+            names[document] = name;
+            normalizedNames[document] = normalize(name);
+            prices[document] = price;
+            documentByItem.put(itemId, document);
+            // Documents only grow, so appending keeps every posting list sorted
+            for (String gram : documentGrams(normalizedNames[document])) {
+                postings.computeIfAbsent(gram, key -> new Postings()).add(document);
+            }
+        }
+
+        void remove(Long itemId) {
+            Integer document = documentByItem.remove(itemId);
+            if (document != null) {
+                deleted.set(document);
+                names[document] = null;
+                normalizedNames[document] = null;
+                prices[document] = null;
+                tombstones++;
+            }
+        }
+
+        void forEachLive(LiveDocumentConsumer consumer) {
+            for (int document = deleted.nextClearBit(0); document < count; document = deleted.nextClearBit(document + 1)) {
+                consumer.accept(itemIds[document], names[document], prices[document]);
+            }
+        }
+
+        Documents compact() {
+            Documents compacted = new Documents(live());
+            forEachLive(compacted::put);
+            compacted.trim();
+            return compacted;
+        }
+
+        void trim() {
+            postings.values().forEach(Postings::trim);
+        }
+
+        List<Hit> search(String query, String[] words, String[][] grams, int limit, boolean fuzzy) {
+            String[] wordStarts = new String[words.length];
+            for (int i = 0; i < words.length; i++) {
+                wordStarts[i] = " " + words[i];
+            }
+            // Worst ranked candidate on top, so it is the one dropped when the queue overflows
+            PriorityQueue<Candidate> best = new PriorityQueue<>(limit + 1, Comparator.reverseOrder());
+
+            List<Postings> required = requiredPostings(grams);
+            if (required != null) {
+                intersect(required, document -> {
+                    int tier = tier(normalizedNames[document], query, words, wordStarts);
+                    if (tier != TIER_FUZZY) {
+                        offer(best, limit, new Candidate(document, tier, 0, normalizedNames[document].length(), itemIds[document]));
+                    }
+                });
+            }
+            // Fuzzy matches rank last, so they are only looked for when the others left room
+            if (fuzzy && best.size() < limit) {
+                fuzzy(grams, (document, shared) -> {
+                    if (tier(normalizedNames[document], query, words, wordStarts) == TIER_FUZZY) {
+                        offer(best, limit, new Candidate(document, TIER_FUZZY, shared, normalizedNames[document].length(), itemIds[document]));
+                    }
+                });
+            }
+
+            List<Candidate> ranked = new ArrayList<>(best);
+            Collections.sort(ranked);
+            List<Hit> hits = new ArrayList<>(ranked.size());
+            for (Candidate candidate : ranked) {
+                int document = candidate.document();
+                hits.add(new Hit(itemIds[document], names[document], prices[document]));
+            }
+            return hits;
+        }
+
+        /**
+         * Exact, prefix, word prefix and substring matches contain every inner gram of the query,
+         * or every gram when the words are too short to have inner ones.
+         *
+         * @return those posting lists shortest first, or {@code null} when one of them is empty
+         */
+        private List<Postings> requiredPostings(String[][] grams) {
+            boolean hasInner = Arrays.stream(grams).flatMap(Arrays::stream).anyMatch(ItemSearchIndex::isInner);
+            List<Postings> required = new ArrayList<>();
+            for (String[] wordGrams : grams) {
+                for (String gram : wordGrams) {
+                    if (isInner(gram) || !hasInner) {
+                        Postings list = postings.get(gram);
+                        if (list == null) {
+                            return null;
+                        }
+                        if (!required.contains(list)) {
+                            required.add(list);
+                        }
+                    }
+                }
+            }
+            required.sort(Comparator.comparingInt(list -> list.size));
+            return required;
+        }
+
+        /**
+         * Walks the shortest list and seeks every document in the longer ones.
+         */
+        private void intersect(List<Postings> lists, IntConsumer consumer) {
+            Postings shortest = lists.get(0);
+            int[] cursors = new int[lists.size()];
+            documents:
+            for (int i = 0; i < shortest.size; i++) {
+                int document = shortest.documents[i];
+                for (int l = 1; l < cursors.length; l++) {
+                    Postings list = lists.get(l);
+                    cursors[l] = list.seek(cursors[l], document);
+                    if (cursors[l] == list.size) {
+                        return;
+                    }
+                    if (list.documents[cursors[l]] != document) {
+                        continue documents;
+                    }
+                }
+                if (!deleted.get(document)) {
+                    consumer.accept(document);
+                }
+            }
+        }
+
+        /**
+         * Documents sharing at least half of the trigrams of every query word. A document sharing
+         * {@code threshold} of a word's {@code n} lists is in one of its {@code n - threshold + 1}
+         * shortest ones, so only those lists of the most selective word are merged and every
+         * other list is probed.
+         */
+        private void fuzzy(String[][] grams, SharedConsumer consumer) {
+            int words = grams.length;
+            Postings[][] lists = new Postings[words][];
+            int[] thresholds = new int[words];
+            int driver = -1;
+            long driverCost = Long.MAX_VALUE;
+            for (int w = 0; w < words; w++) {
+                lists[w] = Arrays.stream(grams[w])
+                        .map(postings::get)
+                        .filter(Objects::nonNull)
+                        .sorted(Comparator.comparingInt(list -> list.size))
+                        .toArray(Postings[]::new);
+                thresholds[w] = (grams[w].length + 1) / 2;
+                int merged = lists[w].length - thresholds[w] + 1;
+                if (merged <= 0) {
+                    return;
+                }
+                long cost = Arrays.stream(lists[w], 0, merged).mapToLong(list -> list.size).sum();
+                if (cost < driverCost) {
+                    driver = w;
+                    driverCost = cost;
+                }
+            }
+
+            Postings[] driving = lists[driver];
+            int merged = driving.length - thresholds[driver] + 1;
+            int[][] cursors = new int[words][];
+            for (int w = 0; w < words; w++) {
+                cursors[w] = new int[lists[w].length];
+            }
+            while (true) {
+                int document = Integer.MAX_VALUE;
+                for (int l = 0; l < merged; l++) {
+                    if (cursors[driver][l] < driving[l].size && driving[l].documents[cursors[driver][l]] < document) {
+                        document = driving[l].documents[cursors[driver][l]];
+                    }
+                }
+                if (document == Integer.MAX_VALUE) {
+                    return;
+                }
+                int shared = 0;
+                for (int l = 0; l < merged; l++) {
+                    if (cursors[driver][l] < driving[l].size && driving[l].documents[cursors[driver][l]] == document) {
+                        cursors[driver][l]++;
+                        shared++;
+                    }
+                }
+                int total = probe(driving, cursors[driver], merged, document, shared, thresholds[driver]);
+                for (int w = 0; w < words && total >= 0; w++) {
+                    if (w != driver) {
+                        int found = probe(lists[w], cursors[w], 0, document, 0, thresholds[w]);
+                        total = found < 0 ? -1 : total + found;
+                    }
+                }
+                if (total >= 0 && !deleted.get(document)) {
+                    consumer.accept(document, total);
+                }
+            }
+        }
+
+        /**
+         * Counts the lists from {@code from} on that hold the document, on top of {@code shared}.
+         *
+         * @return the count, or -1 as soon as it can no longer reach {@code threshold}
+         */
+        private static int probe(Postings[] lists, int[] cursors, int from, int document, int shared, int threshold) {
+            for (int l = from; l < lists.length; l++) {
+                if (shared + lists.length - l < threshold) {
+                    return -1;
+                }
+                cursors[l] = lists[l].seek(cursors[l], document);
+                if (cursors[l] < lists[l].size && lists[l].documents[cursors[l]] == document) {
+                    shared++;
+                }
+            }
+            return shared >= threshold ? shared : -1;
+        }
+
+        private static void offer(PriorityQueue<Candidate> best, int limit, Candidate candidate) {
+            if (best.size() < limit) {
+                best.add(candidate);
+            } else if (candidate.compareTo(best.peek()) < 0) {
+                best.poll();
+                best.add(candidate);
+            }
+        }
+
+        private static int tier(String name, String query, String[] words, String[] wordStarts) {
+            if (name.equals(query)) {
+                return TIER_EXACT;
+            }
+            if (name.startsWith(query)) {
+                return TIER_PREFIX;
+            }
+            if (everyWordStartsAWord(name, words, wordStarts)) {
+                return TIER_WORD_PREFIX;
+            }
+            return name.contains(query) ? TIER_SUBSTRING : TIER_FUZZY;
+        }
+
+        private static boolean everyWordStartsAWord(String name, String[] words, String[] wordStarts) {
+            for (int i = 0; i < words.length; i++) {
+                if (!name.startsWith(words[i]) && !name.contains(wordStarts[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static List<String> documentGrams(String normalizedName) {
+            List<String> grams = new ArrayList<>();
+            for (String word : normalizedName.split(" ")) {
+                String padded = "  " + word + " ";
+                for (int i = 0; i + GRAM <= padded.length(); i++) {
+                    String gram = padded.substring(i, i + GRAM);
+                    if (!grams.contains(gram)) {
+                        grams.add(gram);
+                    }
+                }
+            }
+            return grams;
+        }
+    }
+
+    @FunctionalInterface
+    private interface SharedConsumer {
+        void accept(int document, int shared);
+    }
+
+    @FunctionalInterface
+    private interface LiveDocumentConsumer {
+        void accept(Long itemId, String name, BigDecimal price);
+    }
+
+    /**
+     * Ranked by tier, then most shared trigrams, shortest name and lowest item id.
+     */
+    private record Candidate(int document, int tier, int shared, int length, long itemId) implements Comparable<Candidate> {
+
+        @Override
+        public int compareTo(Candidate other) {
+            if (tier != other.tier) {
+                return Integer.compare(tier, other.tier);
+            }
+            if (shared != other.shared) {
+                return Integer.compare(other.shared, shared);
+            }
+            if (length != other.length) {
+                return Integer.compare(length, other.length);
+            }
+            return Long.compare(itemId, other.itemId);
+        }
+    }
+
+    /**
+     * Growable, sorted list of document numbers.
+     */
+    private static final class Postings {
+
+        private int[] documents = new int[4];
+        private int size;
+
+        void add(int document) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+            }
+            documents[size++] = document;
+        }
+
+        /**
+         * Position of the first document not below {@code document}, galloping forward from
+         * {@code from}, or {@code size} when there is none.
+         */
+        int seek(int from, int document) {
+            int low = from;
+            int high = from;
+            int step = 1;
+            while (high < size && documents[high] < document) {
+                low = high + 1;
+                high = low + step;
+                step <<= 1;
+            }
+            int position = Arrays.binarySearch(documents, low, Math.min(high, size), document);
+            return position >= 0 ? position : -position - 1;
+        }
+
+        void trim() {
+            if (documents.length > size) {
+                documents = Arrays.copyOf(documents, Math.max(size, 1));
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.alban.technical_test_alban.component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Items ranked by a score: a skip list ordered by score then item id, indexed by item id
+ * so that an update moves the item in O(log n) and the top n are read in O(log n + n).
+ * <p>
+ * Scores carry the version of the row they come from and only move forward; removed items
+ * keep an unranked tombstone so that a late update cannot rank them again. Reads are weakly
+ * consistent: an item being moved can be missing from a concurrent read, never listed twice.
+ */
+final class Leaderboard {
+
+    private static final long REMOVED = Long.MAX_VALUE;
+
+    private final ConcurrentSkipListSet<Entry> ranking;
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * @param highestFirst whether the highest scores rank first, ties are ranked by item id
+     */
+    Leaderboard(boolean highestFirst) {
+        Comparator<Entry> byScore = Comparator.comparingLong(Entry::score);
+        this.ranking = new ConcurrentSkipListSet<>(
+                (highestFirst ? byScore.reversed() : byScore).thenComparing(Entry::itemId));
+    }
+
+    void put(Long itemId, long score, long version) {
+        entries.compute(itemId, (key, current) -> {
+            if (current != null && version <= current.version()) {
+                return current;
+            }
+            if (current != null) {
+                ranking.remove(current);
+            }
+            Entry entry = new Entry(itemId, score, version);
+            ranking.add(entry);
+            return entry;
+        });
+    }
+
+    void remove(Long itemId) {
+        entries.compute(itemId, (key, current) -> {
+            if (current != null) {
+                ranking.remove(current);
+            }
+            return new Entry(itemId, 0, REMOVED);
+        });
+    }
+
+    /**
+     * @return the first {@code n} ranked entries, best first
+     */
+    List<Entry> top(int n) {
+        List<Entry> top = new ArrayList<>(n);
+        for (Entry entry : ranking) {
+            if (top.size() == n) {
+                break;
+            }
+            // The previous entry of an item moved while iterating is no longer indexed
+            if (entries.get(entry.itemId()) == entry) {
+                top.add(entry);
+            }
+        }
+        return top;
+    }
+
+    int size() {
+        return ranking.size();
+    }
+
+    record Entry(Long itemId, long score, long version) {
+    }
+}
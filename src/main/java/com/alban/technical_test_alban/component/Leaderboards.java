@@ -0,0 +1,114 @@
+package com.alban.technical_test_alban.component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.alban.technical_test_alban.dto.LeaderboardEntryDTO;
+import com.alban.technical_test_alban.event.ItemChangedEvent;
+import com.alban.technical_test_alban.event.SalesChangedEvent;
+import com.alban.technical_test_alban.event.StockChangedEvent;
+import com.alban.technical_test_alban.repository.ItemRepository;
+import com.alban.technical_test_alban.repository.ItemSalesRepository;
+import com.alban.technical_test_alban.repository.ItemStockRepository;
+import com.alban.technical_test_alban.service.ItemService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Best-sellers (units sold) and low-stock (remaining stock) rankings of the catalogue,
+ * updated after each commit from the sales and stock balance changes, so that the top n
+ * of either are read without a query. Item names come from {@link ItemSearchIndex}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class Leaderboards {
+
+    public static final int MAX_SIZE = 100;
+
+    // An item without movements has no balance row yet, any written balance replaces it
+    private static final long NO_BALANCE = -1;
+
+    private final ItemRepository itemRepository;
+    private final ItemSalesRepository itemSalesRepository;
+    private final ItemStockRepository itemStockRepository;
+    private final ItemService itemService;
+    private final ItemSearchIndex itemSearchIndex;
+
+    private final Leaderboard topSellers = new Leaderboard(true);
+    private final Leaderboard lowStock = new Leaderboard(false);
+
+    /**
+     * @return up to {@code n} items with units sold, most sold first
+     */
+    public List<LeaderboardEntryDTO> topSellers(int n) {
+        return toDTOs(topSellers.top(clamp(n)).stream().filter(entry -> entry.score() > 0).toList());
+    }
+
+    /**
+     * @return up to {@code n} items, lowest remaining stock first
+     */
+    public List<LeaderboardEntryDTO> lowStock(int n) {
+        return toDTOs(lowStock.top(clamp(n)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSalesChanged(SalesChangedEvent event) {
+        topSellers.put(event.itemId(), event.unitsSold(), event.version());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        lowStock.put(event.itemId(), event.remainingStock(), event.version());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        if (event.name() == null) {
+            topSellers.remove(event.itemId());
+            lowStock.remove(event.itemId());
+            return;
+        }
+        if (event.oldName() == null) {
+            lowStock.put(event.itemId(), 0, NO_BALANCE);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void hydrate() {
+        // Changes committed while loading carry newer versions than the snapshot and are kept
+        itemSalesRepository.findAll()
+                .forEach(sales -> topSellers.put(sales.getItemId(), sales.getUnits(), sales.getVersion()));
+        itemStockRepository.findAll()
+                .forEach(stock -> lowStock.put(stock.getItemId(), stock.getQuantity(), stock.getVersion()));
+
+        List<Long> unstocked = itemRepository.findIdsWithoutStock();
+        if (!unstocked.isEmpty()) {
+            // Balances are rebuilt from the movements, their StockChangedEvents rank the items
+            itemService.getRemainingStock(unstocked);
+        }
+        log.info("Leaderboards hydrated with {} sellers and {} stocked items", topSellers.size(), lowStock.size());
+    }
+
+    private List<LeaderboardEntryDTO> toDTOs(List<Leaderboard.Entry> entries) {
+        List<LeaderboardEntryDTO> dtos = new ArrayList<>(entries.size());
+        for (Leaderboard.Entry entry : entries) {
+            dtos.add(new LeaderboardEntryDTO(dtos.size() + 1, entry.itemId(), name(entry.itemId()), entry.score()));
+        }
+        return dtos;
+    }
+
+    private String name(Long itemId) {
+        return itemSearchIndex.get(itemId).map(ItemSearchIndex.Hit::name).orElse(null);
+    }
+
+    private static int clamp(int n) {
+        return Math.max(1, Math.min(n, MAX_SIZE));
+    }
+}
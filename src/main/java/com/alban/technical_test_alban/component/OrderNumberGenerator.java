@@ -0,0 +1,90 @@
+package com.alban.technical_test_alban.component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.stereotype.Component;
+
+import com.alban.technical_test_alban.repository.OrderRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Allocates order numbers ({@code O<n>}) from blocks reserved on ORDER_NO_SEQ.
+ * <p>
+ * Each sequence call reserves a whole block (the sequence increments by the block size),
+ * threads then draw from the current block with a single atomic increment.
+ * Numbers of a block not used before shutdown are skipped, exactly like sequence gaps.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderNumberGenerator {
+
+    private static final String PREFIX = "O";
+
+    private final OrderRepository orderRepository;
+
+    private final ReentrantLock refillLock = new ReentrantLock();
+    private volatile Block block = new Block(0, 0);
+    private long blockSize;
+
+    public String next() {
+        while (true) {
+            Block current = block;
+            long number = current.next.getAndIncrement();
+            if (number < current.end) {
+                return PREFIX + number;
+            }
+            refill(current);
+        }
+    }
+
+    /**
+     * Draws {@code count} numbers at once, one atomic add per block touched.
+     */
+    public List<String> next(int count) {
+        List<String> numbers = new ArrayList<>(count);
+        while (numbers.size() < count) {
+            Block current = block;
+            int wanted = count - numbers.size();
+            long first = current.next.getAndAdd(wanted);
+            long last = Math.min(first + wanted, current.end);
+            for (long number = first; number < last; number++) {
+                numbers.add(PREFIX + number);
+            }
+            if (numbers.size() < count) {
+                refill(current);
+            }
+        }
+        return numbers;
+    }
+
+    private void refill(Block exhausted) {
+        refillLock.lock();
+        try {
+            // Another thread may have refilled while we were waiting for the lock
+            if (block == exhausted) {
+                if (blockSize == 0) {
+                    blockSize = orderRepository.getOrderNoBlockSize();
+                }
+                long start = orderRepository.nextOrderNoBlock();
+                block = new Block(start, start + blockSize);
+            }
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    private static final class Block {
+
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
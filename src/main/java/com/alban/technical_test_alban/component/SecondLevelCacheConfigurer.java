@@ -0,0 +1,70 @@
+package com.alban.technical_test_alban.component;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+/**
+ * Creates the Hibernate second-level cache regions as bounded Caffeine caches and hands
+ * the cache manager to Hibernate.
+ * <p>
+ * Data regions evict by size (W-TinyLFU) and expire a while after being written, so rows
+ * changed behind Hibernate's back are only served stale for a bounded time. The update
+ * timestamps region is neither bounded nor expired: losing an entry there would let a
+ * cached query result outlive a write to its table.
+ */
+@Component
+public class SecondLevelCacheConfigurer implements HibernatePropertiesCustomizer, DisposableBean {
+
+    public static final String ITEM_REGION = "items";
+    public static final String ITEM_BY_NAME_REGION = "items-by-name";
+
+    private final CacheManager cacheManager;
+
+    public SecondLevelCacheConfigurer(@Value("${app.cache.item.max-size:10000}") long itemMaxSize,
+                                      @Value("${app.cache.item.ttl:10m}") Duration itemTtl,
+                                      @Value("${app.cache.query.max-size:1000}") long queryMaxSize,
+                                      @Value("${app.cache.query.ttl:10m}") Duration queryTtl) {
+        // One manager per application context, contexts sharing a JVM (tests) must not share regions
+        URI uri = URI.create("urn:technical-test-alban:cache:" + UUID.randomUUID());
+        this.cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(uri, getClass().getClassLoader());
+
+        cacheManager.createCache(ITEM_REGION, bounded(itemMaxSize, itemTtl));
+        cacheManager.createCache(ITEM_BY_NAME_REGION, bounded(queryMaxSize, queryTtl));
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, bounded(queryMaxSize, queryTtl));
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, new CaffeineConfiguration<>());
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+    }
+
+    @Override
+    public void destroy() {
+        cacheManager.close();
+    }
+
+    private static CaffeineConfiguration<Object, Object> bounded(long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        return configuration;
+    }
+}
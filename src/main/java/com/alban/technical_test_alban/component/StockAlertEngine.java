@@ -0,0 +1,161 @@
+package com.alban.technical_test_alban.component;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.alban.technical_test_alban.entity.ItemStock;
+import com.alban.technical_test_alban.entity.ReorderThreshold;
+import com.alban.technical_test_alban.event.ItemChangedEvent;
+import com.alban.technical_test_alban.event.ReorderThresholdChangedEvent;
+import com.alban.technical_test_alban.event.StockAlertEvent;
+import com.alban.technical_test_alban.event.StockAlertEvent.Transition;
+import com.alban.technical_test_alban.event.StockChangedEvent;
+import com.alban.technical_test_alban.repository.ItemStockRepository;
+import com.alban.technical_test_alban.repository.ReorderThresholdRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Low-stock alerts of the items with a reorder threshold, re-evaluated after each commit for
+ * the one item whose stock balance or threshold changed.
+ * <p>
+ * An alert is raised when the remaining stock falls to the threshold or below, and only cleared
+ * once it is back above threshold + hysteresis, so that stock moving around the threshold does
+ * not raise and clear it on every order. Both transitions are published as {@link StockAlertEvent}.
+ * Balances carry their item_stock version, late or out-of-order updates are ignored.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockAlertEngine {
+
+    // An item without movements has no balance row yet, any written balance replaces it
+    private static final long NO_BALANCE = -1;
+
+    private final ReorderThresholdRepository reorderThresholdRepository;
+    private final ItemStockRepository itemStockRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ConcurrentHashMap<Long, Watch> watches = new ConcurrentHashMap<>();
+
+    /**
+     * @return the raised alerts, longest standing first
+     */
+    public List<Alert> activeAlerts() {
+        return watches.entrySet().stream()
+                .filter(entry -> entry.getValue().raisedAt() != null)
+                .map(entry -> new Alert(entry.getKey(), entry.getValue().stock(), entry.getValue().threshold(),
+                        entry.getValue().hysteresis(), entry.getValue().raisedAt()))
+                .sorted(Comparator.comparing(Alert::raisedAt).thenComparing(Alert::itemId))
+                .toList();
+    }
+
+    public int watchedItems() {
+        return watches.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        // Items without a threshold are not watched and cost a single lookup
+        if (!watches.containsKey(event.itemId())) {
+            return;
+        }
+        update(event.itemId(), current -> current == null || event.version() <= current.version()
+                ? current
+                : new Watch(current.threshold(), current.hysteresis(), event.remainingStock(), event.version(), current.raisedAt()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onThresholdChanged(ReorderThresholdChangedEvent event) {
+        if (event.threshold() == null) {
+            update(event.itemId(), current -> null);
+            return;
+        }
+        watch(event.itemId(), event.threshold(), event.hysteresis(), itemStockRepository.findLevelByItemId(event.itemId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        if (event.name() == null) {
+            update(event.itemId(), current -> null);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void hydrate() {
+        List<ReorderThreshold> thresholds = reorderThresholdRepository.findAll();
+        Map<Long, ItemStock> balances = new HashMap<>();
+        itemStockRepository.findAllById(thresholds.stream().map(ReorderThreshold::getItemId).toList())
+                .forEach(balance -> balances.put(balance.getItemId(), balance));
+        thresholds.forEach(threshold -> watch(threshold.getItemId(), threshold.getThreshold(),
+                threshold.getHysteresis(), balances.get(threshold.getItemId())));
+        log.info("Stock alerts watching {} items, {} raised", watches.size(), activeAlerts().size());
+    }
+
+    private void watch(Long itemId, Integer threshold, Integer hysteresis, ItemStock balance) {
+        int stock = balance == null ? 0 : balance.getQuantity();
+        long version = balance == null ? NO_BALANCE : balance.getVersion();
+        update(itemId, current -> {
+            if (current == null) {
+                return new Watch(threshold, hysteresis, stock, version, null);
+            }
+            // A newer balance may have been applied since the read
+            return current.version() >= version
+                    ? new Watch(threshold, hysteresis, current.stock(), current.version(), current.raisedAt())
+                    : new Watch(threshold, hysteresis, stock, version, current.raisedAt());
+        });
+    }
+
+    private void update(Long itemId, UnaryOperator<Watch> change) {
+        StockAlertEvent[] transition = new StockAlertEvent[1];
+        watches.compute(itemId, (key, current) -> {
+            Watch next = change.apply(current);
+            if (next == null) {
+                if (current != null && current.raisedAt() != null) {
+                    transition[0] = new StockAlertEvent(itemId, Transition.CLEARED, current.stock(), current.threshold());
+                }
+                return null;
+            }
+            if (next.raisedAt() == null && next.stock() <= next.threshold()) {
+                transition[0] = new StockAlertEvent(itemId, Transition.RAISED, next.stock(), next.threshold());
+                return new Watch(next.threshold(), next.hysteresis(), next.stock(), next.version(), Instant.now());
+            }
+            if (next.raisedAt() != null && next.stock() > next.threshold() + next.hysteresis()) {
+                transition[0] = new StockAlertEvent(itemId, Transition.CLEARED, next.stock(), next.threshold());
+                return new Watch(next.threshold(), next.hysteresis(), next.stock(), next.version(), null);
+            }
+            return next;
+        });
+
+        if (transition[0] != null) {
+            StockAlertEvent event = transition[0];
+            if (event.transition() == Transition.RAISED) {
+                log.warn("Stock of item {} fell to {}, reorder threshold {}", itemId, event.remainingStock(), event.threshold());
+            } else {
+                log.info("Stock alert of item {} cleared at {}", itemId, event.remainingStock());
+            }
+            eventPublisher.publishEvent(event);
+        }
+    }
+
+    /**
+     * Threshold and last known balance of a watched item, {@code raisedAt} is null while no alert is raised.
+     */
+    private record Watch(Integer threshold, Integer hysteresis, Integer stock, long version, Instant raisedAt) {
+    }
+
+    public record Alert(Long itemId, Integer remainingStock, Integer threshold, Integer hysteresis, Instant raisedAt) {
+    }
+}
@@ -0,0 +1,119 @@
+package com.alban.technical_test_alban.component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.alban.technical_test_alban.event.ItemChangedEvent;
+import com.alban.technical_test_alban.event.StockChangedEvent;
+import com.alban.technical_test_alban.repository.ItemStockRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory view of the remaining stock per item.
+ * <p>
+ * Entries are written through after each commit and carry the item_stock row version,
+ * so late or out-of-order updates never overwrite a newer level. A deleted item keeps a
+ * tombstone, so a read that saw its balance before the delete committed cannot bring it back.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockCache {
+
+    private static final StockLevel REMOVED = new StockLevel(null, Long.MAX_VALUE);
+
+    private final ItemStockRepository itemStockRepository;
+
+    private final ConcurrentHashMap<Long, StockLevel> levels = new ConcurrentHashMap<>();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile boolean ready;
+
+    /**
+     * @return the cached remaining stock, empty when the item is unknown or the cache is not hydrated
+     */
+    public Optional<Integer> get(Long itemId) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(levels.get(itemId)).map(StockLevel::quantity);
+    }
+
+    public Map<Long, Integer> getAll(Collection<Long> itemIds) {
+        Map<Long, Integer> stocks = new HashMap<>();
+        if (!ready) {
+            return stocks;
+        }
+        for (Long itemId : itemIds) {
+            StockLevel level = levels.get(itemId);
+            if (level != null && level.quantity() != null) {
+                stocks.put(itemId, level.quantity());
+            }
+        }
+        return stocks;
+    }
+
+    public Map<Long, Integer> snapshot() {
+        Map<Long, Integer> stocks = new HashMap<>();
+        levels.forEach((itemId, level) -> {
+            if (level.quantity() != null) {
+                stocks.put(itemId, level.quantity());
+            }
+        });
+        return stocks;
+    }
+
+    public void put(Long itemId, Integer quantity, Long version) {
+        levels.merge(itemId, new StockLevel(quantity, version),
+                (current, candidate) -> candidate.version() > current.version() ? candidate : current);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        put(event.itemId(), event.remainingStock(), event.version());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        if (event.name() == null) {
+            levels.put(event.itemId(), REMOVED);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void hydrate() {
+        rebuild();
+    }
+
+    /**
+     * Reloads every balance in bulk. Reads fall back to the database while this runs;
+     * concurrent write-through updates are kept because they carry a newer version.
+     */
+    public int rebuild() {
+        rebuildLock.lock();
+        try {
+            ready = false;
+            levels.clear();
+            itemStockRepository.findAll()
+                    .forEach(stock -> put(stock.getItemId(), stock.getQuantity(), stock.getVersion()));
+            ready = true;
+            log.info("Stock cache hydrated with {} items", levels.size());
+            return levels.size();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private record StockLevel(Integer quantity, Long version) {
+    }
+}
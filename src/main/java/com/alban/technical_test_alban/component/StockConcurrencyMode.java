@@ -0,0 +1,13 @@
+package com.alban.technical_test_alban.component;
+
+/**
+ * How concurrent writes to the same item's stock are kept from overselling.
+ */
+public enum StockConcurrencyMode {
+
+    /** Writers to the same item queue up on a lock stripe for the whole transaction. */
+    STRIPED,
+
+    /** Writers run lock-free, the stock row version rejects the loser which is then retried. */
+    OPTIMISTIC
+}
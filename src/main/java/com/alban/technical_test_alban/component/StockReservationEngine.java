@@ -0,0 +1,74 @@
+package com.alban.technical_test_alban.component;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Serializes stock check-and-decrement per item without a global lock.
+ * <p>
+ * Item ids are hashed onto a fixed set of lock stripes, so writes to different items
+ * proceed in parallel while writes to the same item queue up. A stripe stays locked
+ * until the surrounding transaction completes, so the next holder always sees the
+ * committed balance of the previous one.
+ * <p>
+ * In {@link StockConcurrencyMode#OPTIMISTIC} mode no stripe is taken and conflicting
+ * writes are caught by the version check on the stock row instead.
+ */
+@Component
+public class StockReservationEngine {
+
+    private final ReentrantLock[] stripes;
+    private final StockConcurrencyMode mode;
+
+    public StockReservationEngine(@Value("${app.stock.lock-stripes:64}") int stripeCount,
+                                  @Value("${app.stock.concurrency:striped}") StockConcurrencyMode mode) {
+        this.mode = mode;
+        // Round up to a power of two so the stripe can be picked with a mask
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Locks the stripes of the given items until the current transaction completes.
+     * Stripes are always acquired in ascending order to rule out deadlocks between
+     * writes touching several items.
+     */
+    public void lock(Long... itemIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Stock reservations require an active transaction");
+        }
+        if (mode == StockConcurrencyMode.OPTIMISTIC) {
+            return;
+        }
+
+        int[] indexes = Arrays.stream(itemIds).mapToInt(this::stripeIndex).distinct().sorted().toArray();
+        for (int index : indexes) {
+            stripes[index].lock();
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                for (int i = indexes.length - 1; i >= 0; i--) {
+                    stripes[indexes[i]].unlock();
+                }
+            }
+        });
+    }
+
+    public StockConcurrencyMode getMode() {
+        return mode;
+    }
+
+    int stripeIndex(Long itemId) {
+        int hash = itemId.hashCode();
+        return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+    }
+}
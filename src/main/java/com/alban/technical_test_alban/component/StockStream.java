@@ -0,0 +1,201 @@
+package com.alban.technical_test_alban.component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.alban.technical_test_alban.dto.StockUpdateDTO;
+import com.alban.technical_test_alban.event.StockChangedEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pushes committed stock levels to server-sent event subscribers.
+ * <p>
+ * Each subscriber has its own buffer holding the latest level per item, drained by a sender
+ * thread so a commit never waits on a socket. A slow consumer therefore skips intermediate
+ * levels of an item and only receives the last one. A subscriber whose buffer would exceed
+ * {@code max-pending} distinct items is disconnected and expected to reconnect and re-read.
+ * <p>
+ * Sender threads are bounded by {@code senders}, subscribers with levels to send beyond that
+ * wait for one in a queue of {@code send-queue} and are disconnected once it is full, so
+ * slow consumers cannot make the stream start a thread each.
+ */
+@Slf4j
+@Component
+public class StockStream {
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // Last published balance version per item, so a late event never overwrites a newer level
+    private final ConcurrentHashMap<Long, Long> versions = new ConcurrentHashMap<>();
+    private final Executor sender;
+    private final long timeoutMillis;
+    private final int maxPending;
+
+    @Autowired
+    public StockStream(@Value("${app.stock.stream.timeout:30m}") Duration timeout,
+                       @Value("${app.stock.stream.max-pending:1000}") int maxPending,
+                       @Value("${app.stock.stream.senders:16}") int senders,
+                       @Value("${app.stock.stream.send-queue:10000}") int sendQueue) {
+        // Platform threads: a write blocked on a slow consumer holds the emitter monitor, which
+        // would pin a virtual thread's carrier. At most one thread per subscriber is draining
+        this(senders(senders, sendQueue), timeout, maxPending);
+    }
+
+    StockStream(Executor sender, Duration timeout, int maxPending) {
+        this.sender = sender;
+        this.timeoutMillis = timeout.toMillis();
+        this.maxPending = Math.max(1, maxPending);
+    }
+
+    private static Executor senders(int senders, int sendQueue) {
+        int threads = Math.max(1, senders);
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 1, TimeUnit.MINUTES,
+                new ArrayBlockingQueue<>(Math.max(1, sendQueue)),
+                Thread.ofPlatform().name("stock-stream-", 0).daemon().factory());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * Opens a stream of the levels of the given items, or of every item when none is given.
+     */
+    public SseEmitter subscribe(Collection<Long> itemIds) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, itemIds == null || itemIds.isEmpty() ? null : Set.copyOf(itemIds));
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> subscriber.close());
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        // Offered under the per-item lock, so subscribers see the levels of an item in version order
+        versions.compute(event.itemId(), (itemId, current) -> {
+            if (current != null && event.version() <= current) {
+                return current;
+            }
+            StockUpdateDTO update = new StockUpdateDTO(itemId, event.remainingStock());
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.itemIds == null || subscriber.itemIds.contains(itemId)) {
+                    subscriber.offer(update);
+                }
+            }
+            return event.version();
+        });
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Set<Long> itemIds;
+        private LinkedHashMap<Long, StockUpdateDTO> pending = new LinkedHashMap<>();
+        private boolean draining;
+        private boolean closed;
+        private boolean disconnected;
+
+        private Subscriber(SseEmitter emitter, Set<Long> itemIds) {
+            this.emitter = emitter;
+            this.itemIds = itemIds;
+        }
+
+        private void offer(StockUpdateDTO update) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (pending.size() >= maxPending && !pending.containsKey(update.getItemId())) {
+                    log.warn("Disconnecting stock stream subscriber, {} items pending", pending.size());
+                    disconnect();
+                    return;
+                }
+                // Replaces a level that was not sent yet
+                pending.put(update.getItemId(), update);
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            try {
+                sender.execute(this::drain);
+            } catch (RejectedExecutionException ex) {
+                log.warn("Disconnecting stock stream subscriber, no sender available");
+                synchronized (this) {
+                    draining = false;
+                    disconnect();
+                }
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Set<ResponseBodyEmitter.DataWithMediaType> events = new LinkedHashSet<>();
+                synchronized (this) {
+                    if (closed || pending.isEmpty()) {
+                        draining = false;
+                        if (disconnected) {
+                            // Disconnected while this thread was writing to it
+                            emitter.complete();
+                        }
+                        return;
+                    }
+                    for (StockUpdateDTO update : pending.values()) {
+                        events.addAll(SseEmitter.event().name("stock").data(update, MediaType.APPLICATION_JSON).build());
+                    }
+                    pending = new LinkedHashMap<>();
+                }
+                try {
+                    // Whatever accumulated while the previous write was blocked goes out in one flush
+                    emitter.send(events);
+                } catch (IOException | IllegalStateException ex) {
+                    close();
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Closes the stream from the server side. The emitter is completed right away when no
+         * sender is writing to it, otherwise by that sender once its write returns, so the
+         * caller never waits on the consumer. Called holding the subscriber monitor.
+         */
+        private void disconnect() {
+            disconnected = true;
+            close();
+            if (!draining) {
+                emitter.complete();
+            }
+        }
+
+        private void close() {
+            synchronized (this) {
+                closed = true;
+                pending.clear();
+            }
+            subscribers.remove(this);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.alban.technical_test_alban.component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Logs virtual threads that blocked while pinned to their carrier thread, typically inside a
+ * {@code synchronized} block or a native frame, for longer than {@code app.threads.pinning-threshold}.
+ * <p>
+ * A pinned virtual thread holds its carrier for the whole wait, so a few of them blocking on
+ * JDBC inside {@code synchronized} stall every other request. The JDK reports these as
+ * {@code jdk.VirtualThreadPinned} flight recorder events, streamed here with their stack trace.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor implements DisposableBean {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 16;
+
+    private final Duration threshold;
+    private final LongAdder pinned = new LongAdder();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(@Value("${app.threads.pinning-threshold:20ms}") Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (stream != null) {
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::report);
+        stream.startAsync();
+        log.info("Reporting virtual threads pinned for more than {} ms", threshold.toMillis());
+    }
+
+    public long pinnedCount() {
+        return pinned.sum();
+    }
+
+    @Override
+    public void destroy() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void report(RecordedEvent event) {
+        pinned.increment();
+        StringBuilder trace = new StringBuilder();
+        List<RecordedFrame> frames = event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames();
+        frames.stream().limit(LOGGED_FRAMES).forEach(frame -> trace.append("\n\tat ")
+                .append(frame.getMethod().getType().getName()).append('.').append(frame.getMethod().getName())
+                .append(":").append(frame.getLineNumber()));
+        log.warn("Virtual thread {} pinned its carrier for {} ms{}", event.getThread() == null ? "?" : event.getThread().getJavaThreadId(),
+                event.getDuration().toMillis(), trace);
+    }
+}
@@ -0,0 +1,64 @@
+package com.alban.technical_test_alban.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.alban.technical_test_alban.dto.ApiResponse;
+import com.alban.technical_test_alban.dto.ReorderThresholdDTO;
+import com.alban.technical_test_alban.dto.StockAlertDTO;
+import com.alban.technical_test_alban.service.AlertService;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/alerts")
+@RequiredArgsConstructor
+public class AlertController {
+
+    private final AlertService alertService;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<StockAlertDTO>>> getActiveAlerts() {
+        return ResponseEntity.ok(
+                ApiResponse.<List<StockAlertDTO>>builder()
+                        .success(true)
+                        .message("Active alerts retrieved successfully")
+                        .data(alertService.getActiveAlerts())
+                        .build()
+        );
+    }
+
+    @PutMapping("/thresholds/{itemId}")
+    public ResponseEntity<ApiResponse<ReorderThresholdDTO>> setThreshold(
+            @PathVariable Long itemId,
+            @Valid @RequestBody ReorderThresholdDTO thresholdDTO) {
+        return ResponseEntity.ok(
+                ApiResponse.<ReorderThresholdDTO>builder()
+                        .success(true)
+                        .message("Reorder threshold saved successfully")
+                        .data(alertService.setThreshold(itemId, thresholdDTO))
+                        .build()
+        );
+    }
+
+    @DeleteMapping("/thresholds/{itemId}")
+    public ResponseEntity<ApiResponse<Void>> deleteThreshold(@PathVariable Long itemId) {
+        alertService.deleteThreshold(itemId);
+        return ResponseEntity.ok(
+                ApiResponse.<Void>builder()
+                        .success(true)
+                        .message("Reorder threshold deleted successfully")
+                        .data(null)
+                        .build()
+        );
+    }
+}
@@ -1,25 +1,51 @@
 package com.alban.technical_test_alban.controller;
 
+import com.alban.technical_test_alban.component.EntityTag;
+import com.alban.technical_test_alban.component.OptimisticRetryExecutor;
 import com.alban.technical_test_alban.dto.ApiResponse;
+import com.alban.technical_test_alban.dto.CursorPageDTO;
+import com.alban.technical_test_alban.dto.ExportFormat;
 import com.alban.technical_test_alban.dto.InventoryDTO;
+import com.alban.technical_test_alban.dto.InventoryImportFormat;
+import com.alban.technical_test_alban.dto.InventoryImportResultDTO;
+import com.alban.technical_test_alban.service.ExportService;
+import com.alban.technical_test_alban.service.InventoryImportService;
 import com.alban.technical_test_alban.service.InventoryService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 
 @RestController
 @RequestMapping("/inventories")
 @RequiredArgsConstructor
 public class InventoryController {
     private final InventoryService inventoryService;
+    private final InventoryImportService inventoryImportService;
+    private final OptimisticRetryExecutor retryExecutor;
+    private final ExportService exportService;
 
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<InventoryDTO>> getInventory(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<InventoryDTO>> getInventory(@PathVariable Long id, WebRequest request) {
+        // Tagged before reading so the body is never older than its ETag
+        EntityTag tag = inventoryService.getInventoryTag(id);
+        if (tag.isNotModified(request)) {
+            return null;
+        }
         InventoryDTO inventory = inventoryService.getInventory(id);
         return ResponseEntity.ok(
                 ApiResponse.<InventoryDTO>builder()
@@ -50,9 +76,42 @@ public class InventoryController {
         );
     }
 
+    @GetMapping("/scroll")
+    public ResponseEntity<ApiResponse<CursorPageDTO<InventoryDTO>>> scrollInventories(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "DESC") String sortDirection) {
+
+        Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
+        return ResponseEntity.ok(
+                ApiResponse.<CursorPageDTO<InventoryDTO>>builder()
+                        .success(true)
+                        .message("Inventory retrieved successfully")
+                        .data(inventoryService.scrollInventories(after, limit, sort))
+                        .build()
+        );
+    }
+
+    /**
+     * Streams all inventories as NDJSON, or CSV when the Accept header asks for {@code text/csv}.
+     */
+    @GetMapping(value = "/export", produces = {ExportFormat.NDJSON_MEDIA_TYPE, ExportFormat.CSV_MEDIA_TYPE})
+    public void exportInventories(
+            @RequestHeader(value = HttpHeaders.ACCEPT, defaultValue = ExportFormat.NDJSON_MEDIA_TYPE) String accept,
+            HttpServletResponse response) throws IOException {
+        ExportFormat format = ExportFormat.fromAccept(accept);
+        response.setContentType(format.mediaType().toString());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("inventories." + format.name().toLowerCase()).build().toString());
+        // Rows go to the socket as they are read, the response is never buffered as a whole
+        exportService.exportInventories(response.getOutputStream(), format);
+    }
+
     @PostMapping
     public ResponseEntity<ApiResponse<InventoryDTO>> createInventory(@Valid @RequestBody InventoryDTO inventoryDTO) {
-        InventoryDTO createdInventory = inventoryService.createInventory(inventoryDTO);
+        InventoryDTO createdInventory = retryExecutor.execute(() -> inventoryService.createInventory(inventoryDTO));
         return ResponseEntity.ok(
                 ApiResponse.<InventoryDTO>builder()
                         .success(true)
@@ -62,11 +121,37 @@ public class InventoryController {
         );
     }
 
+    @PostMapping(value = "/import", consumes = {InventoryImportFormat.CSV_MEDIA_TYPE, InventoryImportFormat.NDJSON_MEDIA_TYPE})
+    public ResponseEntity<ApiResponse<InventoryImportResultDTO>> importInventories(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        // The body is consumed as a stream, it is never buffered as a whole
+        InventoryImportResultDTO result = inventoryImportService.importInventories(
+                new InputStreamReader(body, StandardCharsets.UTF_8), InventoryImportFormat.fromContentType(contentType));
+        if (!result.isCompleted()) {
+            // Rows up to lastCommittedLine are in, re-sending the whole file would import them twice
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
+                    ApiResponse.<InventoryImportResultDTO>builder()
+                            .success(false)
+                            .message(result.getFailure())
+                            .data(result)
+                            .build()
+            );
+        }
+        return ResponseEntity.ok(
+                ApiResponse.<InventoryImportResultDTO>builder()
+                        .success(true)
+                        .message("Imported " + result.getImportedRows() + " of " + result.getProcessedRows() + " rows")
+                        .data(result)
+                        .build()
+        );
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<InventoryDTO>> updateInventory(
             @PathVariable Long id,
             @Valid @RequestBody InventoryDTO inventoryDTO) {
-        InventoryDTO updatedInventory = inventoryService.updateInventory(id, inventoryDTO);
+        InventoryDTO updatedInventory = retryExecutor.execute(() -> inventoryService.updateInventory(id, inventoryDTO));
         return ResponseEntity.ok(
                 ApiResponse.<InventoryDTO>builder()
                         .success(true)
@@ -78,7 +163,7 @@ public class InventoryController {
 
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponse<Void>> deleteInventory(@PathVariable Long id) {
-        inventoryService.deleteInventory(id);
+        retryExecutor.execute(() -> inventoryService.deleteInventory(id));
         return ResponseEntity.ok(
                 ApiResponse.<Void>builder()
                         .success(true)
@@ -1,10 +1,14 @@
 package com.alban.technical_test_alban.controller;
 
 import com.alban.technical_test_alban.dto.ApiResponse;
+
+import java.util.List;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,7 +19,13 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.alban.technical_test_alban.component.EntityTag;
+import com.alban.technical_test_alban.component.StockStream;
+import com.alban.technical_test_alban.dto.CacheRegionStatsDTO;
+import com.alban.technical_test_alban.dto.CursorPageDTO;
 import com.alban.technical_test_alban.dto.ItemDTO;
 import com.alban.technical_test_alban.service.ItemService;
 
@@ -27,9 +37,18 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class ItemController {
 	 private final ItemService itemService;
+	 private final StockStream stockStream;
 	    
+		/**
+		 * Get an item, or 304 when If-None-Match / If-Modified-Since still match
+		 */
 	    @GetMapping("/{id}")
-	    public ResponseEntity<ApiResponse<ItemDTO>> getItem(@PathVariable Long id) {
+	    public ResponseEntity<ApiResponse<ItemDTO>> getItem(@PathVariable Long id, WebRequest request) {
+	        // Tagged before reading so the body is never older than its ETag
+	        EntityTag tag = itemService.getItemTag(id);
+	        if (tag.isNotModified(request)) {
+	            return null;
+	        }
 	        ItemDTO item = itemService.getItem(id);
 
 			return ResponseEntity.ok(
@@ -65,6 +84,68 @@ public class ItemController {
 			);
 	    }
 	    
+		/**
+		 * Get items with keyset pagination, pass the returned "next" token as "after"
+		 */
+	    @GetMapping("/scroll")
+	    public ResponseEntity<ApiResponse<CursorPageDTO<ItemDTO>>> scrollItems(
+	            @RequestParam(required = false) String after,
+	            @RequestParam(defaultValue = "10") int limit,
+	            @RequestParam(defaultValue = "id") String sortBy,
+	            @RequestParam(defaultValue = "ASC") String sortDirection,
+	            @RequestParam(defaultValue = "false") boolean includeStock) {
+
+	        Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
+			return ResponseEntity.ok(
+					ApiResponse.<CursorPageDTO<ItemDTO>>builder()
+							.success(true)
+							.message("Items retrieved successfully")
+							.data(itemService.scrollItems(after, limit, sort, includeStock))
+							.build()
+			);
+	    }
+	    
+		/**
+		 * Type-ahead search over item names, best match first
+		 */
+	    @GetMapping("/search")
+	    public ResponseEntity<ApiResponse<List<ItemDTO>>> searchItems(
+	            @RequestParam String q,
+	            @RequestParam(defaultValue = "10") int limit,
+	            @RequestParam(defaultValue = "true") boolean fuzzy,
+	            @RequestParam(defaultValue = "false") boolean includeStock) {
+
+			return ResponseEntity.ok(
+					ApiResponse.<List<ItemDTO>>builder()
+							.success(true)
+							.message("Items retrieved successfully")
+							.data(itemService.searchItems(q, limit, fuzzy, includeStock))
+							.build()
+			);
+	    }
+
+		/**
+		 * Server-sent events with the remaining stock of the given items, or of all items, after each change
+		 */
+	    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	    public SseEmitter streamStock(@RequestParam(required = false) List<Long> itemIds) {
+	        return stockStream.subscribe(itemIds);
+	    }
+
+		/**
+		 * Second-level cache statistics of the item catalogue
+		 */
+	    @GetMapping("/cache")
+	    public ResponseEntity<ApiResponse<List<CacheRegionStatsDTO>>> getCacheStats() {
+			return ResponseEntity.ok(
+					ApiResponse.<List<CacheRegionStatsDTO>>builder()
+							.success(true)
+							.message("Item cache stats retrieved successfully")
+							.data(itemService.getCacheStats())
+							.build()
+			);
+	    }
+	    
 	    @PostMapping
 	    public ResponseEntity<ApiResponse<ItemDTO>> createItem(@Valid @RequestBody ItemDTO itemDTO) {
 	        ItemDTO createdItem = itemService.createItem(itemDTO);
@@ -1,10 +1,15 @@
 package com.alban.technical_test_alban.controller;
 
+import com.alban.technical_test_alban.component.EntityTag;
+import com.alban.technical_test_alban.component.OptimisticRetryExecutor;
 import com.alban.technical_test_alban.dto.ApiResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,27 +17,61 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.alban.technical_test_alban.dto.CursorPageDTO;
+import com.alban.technical_test_alban.dto.ExportFormat;
+import com.alban.technical_test_alban.dto.OrderBatchResultDTO;
 import com.alban.technical_test_alban.dto.OrderDTO;
+import com.alban.technical_test_alban.dto.OrderTicketDTO;
 import com.alban.technical_test_alban.entity.Order;
+import com.alban.technical_test_alban.exception.BatchTooLargeException;
+import com.alban.technical_test_alban.service.ExportService;
+import com.alban.technical_test_alban.service.OrderIntakeService;
 import com.alban.technical_test_alban.service.OrderService;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
-import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 @RestController
 @RequestMapping("/orders")
-@RequiredArgsConstructor
 public class OrderController {
 	
 	private final OrderService orderService;
+	private final OptimisticRetryExecutor retryExecutor;
+	private final ExportService exportService;
+	private final OrderIntakeService orderIntakeService;
+	private final int batchMaxSize;
+
+	public OrderController(OrderService orderService,
+	                       OptimisticRetryExecutor retryExecutor,
+	                       ExportService exportService,
+	                       OrderIntakeService orderIntakeService,
+	                       @Value("${app.orders.batch.max-size:1000}") int batchMaxSize) {
+		this.orderService = orderService;
+		this.retryExecutor = retryExecutor;
+		this.exportService = exportService;
+		this.orderIntakeService = orderIntakeService;
+		this.batchMaxSize = batchMaxSize;
+	}
 	
 	
 	@GetMapping("/{orderId}")
-    public ResponseEntity<ApiResponse<OrderDTO>> getOrder(@PathVariable Long orderId) {
+    public ResponseEntity<ApiResponse<OrderDTO>> getOrder(@PathVariable Long orderId, WebRequest request) {
+        // Tagged before reading so the body is never older than its ETag
+        EntityTag tag = orderService.getOrderTag(orderId);
+        if (tag.isNotModified(request)) {
+            return null;
+        }
         return ResponseEntity.ok(
                 ApiResponse.<OrderDTO>builder()
                         .success(true)
@@ -62,9 +101,42 @@ public class OrderController {
         );
     }
 	
+    @GetMapping("/scroll")
+    public ResponseEntity<ApiResponse<CursorPageDTO<OrderDTO>>> scrollOrders(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "orderNo") String sortBy,
+            @RequestParam(defaultValue = "DESC") String sortDirection) {
+
+        Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
+        return ResponseEntity.ok(
+                ApiResponse.<CursorPageDTO<OrderDTO>>builder()
+                        .success(true)
+                        .message("Orders retrieved successfully")
+                        .data(orderService.scrollOrders(after, limit, sort))
+                        .build()
+        );
+    }
+
+    /**
+     * Streams all orders as NDJSON, or CSV when the Accept header asks for {@code text/csv}.
+     */
+    @GetMapping(value = "/export", produces = {ExportFormat.NDJSON_MEDIA_TYPE, ExportFormat.CSV_MEDIA_TYPE})
+    public void exportOrders(
+            @RequestHeader(value = HttpHeaders.ACCEPT, defaultValue = ExportFormat.NDJSON_MEDIA_TYPE) String accept,
+            HttpServletResponse response) throws IOException {
+        ExportFormat format = ExportFormat.fromAccept(accept);
+        response.setContentType(format.mediaType().toString());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("orders." + format.name().toLowerCase()).build().toString());
+        // Rows go to the socket as they are read, the response is never buffered as a whole
+        exportService.exportOrders(response.getOutputStream(), format);
+    }
+
 	@PostMapping
     public ResponseEntity<ApiResponse<OrderDTO>> createOrder(@Valid @RequestBody OrderDTO orderDTO) {
-        OrderDTO createdOrder = orderService.createOrder(orderDTO);
+        OrderDTO createdOrder = retryExecutor.execute(() -> orderService.createOrder(orderDTO));
         return ResponseEntity.ok(
                 ApiResponse.<OrderDTO>builder()
                         .success(true)
@@ -74,11 +146,53 @@ public class OrderController {
         );
     }
     
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<OrderBatchResultDTO>> createOrders(@RequestBody List<OrderDTO> orderDTOs) {
+        // The batch holds its item locks and stock rows until commit, so its size is capped
+        if (orderDTOs.size() > batchMaxSize) {
+            throw new BatchTooLargeException("A batch holds at most " + batchMaxSize + " orders, got " + orderDTOs.size());
+        }
+        OrderBatchResultDTO result = retryExecutor.execute(() -> orderService.createOrders(orderDTOs));
+        return ResponseEntity.ok(
+                ApiResponse.<OrderBatchResultDTO>builder()
+                        .success(true)
+                        .message("Batch processed: " + result.getAccepted() + " accepted, " + result.getRejected() + " rejected")
+                        .data(result)
+                        .build()
+        );
+    }
+
+    /**
+     * Queue an order and answer 202 right away, or 429 when the queue is full
+     */
+    @PostMapping("/async")
+    public ResponseEntity<ApiResponse<OrderTicketDTO>> submitOrder(@Valid @RequestBody OrderDTO orderDTO) {
+        OrderTicketDTO ticket = orderIntakeService.submitOrder(orderDTO);
+        return ResponseEntity.accepted()
+                .location(URI.create("/orders/tickets/" + ticket.getTicketId()))
+                .body(ApiResponse.<OrderTicketDTO>builder()
+                        .success(true)
+                        .message("Order queued")
+                        .data(ticket)
+                        .build());
+    }
+
+    @GetMapping("/tickets/{ticketId}")
+    public ResponseEntity<ApiResponse<OrderTicketDTO>> getTicket(@PathVariable String ticketId) {
+        return ResponseEntity.ok(
+                ApiResponse.<OrderTicketDTO>builder()
+                        .success(true)
+                        .message("Order ticket found")
+                        .data(orderIntakeService.getTicket(ticketId))
+                        .build()
+        );
+    }
+
     @PutMapping("/{orderId}")
     public ResponseEntity<ApiResponse<OrderDTO>> updateOrder(
             @PathVariable Long orderId,
             @Valid @RequestBody OrderDTO orderDTO) {
-        OrderDTO updatedOrder = orderService.updateOrder(orderId, orderDTO);
+        OrderDTO updatedOrder = retryExecutor.execute(() -> orderService.updateOrder(orderId, orderDTO));
         return ResponseEntity.ok(
                 ApiResponse.<OrderDTO>builder()
                         .success(true)
@@ -90,7 +204,7 @@ public class OrderController {
     
     @DeleteMapping("/{orderNo}")
     public ResponseEntity<ApiResponse<OrderDTO>> deleteOrder(@PathVariable Long orderNo) {
-        orderService.deleteOrder(orderNo);
+        retryExecutor.execute(() -> orderService.deleteOrder(orderNo));
         return ResponseEntity.ok(
                 ApiResponse.<OrderDTO>builder()
                         .success(true)
@@ -0,0 +1,73 @@
+package com.alban.technical_test_alban.controller;
+
+import java.util.List;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.alban.technical_test_alban.dto.ApiResponse;
+import com.alban.technical_test_alban.dto.ExportFormat;
+import com.alban.technical_test_alban.dto.ItemDTO;
+import com.alban.technical_test_alban.dto.StockUpdateDTO;
+import com.alban.technical_test_alban.service.ReactiveItemService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking item reads. Responses are completed asynchronously, the request thread is
+ * released as soon as the handler returns.
+ */
+@RestController
+@RequestMapping("/rx/items")
+@RequiredArgsConstructor
+public class ReactiveItemController {
+
+    private final ReactiveItemService reactiveItemService;
+
+    @GetMapping("/{id}")
+    public Mono<ApiResponse<ItemDTO>> getItem(@PathVariable Long id) {
+        return reactiveItemService.getItem(id)
+                .map(item -> ApiResponse.<ItemDTO>builder()
+                        .success(true)
+                        .message("Item found")
+                        .data(item)
+                        .build());
+    }
+
+    /**
+     * Several items at once, unknown ids are left out
+     */
+    @GetMapping
+    public Mono<ApiResponse<List<ItemDTO>>> getItems(@RequestParam List<Long> ids) {
+        return reactiveItemService.getItems(ids)
+                .collectList()
+                .map(items -> ApiResponse.<List<ItemDTO>>builder()
+                        .success(true)
+                        .message("Items retrieved successfully")
+                        .data(items)
+                        .build());
+    }
+
+    /**
+     * Same as above, one JSON item per line, each written as soon as it is resolved
+     */
+    @GetMapping(produces = ExportFormat.NDJSON_MEDIA_TYPE)
+    public Flux<ItemDTO> streamItems(@RequestParam List<Long> ids) {
+        return reactiveItemService.getItems(ids);
+    }
+
+    @GetMapping("/{id}/stock")
+    public Mono<ApiResponse<StockUpdateDTO>> getStock(@PathVariable Long id) {
+        return reactiveItemService.getStock(id)
+                .map(stock -> ApiResponse.<StockUpdateDTO>builder()
+                        .success(true)
+                        .message("Stock retrieved successfully")
+                        .data(stock)
+                        .build());
+    }
+}
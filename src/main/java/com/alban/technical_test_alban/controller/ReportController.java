@@ -0,0 +1,102 @@
+package com.alban.technical_test_alban.controller;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.alban.technical_test_alban.component.Leaderboards;
+import com.alban.technical_test_alban.dto.ApiResponse;
+import com.alban.technical_test_alban.dto.LeaderboardEntryDTO;
+import com.alban.technical_test_alban.dto.SalesReportDTO;
+import com.alban.technical_test_alban.dto.TrendDTO;
+import com.alban.technical_test_alban.entity.TimeBucket;
+import com.alban.technical_test_alban.service.SalesService;
+import com.alban.technical_test_alban.service.TrendService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/reports")
+@RequiredArgsConstructor
+public class ReportController {
+
+    private final SalesService salesService;
+    private final Leaderboards leaderboards;
+    private final TrendService trendService;
+
+    @GetMapping("/sales")
+    public ResponseEntity<ApiResponse<SalesReportDTO>> getSalesReport() {
+        return ResponseEntity.ok(
+                ApiResponse.<SalesReportDTO>builder()
+                        .success(true)
+                        .message("Sales report retrieved successfully")
+                        .data(salesService.getSalesReport())
+                        .build()
+        );
+    }
+
+    @PostMapping("/sales/rebuild")
+    public ResponseEntity<ApiResponse<Integer>> rebuildSales() {
+        return ResponseEntity.ok(
+                ApiResponse.<Integer>builder()
+                        .success(true)
+                        .message("Sales rollup rebuilt")
+                        .data(salesService.rebuildSales())
+                        .build()
+        );
+    }
+
+    @GetMapping("/top-sellers")
+    public ResponseEntity<ApiResponse<List<LeaderboardEntryDTO>>> getTopSellers(@RequestParam(defaultValue = "10") int n) {
+        return ResponseEntity.ok(
+                ApiResponse.<List<LeaderboardEntryDTO>>builder()
+                        .success(true)
+                        .message("Top sellers retrieved successfully")
+                        .data(leaderboards.topSellers(n))
+                        .build()
+        );
+    }
+
+    @GetMapping("/low-stock")
+    public ResponseEntity<ApiResponse<List<LeaderboardEntryDTO>>> getLowStock(@RequestParam(defaultValue = "10") int n) {
+        return ResponseEntity.ok(
+                ApiResponse.<List<LeaderboardEntryDTO>>builder()
+                        .success(true)
+                        .message("Low stock items retrieved successfully")
+                        .data(leaderboards.lowStock(n))
+                        .build()
+        );
+    }
+
+    @GetMapping("/trends")
+    public ResponseEntity<ApiResponse<TrendDTO>> getTrend(
+            @RequestParam(required = false) Long itemId,
+            @RequestParam(defaultValue = "hour") String bucket,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to) {
+        return ResponseEntity.ok(
+                ApiResponse.<TrendDTO>builder()
+                        .success(true)
+                        .message("Trend retrieved successfully")
+                        .data(trendService.getTrend(itemId, TimeBucket.parse(bucket), from, to))
+                        .build()
+        );
+    }
+
+    @PostMapping("/trends/rebuild")
+    public ResponseEntity<ApiResponse<Integer>> rebuildTrends() {
+        return ResponseEntity.ok(
+                ApiResponse.<Integer>builder()
+                        .success(true)
+                        .message("Activity rollup rebuilt")
+                        .data(trendService.rebuildActivity())
+                        .build()
+        );
+    }
+}
@@ -0,0 +1,56 @@
+package com.alban.technical_test_alban.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.alban.technical_test_alban.dto.ApiResponse;
+import com.alban.technical_test_alban.dto.StockConcurrencyDTO;
+import com.alban.technical_test_alban.dto.StockConsistencyDTO;
+import com.alban.technical_test_alban.service.StockService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/stock")
+@RequiredArgsConstructor
+public class StockController {
+
+    private final StockService stockService;
+
+    @GetMapping("/consistency")
+    public ResponseEntity<ApiResponse<StockConsistencyDTO>> checkConsistency() {
+        StockConsistencyDTO report = stockService.checkConsistency();
+        return ResponseEntity.ok(
+                ApiResponse.<StockConsistencyDTO>builder()
+                        .success(true)
+                        .message(report.isConsistent() ? "Stock is consistent" : "Stock mismatches found")
+                        .data(report)
+                        .build()
+        );
+    }
+
+    @PostMapping("/cache/rebuild")
+    public ResponseEntity<ApiResponse<Integer>> rebuildCache() {
+        return ResponseEntity.ok(
+                ApiResponse.<Integer>builder()
+                        .success(true)
+                        .message("Stock cache rebuilt")
+                        .data(stockService.rebuildCache())
+                        .build()
+        );
+    }
+
+    @GetMapping("/concurrency")
+    public ResponseEntity<ApiResponse<StockConcurrencyDTO>> getConcurrencyStats() {
+        return ResponseEntity.ok(
+                ApiResponse.<StockConcurrencyDTO>builder()
+                        .success(true)
+                        .message("Stock concurrency stats retrieved successfully")
+                        .data(stockService.getConcurrencyStats())
+                        .build()
+        );
+    }
+}
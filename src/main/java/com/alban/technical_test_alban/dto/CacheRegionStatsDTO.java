@@ -0,0 +1,22 @@
+package com.alban.technical_test_alban.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheRegionStatsDTO {
+
+    private String region;
+
+    private long hits;
+
+    private long misses;
+
+    private long puts;
+
+    // hits / (hits + misses), 0 before the first lookup
+    private double hitRatio;
+}
@@ -0,0 +1,20 @@
+package com.alban.technical_test_alban.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+
+    private List<T> content;
+
+    // Token to pass as "after" for the following page, null on the last page
+    private String next;
+
+    private boolean hasNext;
+}
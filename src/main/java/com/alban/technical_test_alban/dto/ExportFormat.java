@@ -0,0 +1,39 @@
+package com.alban.technical_test_alban.dto;
+
+import java.util.List;
+
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+public enum ExportFormat {
+
+    /** A header line, then one comma separated row per line. */
+    CSV,
+
+    /** One DTO JSON object per line. */
+    NDJSON;
+
+    public static final String CSV_MEDIA_TYPE = "text/csv";
+    public static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+
+    /**
+     * The format the client prefers, NDJSON unless it asks for CSV.
+     */
+    public static ExportFormat fromAccept(String accept) {
+        List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+        MimeTypeUtils.sortBySpecificity(mediaTypes);
+        for (MediaType mediaType : mediaTypes) {
+            if (mediaType.equalsTypeAndSubtype(MediaType.parseMediaType(CSV_MEDIA_TYPE))) {
+                return CSV;
+            }
+            if (mediaType.equalsTypeAndSubtype(MediaType.parseMediaType(NDJSON_MEDIA_TYPE))) {
+                return NDJSON;
+            }
+        }
+        return NDJSON;
+    }
+
+    public MediaType mediaType() {
+        return MediaType.parseMediaType(this == CSV ? CSV_MEDIA_TYPE : NDJSON_MEDIA_TYPE);
+    }
+}
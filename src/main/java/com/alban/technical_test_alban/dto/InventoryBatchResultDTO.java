@@ -0,0 +1,19 @@
+package com.alban.technical_test_alban.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryBatchResultDTO {
+
+    private int accepted;
+
+    private int rejected;
+
+    private List<InventoryBatchLineDTO> lines;
+}
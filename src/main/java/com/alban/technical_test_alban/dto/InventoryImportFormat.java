@@ -0,0 +1,20 @@
+package com.alban.technical_test_alban.dto;
+
+import org.springframework.http.MediaType;
+
+public enum InventoryImportFormat {
+
+    /** {@code itemId,qty,type} per line, an optional {@code itemId,...} header line is skipped. */
+    CSV,
+
+    /** One {@link InventoryDTO} JSON object per line. */
+    NDJSON;
+
+    public static final String CSV_MEDIA_TYPE = "text/csv";
+    public static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+
+    public static InventoryImportFormat fromContentType(String contentType) {
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        return mediaType.isCompatibleWith(MediaType.parseMediaType(CSV_MEDIA_TYPE)) ? CSV : NDJSON;
+    }
+}
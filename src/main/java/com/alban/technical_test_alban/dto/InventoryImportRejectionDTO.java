@@ -0,0 +1,16 @@
+package com.alban.technical_test_alban.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryImportRejectionDTO {
+
+    // One-based line number in the imported file
+    private long line;
+
+    private String reason;
+}
@@ -0,0 +1,35 @@
+package com.alban.technical_test_alban.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryImportResultDTO {
+
+    private long processedRows;
+
+    private long importedRows;
+
+    private long rejectedRows;
+
+    private long elapsedMillis;
+
+    private double rowsPerSecond;
+
+    // Only the first rejections are listed, rejectedRows has the full count
+    private List<InventoryImportRejectionDTO> rejections;
+
+    // False when the import stopped on a chunk that could not be written
+    private boolean completed;
+
+    // Every line up to this one (one-based) is committed or rejected, a stopped import resumes after it
+    private long lastCommittedLine;
+
+    // Why the import stopped, null when completed
+    private String failure;
+}
@@ -0,0 +1,21 @@
+package com.alban.technical_test_alban.dto;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemSalesDTO {
+
+    private Long itemId;
+
+    private String itemName;
+
+    private Long unitsSold;
+
+    private BigDecimal revenue;
+}
@@ -0,0 +1,20 @@
+package com.alban.technical_test_alban.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardEntryDTO {
+
+    private int rank;
+
+    private Long itemId;
+
+    private String itemName;
+
+    // Units sold on the top-sellers board, remaining stock on the low-stock board
+    private Long score;
+}
@@ -0,0 +1,21 @@
+package com.alban.technical_test_alban.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderBatchLineDTO {
+
+    // Zero-based position of the line in the request
+    private int line;
+
+    private boolean success;
+
+    private String message;
+
+    // Created order, null when the line was rejected
+    private OrderDTO order;
+}
@@ -0,0 +1,26 @@
+package com.alban.technical_test_alban.dto;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderTicketDTO {
+
+    private String ticketId;
+
+    private OrderTicketStatus status;
+
+    private String message;
+
+    // Created order, null until the ticket is CREATED
+    private OrderDTO order;
+
+    private Instant submittedAt;
+
+    private Instant completedAt;
+}
@@ -0,0 +1,16 @@
+package com.alban.technical_test_alban.dto;
+
+public enum OrderTicketStatus {
+
+    /** Waiting for a worker. */
+    QUEUED,
+
+    /** The order was created, see {@code order}. */
+    CREATED,
+
+    /** The order was refused (unknown item, insufficient stock), see {@code message}. */
+    REJECTED,
+
+    /** The order could not be written, it may be submitted again. */
+    FAILED
+}
@@ -0,0 +1,23 @@
+package com.alban.technical_test_alban.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReorderThresholdDTO {
+
+    private Long itemId;
+
+    @NotNull(message = "Threshold is required")
+    @PositiveOrZero(message = "Threshold must not be negative")
+    private Integer threshold;
+
+    // Defaults to app.alerts.default-hysteresis
+    @PositiveOrZero(message = "Hysteresis must not be negative")
+    private Integer hysteresis;
+}
@@ -0,0 +1,21 @@
+package com.alban.technical_test_alban.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesReportDTO {
+
+    private long totalUnits;
+
+    private BigDecimal totalRevenue;
+
+    // Highest revenue first
+    private List<ItemSalesDTO> items;
+}
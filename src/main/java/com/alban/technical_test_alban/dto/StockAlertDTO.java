@@ -0,0 +1,25 @@
+package com.alban.technical_test_alban.dto;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAlertDTO {
+
+    private Long itemId;
+
+    private String itemName;
+
+    private Integer remainingStock;
+
+    private Integer threshold;
+
+    private Integer hysteresis;
+
+    private Instant raisedAt;
+}
@@ -0,0 +1,21 @@
+package com.alban.technical_test_alban.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockConcurrencyDTO {
+
+    private String mode;
+
+    // Writes that lost a version check on a stock row
+    private long conflicts;
+
+    private long retries;
+
+    // Writes that still conflicted on their last attempt and were rejected
+    private long exhausted;
+}
@@ -0,0 +1,20 @@
+package com.alban.technical_test_alban.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockMismatchDTO {
+
+    private Long itemId;
+
+    // Null when the item is not cached / has no balance row
+    private Integer cachedStock;
+
+    private Integer persistedStock;
+
+    private Integer calculatedStock;
+}
@@ -0,0 +1,15 @@
+package com.alban.technical_test_alban.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockUpdateDTO {
+
+    private Long itemId;
+
+    private Integer remainingStock;
+}
@@ -0,0 +1,38 @@
+package com.alban.technical_test_alban.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import com.alban.technical_test_alban.entity.TimeBucket;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendDTO {
+
+    // Null for the whole catalogue
+    private Long itemId;
+
+    private TimeBucket bucket;
+
+    // Start of the first bucket, inclusive
+    private Instant from;
+
+    private Instant to;
+
+    private long unitsOrdered;
+
+    private BigDecimal revenue;
+
+    private long unitsToppedUp;
+
+    private long unitsWithdrawn;
+
+    // Buckets without activity are left out
+    private List<TrendPointDTO> points;
+}
@@ -0,0 +1,24 @@
+package com.alban.technical_test_alban.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendPointDTO {
+
+    private Instant bucketStart;
+
+    private Long unitsOrdered;
+
+    private BigDecimal revenue;
+
+    private Long unitsToppedUp;
+
+    private Long unitsWithdrawn;
+}
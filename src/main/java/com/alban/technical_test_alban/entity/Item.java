@@ -2,24 +2,41 @@ package com.alban.technical_test_alban.entity;
 
 import java.math.BigDecimal;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.Data;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import com.alban.technical_test_alban.component.SecondLevelCacheConfigurer;
+
 @Entity
-@Table(name = "items")
+@Table(name = "items", uniqueConstraints = @UniqueConstraint(name = Item.NAME_CONSTRAINT, columnNames = "name"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfigurer.ITEM_REGION)
 @Data
 public class Item {
 
+    public static final String NAME_CONSTRAINT = "uk_items_name";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "items_seq")
+    @GenericGenerator(name = "items_seq", type = PooledSequenceGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "items_seq"))
     private Long id;
 
     @NotBlank
@@ -30,4 +47,10 @@ public class Item {
     @Positive
     @Column(nullable = false)
     private BigDecimal price;
+
+    // Bumped on every update, identifies the representation in ETags
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 }
@@ -0,0 +1,61 @@
+package com.alban.technical_test_alban.entity;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Order and inventory activity of an item within one minute, hour or day, by creation time
+ * of the rows. Maintained in the same transaction as every order / inventory write so that
+ * trend queries read one row per bucket instead of scanning the movements.
+ */
+@Entity
+@Table(name = "item_activity",
+       indexes = @Index(name = "idx_item_activity_bucket", columnList = "granularity, bucket_start"))
+@IdClass(ItemActivityId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemActivity {
+
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 8)
+    private TimeBucket granularity;
+
+    @Id
+    @Column(name = "bucket_start")
+    private Instant bucketStart;
+
+    @NotNull
+    @Column(nullable = false)
+    private Long unitsOrdered;
+
+    @NotNull
+    @Column(nullable = false, precision = 38, scale = 2)
+    private BigDecimal revenue;
+
+    @NotNull
+    @Column(nullable = false)
+    private Long unitsToppedUp;
+
+    @NotNull
+    @Column(nullable = false)
+    private Long unitsWithdrawn;
+}
@@ -0,0 +1,23 @@
+package com.alban.technical_test_alban.entity;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Primary key of {@link ItemActivity}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemActivityId implements Serializable {
+
+    private Long itemId;
+
+    private TimeBucket granularity;
+
+    private Instant bucketStart;
+}
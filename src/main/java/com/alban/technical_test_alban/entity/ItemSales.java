@@ -0,0 +1,44 @@
+package com.alban.technical_test_alban.entity;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Running sales totals of an item (sum of qty and of qty * price over its orders).
+ * Maintained in the same transaction as every order write so that sales reports
+ * never have to aggregate the orders table.
+ */
+@Entity
+@Table(name = "item_sales")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemSales {
+
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+
+    @NotNull
+    @Column(nullable = false)
+    private Long units;
+
+    // Same scale as order prices, so the sums stay exact
+    @NotNull
+    @Column(nullable = false, precision = 38, scale = 2)
+    private BigDecimal revenue;
+
+    // Bumped by every delta, lets listeners order the totals committed by concurrent writers
+    @Version
+    @Column(nullable = false)
+    private Long version;
+}
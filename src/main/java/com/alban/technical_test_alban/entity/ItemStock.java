@@ -0,0 +1,38 @@
+package com.alban.technical_test_alban.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Running stock balance of an item (top-ups - withdrawals - ordered qty).
+ * Maintained in the same transaction as every inventory / order write so that
+ * stock checks never have to aggregate the movement history.
+ */
+@Entity
+@Table(name = "item_stock")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemStock {
+
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+
+    @NotNull
+    @Column(nullable = false)
+    private Integer quantity;
+
+    // Checked on every update so that concurrent writers cannot overwrite each other,
+    // also lets readers order concurrent snapshots
+    @Version
+    @Column(nullable = false)
+    private Long version;
+}
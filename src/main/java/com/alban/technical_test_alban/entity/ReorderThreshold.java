@@ -0,0 +1,34 @@
+package com.alban.technical_test_alban.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Stock level at or below which an item needs reordering. The alert is only cleared once
+ * the stock is back above {@code threshold + hysteresis}.
+ */
+@Entity
+@Table(name = "reorder_thresholds")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReorderThreshold {
+
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+
+    @NotNull
+    @Column(nullable = false)
+    private Integer threshold;
+
+    @NotNull
+    @Column(nullable = false)
+    private Integer hysteresis;
+}
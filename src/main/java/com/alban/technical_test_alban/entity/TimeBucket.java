@@ -0,0 +1,45 @@
+package com.alban.technical_test_alban.entity;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+
+import com.alban.technical_test_alban.exception.InvalidTrendQueryException;
+
+/**
+ * Width of an activity rollup bucket. Buckets start on UTC minute, hour and day boundaries.
+ */
+public enum TimeBucket {
+    MINUTE(ChronoUnit.MINUTES),
+    HOUR(ChronoUnit.HOURS),
+    DAY(ChronoUnit.DAYS);
+
+    private final ChronoUnit unit;
+
+    TimeBucket(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    /**
+     * @return the start of the bucket containing the instant
+     */
+    public Instant start(Instant instant) {
+        return instant.truncatedTo(unit);
+    }
+
+    public Duration width() {
+        return unit.getDuration();
+    }
+
+    /**
+     * Case-insensitive lookup by name, e.g. {@code hour}.
+     */
+    public static TimeBucket parse(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidTrendQueryException("Unknown bucket '" + name + "', expected minute, hour or day");
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.alban.technical_test_alban.event;
+
+/**
+ * Published when an inventory movement is updated or deleted. {@code version} is null once the
+ * movement is deleted.
+ */
+public record InventoryChangedEvent(Long inventoryId, Long itemId, Long version) {
+}
@@ -0,0 +1,10 @@
+package com.alban.technical_test_alban.event;
+
+import java.math.BigDecimal;
+
+/**
+ * Published when an item is created, updated or deleted. {@code oldName} is null for a new
+ * item, {@code name}, {@code price} and {@code version} are null once the item is deleted.
+ */
+public record ItemChangedEvent(Long itemId, String oldName, String name, BigDecimal price, Long version) {
+}
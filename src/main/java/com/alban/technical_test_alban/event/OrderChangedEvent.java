@@ -0,0 +1,7 @@
+package com.alban.technical_test_alban.event;
+
+/**
+ * Published when an order is updated or deleted. {@code version} is null once the order is deleted.
+ */
+public record OrderChangedEvent(Long orderId, Long itemId, Long version) {
+}
@@ -0,0 +1,8 @@
+package com.alban.technical_test_alban.event;
+
+/**
+ * Published when the reorder threshold of an item is set or removed, {@code threshold}
+ * and {@code hysteresis} are null once it is removed.
+ */
+public record ReorderThresholdChangedEvent(Long itemId, Integer threshold, Integer hysteresis) {
+}
@@ -0,0 +1,8 @@
+package com.alban.technical_test_alban.event;
+
+/**
+ * Published whenever the sales rollup of an item is written, with the totals the
+ * transaction committed. Listeners that need committed data should use @TransactionalEventListener.
+ */
+public record SalesChangedEvent(Long itemId, Long unitsSold, Long version) {
+}
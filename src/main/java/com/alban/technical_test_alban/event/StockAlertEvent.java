@@ -0,0 +1,13 @@
+package com.alban.technical_test_alban.event;
+
+/**
+ * Published when the remaining stock of an item falls to its reorder threshold ({@code RAISED})
+ * or is back above threshold + hysteresis ({@code CLEARED}). Also cleared when the threshold
+ * or the item is removed.
+ */
+public record StockAlertEvent(Long itemId, Transition transition, Integer remainingStock, Integer threshold) {
+
+    public enum Transition {
+        RAISED, CLEARED
+    }
+}
@@ -0,0 +1,8 @@
+package com.alban.technical_test_alban.event;
+
+/**
+ * Published whenever the running stock balance of an item is written.
+ * Listeners that need committed data should use @TransactionalEventListener.
+ */
+public record StockChangedEvent(Long itemId, Integer remainingStock, Long version) {
+}
@@ -0,0 +1,7 @@
+package com.alban.technical_test_alban.exception;
+
+public class BatchTooLargeException extends RuntimeException {
+	public BatchTooLargeException(String message) {
+		super(message);
+	}
+}
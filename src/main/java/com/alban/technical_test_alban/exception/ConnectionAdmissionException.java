@@ -0,0 +1,13 @@
+package com.alban.technical_test_alban.exception;
+
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * Thrown by the connection admission queue when a request is shed under load, as opposed to
+ * the database itself being unavailable.
+ */
+public class ConnectionAdmissionException extends SQLTransientConnectionException {
+	public ConnectionAdmissionException(String message, String sqlState) {
+		super(message, sqlState);
+	}
+}
@@ -0,0 +1,7 @@
+package com.alban.technical_test_alban.exception;
+
+public class InvalidCursorException extends RuntimeException {
+	public InvalidCursorException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,7 @@
+package com.alban.technical_test_alban.exception;
+
+public class InvalidTrendQueryException extends RuntimeException {
+	public InvalidTrendQueryException(String message) {
+		super(message);
+	}
+}
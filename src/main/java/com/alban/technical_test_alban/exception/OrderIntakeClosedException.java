@@ -0,0 +1,7 @@
+package com.alban.technical_test_alban.exception;
+
+public class OrderIntakeClosedException extends RuntimeException {
+	public OrderIntakeClosedException(String message) {
+		super(message);
+	}
+}
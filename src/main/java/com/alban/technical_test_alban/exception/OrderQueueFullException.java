@@ -0,0 +1,7 @@
+package com.alban.technical_test_alban.exception;
+
+public class OrderQueueFullException extends RuntimeException {
+	public OrderQueueFullException(String message) {
+		super(message);
+	}
+}
@@ -1,12 +1,54 @@
 package com.alban.technical_test_alban.repository;
 
+import com.alban.technical_test_alban.dto.InventoryDTO;
 import com.alban.technical_test_alban.entity.Inventory;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.alban.technical_test_alban.entity.Order;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface InventoryRepository extends JpaRepository<Inventory, Long> {
 
+    // Read paths project straight into the DTO with one join, no entities are managed
+    @Query(
+            value = "SELECT new com.alban.technical_test_alban.dto.InventoryDTO(v.id, i.id, i.name, v.qty, v.type) "
+                    + "FROM Inventory v JOIN v.item i",
+            countQuery = "SELECT COUNT(v) FROM Inventory v"
+    )
+    Page<InventoryDTO> findAllAsDTO(Pageable pageable);
+
+    @Query("SELECT new com.alban.technical_test_alban.dto.InventoryDTO(v.id, i.id, i.name, v.qty, v.type) "
+            + "FROM Inventory v JOIN v.item i WHERE v.id = :id")
+    Optional<InventoryDTO> findDTOById(Long id);
+
+    // Exports read the whole table through a forward-only cursor, a fetch size worth of rows at a time,
+    // mapped straight to DTOs so nothing accumulates in the persistence context
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.alban.technical_test_alban.dto.InventoryDTO(v.id, i.id, i.name, v.qty, v.type) "
+            + "FROM Inventory v JOIN v.item i ORDER BY v.id")
+    Stream<InventoryDTO> streamAllAsDTO();
+
+    @Query("SELECT v.version AS version, i.id AS itemId, i.version AS itemVersion "
+            + "FROM Inventory v JOIN v.item i WHERE v.id = :id")
+    Optional<LineVersion> findVersionById(Long id);
+
+    // Keyset scrolling: WHERE (sort keys, id) > last row ORDER BY ... LIMIT, no count query.
+    // The page is mapped to DTOs after the transaction, so the item is fetched in the same select
+    @EntityGraph("Inventory.item")
+    Window<Inventory> findAllBy(ScrollPosition position, Limit limit, Sort sort);
 }
@@ -0,0 +1,69 @@
+package com.alban.technical_test_alban.repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.alban.technical_test_alban.dto.TrendPointDTO;
+import com.alban.technical_test_alban.entity.ItemActivity;
+import com.alban.technical_test_alban.entity.ItemActivityId;
+import com.alban.technical_test_alban.entity.TimeBucket;
+
+@Repository
+public interface ItemActivityRepository extends JpaRepository<ItemActivity, ItemActivityId> {
+
+    // Applied by the database under the row lock, concurrent deltas of a bucket never overwrite each other
+    @Modifying
+    @Query("UPDATE ItemActivity a SET a.unitsOrdered = a.unitsOrdered + :unitsOrdered, a.revenue = a.revenue + :revenue, " +
+           "a.unitsToppedUp = a.unitsToppedUp + :unitsToppedUp, a.unitsWithdrawn = a.unitsWithdrawn + :unitsWithdrawn " +
+           "WHERE a.itemId = :itemId AND a.granularity = :granularity AND a.bucketStart = :bucketStart")
+    int addActivity(@Param("itemId") Long itemId, @Param("granularity") TimeBucket granularity,
+                    @Param("bucketStart") Instant bucketStart, @Param("unitsOrdered") long unitsOrdered,
+                    @Param("revenue") BigDecimal revenue, @Param("unitsToppedUp") long unitsToppedUp,
+                    @Param("unitsWithdrawn") long unitsWithdrawn);
+
+    @Modifying
+    @Query(value = "INSERT INTO item_activity (item_id, granularity, bucket_start, units_ordered, revenue, units_topped_up, units_withdrawn) " +
+                   "VALUES (:itemId, :granularity, :bucketStart, :unitsOrdered, :revenue, :unitsToppedUp, :unitsWithdrawn)",
+           nativeQuery = true)
+    int insertActivity(@Param("itemId") Long itemId, @Param("granularity") String granularity,
+                       @Param("bucketStart") Instant bucketStart, @Param("unitsOrdered") long unitsOrdered,
+                       @Param("revenue") BigDecimal revenue, @Param("unitsToppedUp") long unitsToppedUp,
+                       @Param("unitsWithdrawn") long unitsWithdrawn);
+
+    // Buckets in UTC, pending order / inventory writes are flushed first
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO item_activity (item_id, granularity, bucket_start, units_ordered, revenue, units_topped_up, units_withdrawn) " +
+                   "SELECT m.item_id, g.granularity, " +
+                   "       CASE g.granularity WHEN 'MINUTE' THEN DATE_TRUNC('MINUTE', m.created_at AT TIME ZONE 'UTC') " +
+                   "                          WHEN 'HOUR' THEN DATE_TRUNC('HOUR', m.created_at AT TIME ZONE 'UTC') " +
+                   "                          ELSE DATE_TRUNC('DAY', m.created_at AT TIME ZONE 'UTC') END AS bucket_start, " +
+                   "       SUM(m.units_ordered), SUM(m.revenue), SUM(m.units_topped_up), SUM(m.units_withdrawn) " +
+                   "FROM (SELECT item_id, created_at, qty AS units_ordered, qty * price AS revenue, 0 AS units_topped_up, 0 AS units_withdrawn FROM orders " +
+                   "      UNION ALL " +
+                   "      SELECT item_id, created_at, 0, 0, CASE WHEN type = 'T' THEN qty ELSE 0 END, CASE WHEN type = 'W' THEN qty ELSE 0 END FROM inventory) m " +
+                   "CROSS JOIN (VALUES ('MINUTE'), ('HOUR'), ('DAY')) AS g(granularity) " +
+                   "GROUP BY m.item_id, g.granularity, bucket_start",
+           nativeQuery = true)
+    int insertAllFromMovements();
+
+    @Query("SELECT new com.alban.technical_test_alban.dto.TrendPointDTO(a.bucketStart, SUM(a.unitsOrdered), SUM(a.revenue), " +
+           "SUM(a.unitsToppedUp), SUM(a.unitsWithdrawn)) " +
+           "FROM ItemActivity a WHERE a.granularity = :granularity AND a.bucketStart >= :from AND a.bucketStart < :to " +
+           "GROUP BY a.bucketStart ORDER BY a.bucketStart")
+    List<TrendPointDTO> findTrend(@Param("granularity") TimeBucket granularity,
+                                  @Param("from") Instant from, @Param("to") Instant to);
+
+    @Query("SELECT new com.alban.technical_test_alban.dto.TrendPointDTO(a.bucketStart, a.unitsOrdered, a.revenue, " +
+           "a.unitsToppedUp, a.unitsWithdrawn) " +
+           "FROM ItemActivity a WHERE a.itemId = :itemId AND a.granularity = :granularity " +
+           "AND a.bucketStart >= :from AND a.bucketStart < :to ORDER BY a.bucketStart")
+    List<TrendPointDTO> findItemTrend(@Param("itemId") Long itemId, @Param("granularity") TimeBucket granularity,
+                                      @Param("from") Instant from, @Param("to") Instant to);
+}
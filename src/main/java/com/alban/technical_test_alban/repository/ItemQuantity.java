@@ -0,0 +1,11 @@
+package com.alban.technical_test_alban.repository;
+
+/**
+ * Projection of a per-item quantity produced by the grouped stock aggregates.
+ */
+public interface ItemQuantity {
+
+    Long getItemId();
+
+    Long getQuantity();
+}
@@ -1,20 +1,61 @@
 package com.alban.technical_test_alban.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import com.alban.technical_test_alban.component.SecondLevelCacheConfigurer;
 import com.alban.technical_test_alban.entity.Item;
 
+import jakarta.persistence.QueryHint;
+
 public interface ItemRepository extends JpaRepository<Item, Long> {
+	// Cached query, invalidated by Hibernate whenever the items table is written
+	@QueryHints({
+			@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+			@QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfigurer.ITEM_BY_NAME_REGION)
+	})
 	Optional<Item> findByName(String name);
-	    
+
+    @Query("SELECT i.id FROM Item i WHERE NOT EXISTS (SELECT s FROM ItemStock s WHERE s.itemId = i.id)")
+    List<Long> findIdsWithoutStock();
+
+    @Query("SELECT i.id AS itemId, i.name AS name, i.price AS price, i.version AS version FROM Item i")
+    List<ItemSnapshot> findAllSnapshots();
+
+    // Full aggregates over the movement history, only used to reconcile item_stock
     @Query("SELECT COALESCE(SUM(CASE WHEN i.type = 'T' THEN i.qty ELSE -i.qty END), 0) " +
            "FROM Inventory i WHERE i.item.id = :itemId")
     Integer calculateInventoryStock(@Param("itemId") Long itemId);
     
     @Query("SELECT COALESCE(SUM(o.qty), 0) FROM Order o WHERE o.item.id = :itemId")
     Integer calculateOrderedStock(@Param("itemId") Long itemId);
+
+    @Query("SELECT i.item.id AS itemId, SUM(CASE WHEN i.type = 'T' THEN i.qty ELSE -i.qty END) AS quantity " +
+           "FROM Inventory i WHERE i.item.id IN :itemIds GROUP BY i.item.id")
+    List<ItemQuantity> calculateInventoryStockByItemIds(@Param("itemIds") Collection<Long> itemIds);
+
+    @Query("SELECT o.item.id AS itemId, SUM(o.qty) AS quantity " +
+           "FROM Order o WHERE o.item.id IN :itemIds GROUP BY o.item.id")
+    List<ItemQuantity> calculateOrderedStockByItemIds(@Param("itemIds") Collection<Long> itemIds);
+
+    @Query("SELECT i.item.id AS itemId, SUM(CASE WHEN i.type = 'T' THEN i.qty ELSE -i.qty END) AS quantity " +
+           "FROM Inventory i GROUP BY i.item.id")
+    List<ItemQuantity> calculateInventoryStockByItem();
+
+    @Query("SELECT o.item.id AS itemId, SUM(o.qty) AS quantity FROM Order o GROUP BY o.item.id")
+    List<ItemQuantity> calculateOrderedStockByItem();
+
+    // Keyset scrolling: WHERE (sort keys, id) > last row ORDER BY ... LIMIT, no count query
+    Window<Item> findAllBy(ScrollPosition position, Limit limit, Sort sort);
 }
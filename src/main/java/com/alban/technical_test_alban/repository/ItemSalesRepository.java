@@ -0,0 +1,53 @@
+package com.alban.technical_test_alban.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.alban.technical_test_alban.dto.ItemSalesDTO;
+import com.alban.technical_test_alban.entity.ItemSales;
+
+@Repository
+public interface ItemSalesRepository extends JpaRepository<ItemSales, Long> {
+
+    // Applied by the database under the row lock, concurrent deltas of an item never overwrite each other
+    @Modifying
+    @Query("UPDATE ItemSales s SET s.units = s.units + :units, s.revenue = s.revenue + :revenue, s.version = s.version + 1 " +
+           "WHERE s.itemId = :itemId")
+    int addSales(@Param("itemId") Long itemId, @Param("units") long units, @Param("revenue") BigDecimal revenue);
+
+    // Constructor expression so the row is always read from the database, never from the persistence context
+    @Query("SELECT new com.alban.technical_test_alban.entity.ItemSales(s.itemId, s.units, s.revenue, s.version) " +
+           "FROM ItemSales s WHERE s.itemId = :itemId")
+    ItemSales findTotalsByItemId(@Param("itemId") Long itemId);
+
+    @Query("SELECT COALESCE(MAX(s.version), 0) FROM ItemSales s")
+    long findMaxVersion();
+
+    @Query("SELECT s.itemId FROM ItemSales s")
+    List<Long> findAllItemIds();
+
+    // Only used to create a missing row or rebuild the rollup, pending order writes are flushed first.
+    // The row starts at the given version, above that of any row a rebuild may have dropped
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO item_sales (item_id, units, revenue, version) " +
+                   "SELECT :itemId, COALESCE(SUM(qty), 0), COALESCE(SUM(qty * price), 0), :version FROM orders WHERE item_id = :itemId",
+           nativeQuery = true)
+    int insertFromOrders(@Param("itemId") Long itemId, @Param("version") long version);
+
+    // Rebuilt rows start at the given version, above that of any row they replace
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO item_sales (item_id, units, revenue, version) " +
+                   "SELECT item_id, SUM(qty), SUM(qty * price), :version FROM orders GROUP BY item_id",
+           nativeQuery = true)
+    int insertAllFromOrders(@Param("version") long version);
+
+    @Query("SELECT new com.alban.technical_test_alban.dto.ItemSalesDTO(s.itemId, i.name, s.units, s.revenue) " +
+           "FROM ItemSales s JOIN Item i ON i.id = s.itemId ORDER BY s.revenue DESC, s.itemId")
+    List<ItemSalesDTO> findAllAsDTO();
+}
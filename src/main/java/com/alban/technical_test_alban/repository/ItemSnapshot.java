@@ -0,0 +1,10 @@
+package com.alban.technical_test_alban.repository;
+
+/**
+ * {@link ItemSummary} with the row version, for in-memory views that must not let a bulk load
+ * overwrite a newer committed change.
+ */
+public interface ItemSnapshot extends ItemSummary {
+
+    Long getVersion();
+}
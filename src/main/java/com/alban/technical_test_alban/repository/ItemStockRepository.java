@@ -0,0 +1,24 @@
+package com.alban.technical_test_alban.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.alban.technical_test_alban.entity.ItemStock;
+
+@Repository
+public interface ItemStockRepository extends JpaRepository<ItemStock, Long> {
+
+    // Constructor expression so the row is always read from the database, never from the persistence context
+    @Query("SELECT new com.alban.technical_test_alban.entity.ItemStock(s.itemId, s.quantity, s.version) " +
+           "FROM ItemStock s WHERE s.itemId = :itemId")
+    ItemStock findLevelByItemId(@Param("itemId") Long itemId);
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ItemStock s SET s.quantity = :quantity, s.version = s.version + 1 WHERE s.itemId = :itemId")
+    int overwriteQuantity(@Param("itemId") Long itemId, @Param("quantity") Integer quantity);
+}
@@ -0,0 +1,15 @@
+package com.alban.technical_test_alban.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Projection of the searchable columns of an item, used to hydrate the in-memory indexes.
+ */
+public interface ItemSummary {
+
+    Long getItemId();
+
+    String getName();
+
+    BigDecimal getPrice();
+}
@@ -0,0 +1,14 @@
+package com.alban.technical_test_alban.repository;
+
+/**
+ * Projection of the versions an order or inventory representation is built from: its own
+ * row and the item it shows the name of.
+ */
+public interface LineVersion {
+
+    Long getVersion();
+
+    Long getItemId();
+
+    Long getItemVersion();
+}
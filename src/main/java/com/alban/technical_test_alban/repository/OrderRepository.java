@@ -1,21 +1,68 @@
 package com.alban.technical_test_alban.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import com.alban.technical_test_alban.dto.OrderDTO;
 import com.alban.technical_test_alban.entity.Order;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
+    // Start of the next block of order numbers, ORDER_NO_SEQ increments by the block size
     @Query(
-            value = "SELECT 'O' || MAX(CAST(SUBSTRING(ORDER_NO, 2) AS INT)) FROM ORDERS",
+            value = "SELECT NEXT VALUE FOR ORDER_NO_SEQ",
             nativeQuery = true
     )
-    String getLatestOrderNo();
+    Long nextOrderNoBlock();
+
+    @Query(
+            value = "SELECT INCREMENT FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'ORDER_NO_SEQ'",
+            nativeQuery = true
+    )
+    Long getOrderNoBlockSize();
 
     Optional<Order> findByOrderNo(String orderNo);
+
+    // Read paths project straight into the DTO with one join, no entities are managed
+    @Query(
+            value = "SELECT new com.alban.technical_test_alban.dto.OrderDTO(o.orderNo, i.id, i.name, o.qty, o.price) "
+                    + "FROM Order o JOIN o.item i",
+            countQuery = "SELECT COUNT(o) FROM Order o"
+    )
+    Page<OrderDTO> findAllAsDTO(Pageable pageable);
+
+    @Query("SELECT new com.alban.technical_test_alban.dto.OrderDTO(o.orderNo, i.id, i.name, o.qty, o.price) "
+            + "FROM Order o JOIN o.item i WHERE o.id = :id")
+    Optional<OrderDTO> findDTOById(Long id);
+
+    // Exports read the whole table through a forward-only cursor, a fetch size worth of rows at a time,
+    // mapped straight to DTOs so nothing accumulates in the persistence context
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.alban.technical_test_alban.dto.OrderDTO(o.orderNo, i.id, i.name, o.qty, o.price) "
+            + "FROM Order o JOIN o.item i ORDER BY o.id")
+    Stream<OrderDTO> streamAllAsDTO();
+
+    @Query("SELECT o.version AS version, i.id AS itemId, i.version AS itemVersion "
+            + "FROM Order o JOIN o.item i WHERE o.id = :id")
+    Optional<LineVersion> findVersionById(Long id);
+
+    // Keyset scrolling: WHERE (sort keys, id) > last row ORDER BY ... LIMIT, no count query.
+    // The page is mapped to DTOs after the transaction, so the item is fetched in the same select
+    @EntityGraph("Order.item")
+    Window<Order> findAllBy(ScrollPosition position, Limit limit, Sort sort);
 }
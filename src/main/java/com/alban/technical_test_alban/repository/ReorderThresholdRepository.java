@@ -0,0 +1,10 @@
+package com.alban.technical_test_alban.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.alban.technical_test_alban.entity.ReorderThreshold;
+
+@Repository
+public interface ReorderThresholdRepository extends JpaRepository<ReorderThreshold, Long> {
+}
@@ -0,0 +1,24 @@
+package com.alban.technical_test_alban.service;
+
+import java.util.List;
+
+import com.alban.technical_test_alban.dto.ReorderThresholdDTO;
+import com.alban.technical_test_alban.dto.StockAlertDTO;
+
+public interface AlertService {
+
+	/**
+	 * Raised low-stock alerts, longest standing first, read from memory.
+	 */
+	public List<StockAlertDTO> getActiveAlerts();
+
+	/**
+	 * Creates or replaces the reorder threshold of an item.
+	 */
+	public ReorderThresholdDTO setThreshold(Long itemId, ReorderThresholdDTO thresholdDTO);
+
+	/**
+	 * Removes the reorder threshold of an item, which clears its alert.
+	 */
+	public void deleteThreshold(Long itemId);
+}
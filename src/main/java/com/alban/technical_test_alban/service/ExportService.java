@@ -0,0 +1,23 @@
+package com.alban.technical_test_alban.service;
+
+import java.io.OutputStream;
+
+import com.alban.technical_test_alban.dto.ExportFormat;
+
+public interface ExportService {
+
+	/**
+	 * Writes every order to the stream as it is read from the database, in id order.
+	 * Rows are never collected, memory use does not grow with the table.
+	 *
+	 * @return the number of rows written
+	 */
+	public long exportOrders(OutputStream out, ExportFormat format);
+
+	/**
+	 * Writes every inventory movement to the stream as it is read from the database, in id order.
+	 *
+	 * @return the number of rows written
+	 */
+	public long exportInventories(OutputStream out, ExportFormat format);
+}
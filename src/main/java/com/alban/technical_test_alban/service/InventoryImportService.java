@@ -0,0 +1,15 @@
+package com.alban.technical_test_alban.service;
+
+import java.io.Reader;
+
+import com.alban.technical_test_alban.dto.InventoryImportFormat;
+import com.alban.technical_test_alban.dto.InventoryImportResultDTO;
+
+public interface InventoryImportService {
+
+	/**
+	 * Streams inventory movements from the reader into the database, one chunk per transaction.
+	 * The input is read line by line and never held in memory as a whole.
+	 */
+	public InventoryImportResultDTO importInventories(Reader reader, InventoryImportFormat format);
+}
@@ -1,5 +1,8 @@
 package com.alban.technical_test_alban.service;
 
+import com.alban.technical_test_alban.component.EntityTag;
+import com.alban.technical_test_alban.dto.CursorPageDTO;
+import com.alban.technical_test_alban.dto.InventoryBatchResultDTO;
 import com.alban.technical_test_alban.dto.InventoryDTO;
 import com.alban.technical_test_alban.entity.Inventory;
 import com.alban.technical_test_alban.entity.Item;
@@ -7,14 +10,33 @@ import com.alban.technical_test_alban.exception.InsufficientStockException;
 import com.alban.technical_test_alban.exception.ResourceNotFoundException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
 
 public interface InventoryService {
     public InventoryDTO getInventory(Long id);
 
+    /**
+     * Validators of the current inventory representation, from memory when its versions are known.
+     */
+    public EntityTag getInventoryTag(Long id);
+
     public Page<InventoryDTO> getAllInventories(Pageable pageable);
 
+    /**
+     * Keyset page of inventory movements following the {@code after} cursor, without a count query.
+     */
+    public CursorPageDTO<InventoryDTO> scrollInventories(String after, int limit, Sort sort);
+
     public InventoryDTO createInventory(InventoryDTO inventoryDTO);
 
+    /**
+     * Creates many movements in one transaction. Lines are accepted or rejected
+     * individually, withdrawals are checked against the stock left by earlier lines.
+     */
+    public InventoryBatchResultDTO createInventories(List<InventoryDTO> inventoryDTOs);
+
     public InventoryDTO updateInventory(Long id, InventoryDTO inventoryDTO);
 
     public void deleteInventory(Long id);
@@ -1,15 +1,38 @@
 package com.alban.technical_test_alban.service;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
+import com.alban.technical_test_alban.component.EntityTag;
+import com.alban.technical_test_alban.dto.CacheRegionStatsDTO;
+import com.alban.technical_test_alban.dto.CursorPageDTO;
 import com.alban.technical_test_alban.dto.ItemDTO;
 
 public interface ItemService {
 	
 	public ItemDTO getItem(Long id);
+
+	/**
+	 * Validators of the current item representation, from memory when its versions are known.
+	 */
+	public EntityTag getItemTag(Long id);
 	 
 	public Page<ItemDTO> getAllItems(Pageable pageable, boolean includeStock);
+
+	/**
+	 * Keyset page of items following the {@code after} cursor, without a count query.
+	 */
+	public CursorPageDTO<ItemDTO> scrollItems(String after, int limit, Sort sort, boolean includeStock);
+
+	/**
+	 * Type-ahead search over item names, answered from the in-memory search index.
+	 */
+	public List<ItemDTO> searchItems(String query, int limit, boolean fuzzy, boolean includeStock);
 	
 	public ItemDTO createItem(ItemDTO itemDTO);
 	
@@ -18,4 +41,25 @@ public interface ItemService {
 	public void deleteItem(Long id);
 	
 	public Integer getRemainingStock(Long itemId);
+
+	/**
+	 * Resolves the remaining stock of a whole page of items in one round-trip.
+	 */
+	public Map<Long, Integer> getRemainingStock(Collection<Long> itemIds);
+
+	/**
+	 * Applies a signed stock movement to the item's running balance.
+	 * Must be called inside the transaction that persists the movement.
+	 */
+	public void adjustStock(Long itemId, Integer delta);
+
+	/**
+	 * Recomputes the running balance from the inventory and order history.
+	 */
+	public Integer reconcileStock(Long itemId);
+
+	/**
+	 * Hit, miss and put counters of the item entity and item-by-name query cache regions.
+	 */
+	public List<CacheRegionStatsDTO> getCacheStats();
 }
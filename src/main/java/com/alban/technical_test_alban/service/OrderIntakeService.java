@@ -0,0 +1,17 @@
+package com.alban.technical_test_alban.service;
+
+import com.alban.technical_test_alban.dto.OrderDTO;
+import com.alban.technical_test_alban.dto.OrderTicketDTO;
+
+public interface OrderIntakeService {
+
+	/**
+	 * Queues an order to be created in the background.
+	 *
+	 * @return the ticket to poll for the outcome
+	 * @throws com.alban.technical_test_alban.exception.OrderQueueFullException when the queue is full
+	 */
+	public OrderTicketDTO submitOrder(OrderDTO orderDTO);
+
+	public OrderTicketDTO getTicket(String ticketId);
+}
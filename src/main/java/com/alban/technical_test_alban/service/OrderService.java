@@ -1,18 +1,40 @@
 package com.alban.technical_test_alban.service;
 
+import com.alban.technical_test_alban.component.EntityTag;
+import com.alban.technical_test_alban.dto.CursorPageDTO;
+import com.alban.technical_test_alban.dto.OrderBatchResultDTO;
 import com.alban.technical_test_alban.dto.OrderDTO;
 import com.alban.technical_test_alban.entity.Order;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
 
 public interface OrderService {
 
 	public OrderDTO getOrder(Long orderId);
 
+	/**
+	 * Validators of the current order representation, from memory when its versions are known.
+	 */
+	public EntityTag getOrderTag(Long orderId);
+
 	public Page<OrderDTO> getAllOrders(Pageable pageable);
 
+	/**
+	 * Keyset page of orders following the {@code after} cursor, without a count query.
+	 */
+	public CursorPageDTO<OrderDTO> scrollOrders(String after, int limit, Sort sort);
+
 	public OrderDTO createOrder(OrderDTO orderDTO);
 
+	/**
+	 * Creates a burst of orders in one transaction. Lines are accepted or rejected
+	 * individually, stock is consumed in request order.
+	 */
+	public OrderBatchResultDTO createOrders(List<OrderDTO> orderDTOs);
+
 	public OrderDTO updateOrder(Long orderNo, OrderDTO orderDTO);
 
 	public void deleteOrder(Long orderNo);
@@ -0,0 +1,24 @@
+package com.alban.technical_test_alban.service;
+
+import java.util.List;
+
+import com.alban.technical_test_alban.dto.ItemDTO;
+import com.alban.technical_test_alban.dto.StockUpdateDTO;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveItemService {
+
+	/**
+	 * The item with its remaining stock, from the in-memory views without waiting on the database.
+	 */
+	public Mono<ItemDTO> getItem(Long id);
+
+	/**
+	 * The existing items among {@code ids}, in the order asked for.
+	 */
+	public Flux<ItemDTO> getItems(List<Long> ids);
+
+	public Mono<StockUpdateDTO> getStock(Long id);
+}
@@ -0,0 +1,23 @@
+package com.alban.technical_test_alban.service;
+
+import java.math.BigDecimal;
+
+import com.alban.technical_test_alban.dto.SalesReportDTO;
+
+public interface SalesService {
+
+	/**
+	 * Units sold and revenue per item with overall totals, read from the rollup.
+	 */
+	public SalesReportDTO getSalesReport();
+
+	/**
+	 * Adds signed deltas to the sales rollup of an item, in the caller's transaction.
+	 */
+	public void adjustSales(Long itemId, long units, BigDecimal revenue);
+
+	/**
+	 * Recomputes the whole rollup from the orders table, returns the number of items.
+	 */
+	public int rebuildSales();
+}
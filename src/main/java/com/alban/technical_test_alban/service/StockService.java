@@ -0,0 +1,22 @@
+package com.alban.technical_test_alban.service;
+
+import com.alban.technical_test_alban.dto.StockConcurrencyDTO;
+import com.alban.technical_test_alban.dto.StockConsistencyDTO;
+
+public interface StockService {
+
+	/**
+	 * Diffs the stock cache and the persisted balances against the movement history.
+	 */
+	public StockConsistencyDTO checkConsistency();
+
+	/**
+	 * Drops and re-hydrates the stock cache, returns the number of cached items.
+	 */
+	public int rebuildCache();
+
+	/**
+	 * Returns the stock concurrency mode with its version conflict and retry counters.
+	 */
+	public StockConcurrencyDTO getConcurrencyStats();
+}
@@ -0,0 +1,31 @@
+package com.alban.technical_test_alban.service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import com.alban.technical_test_alban.dto.TrendDTO;
+import com.alban.technical_test_alban.entity.TimeBucket;
+
+public interface TrendService {
+
+	/**
+	 * Activity per bucket between two instants, read from the rollup. {@code from} is rounded down
+	 * to its bucket, {@code to} is exclusive, {@code itemId} null covers the whole catalogue.
+	 */
+	public TrendDTO getTrend(Long itemId, TimeBucket bucket, Instant from, Instant to);
+
+	/**
+	 * Adds signed order deltas to the buckets of {@code createdAt}, in the caller's transaction.
+	 */
+	public void adjustOrderActivity(Long itemId, Instant createdAt, long units, BigDecimal revenue);
+
+	/**
+	 * Adds a signed inventory quantity of type T or W to the buckets of {@code createdAt}, in the caller's transaction.
+	 */
+	public void adjustInventoryActivity(Long itemId, Instant createdAt, String type, long qty);
+
+	/**
+	 * Recomputes the whole rollup from the orders and inventory tables, returns the number of buckets.
+	 */
+	public int rebuildActivity();
+}
@@ -0,0 +1,79 @@
+package com.alban.technical_test_alban.service.impl;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import com.alban.technical_test_alban.component.StockAlertEngine;
+import com.alban.technical_test_alban.dto.ReorderThresholdDTO;
+import com.alban.technical_test_alban.dto.StockAlertDTO;
+import com.alban.technical_test_alban.entity.Item;
+import com.alban.technical_test_alban.entity.ReorderThreshold;
+import com.alban.technical_test_alban.event.ReorderThresholdChangedEvent;
+import com.alban.technical_test_alban.exception.ResourceNotFoundException;
+import com.alban.technical_test_alban.repository.ItemRepository;
+import com.alban.technical_test_alban.repository.ReorderThresholdRepository;
+import com.alban.technical_test_alban.service.AlertService;
+
+import jakarta.transaction.Transactional;
+
+@Service
+public class AlertServiceImpl implements AlertService {
+
+    private final ReorderThresholdRepository reorderThresholdRepository;
+    private final ItemRepository itemRepository;
+    private final StockAlertEngine alertEngine;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int defaultHysteresis;
+
+    public AlertServiceImpl(ReorderThresholdRepository reorderThresholdRepository,
+                            ItemRepository itemRepository,
+                            StockAlertEngine alertEngine,
+                            ApplicationEventPublisher eventPublisher,
+                            @Value("${app.alerts.default-hysteresis:5}") int defaultHysteresis) {
+        this.reorderThresholdRepository = reorderThresholdRepository;
+        this.itemRepository = itemRepository;
+        this.alertEngine = alertEngine;
+        this.eventPublisher = eventPublisher;
+        this.defaultHysteresis = defaultHysteresis;
+    }
+
+    public List<StockAlertDTO> getActiveAlerts() {
+        List<StockAlertEngine.Alert> alerts = alertEngine.activeAlerts();
+        if (alerts.isEmpty()) {
+            return List.of();
+        }
+        // Only the names of the alerted items are read
+        Map<Long, String> names = new HashMap<>();
+        itemRepository.findAllById(alerts.stream().map(StockAlertEngine.Alert::itemId).toList())
+                .forEach(item -> names.put(item.getId(), item.getName()));
+        return alerts.stream()
+                .map(alert -> new StockAlertDTO(alert.itemId(), names.get(alert.itemId()), alert.remainingStock(),
+                        alert.threshold(), alert.hysteresis(), alert.raisedAt()))
+                .toList();
+    }
+
+    @Transactional
+    public ReorderThresholdDTO setThreshold(Long itemId, ReorderThresholdDTO thresholdDTO) {
+        Item item = itemRepository.findById(itemId)
+                .orElseThrow(() -> new ResourceNotFoundException("Item not found with id: " + itemId));
+        int hysteresis = thresholdDTO.getHysteresis() != null ? thresholdDTO.getHysteresis() : defaultHysteresis;
+
+        ReorderThreshold threshold = reorderThresholdRepository.save(
+                new ReorderThreshold(item.getId(), thresholdDTO.getThreshold(), hysteresis));
+        eventPublisher.publishEvent(new ReorderThresholdChangedEvent(itemId, threshold.getThreshold(), threshold.getHysteresis()));
+        return new ReorderThresholdDTO(itemId, threshold.getThreshold(), threshold.getHysteresis());
+    }
+
+    @Transactional
+    public void deleteThreshold(Long itemId) {
+        ReorderThreshold threshold = reorderThresholdRepository.findById(itemId)
+                .orElseThrow(() -> new ResourceNotFoundException("No reorder threshold for item id: " + itemId));
+        reorderThresholdRepository.delete(threshold);
+        eventPublisher.publishEvent(new ReorderThresholdChangedEvent(itemId, null, null));
+    }
+}
@@ -0,0 +1,125 @@
+package com.alban.technical_test_alban.service.impl;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.alban.technical_test_alban.dto.ExportFormat;
+import com.alban.technical_test_alban.dto.InventoryDTO;
+import com.alban.technical_test_alban.dto.OrderDTO;
+import com.alban.technical_test_alban.repository.InventoryRepository;
+import com.alban.technical_test_alban.repository.OrderRepository;
+import com.alban.technical_test_alban.service.ExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExportServiceImpl implements ExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final OrderRepository orderRepository;
+    private final InventoryRepository inventoryRepository;
+    private final ObjectMapper objectMapper;
+
+    // Read-only: no flush and no dirty checking while the cursor is open
+    @Transactional(readOnly = true)
+    public long exportOrders(OutputStream out, ExportFormat format) {
+        try (Stream<OrderDTO> orders = orderRepository.streamAllAsDTO()) {
+            return export("orders", orders, OrderDTO.class, out, format, "orderNo,itemId,itemName,qty,price",
+                    order -> new Object[]{order.getOrderNo(), order.getItemId(), order.getItemName(), order.getQty(), order.getPrice()});
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportInventories(OutputStream out, ExportFormat format) {
+        try (Stream<InventoryDTO> inventories = inventoryRepository.streamAllAsDTO()) {
+            return export("inventories", inventories, InventoryDTO.class, out, format, "id,itemId,itemName,qty,type",
+                    inventory -> new Object[]{inventory.getId(), inventory.getItemId(), inventory.getItemName(), inventory.getQty(), inventory.getType()});
+        }
+    }
+
+    private <T> long export(String name, Stream<T> rows, Class<T> type, OutputStream out, ExportFormat format,
+                            String csvHeader, Function<T, Object[]> csvColumns) {
+        long started = System.nanoTime();
+        long written;
+        try {
+            written = format == ExportFormat.CSV
+                    ? writeCsv(rows, out, csvHeader, csvColumns)
+                    : writeNdjson(rows, type, out);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not write " + name + " export", ex);
+        }
+        long elapsedMillis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        log.info("Exported {} {} as {} in {} ms ({} rows/sec)",
+                written, name, format, elapsedMillis, Math.round(written * 1000.0 / elapsedMillis));
+        return written;
+    }
+
+    private <T> long writeNdjson(Stream<T> rows, Class<T> type, OutputStream out) throws IOException {
+        // Flushed when the generator buffer fills up, not after every row
+        ObjectWriter rowWriter = objectMapper.writerFor(type).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long written = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            for (T row : (Iterable<T>) rows::iterator) {
+                rowWriter.writeValue(generator, row);
+                generator.writeRaw('\n');
+                written++;
+            }
+        }
+        return written;
+    }
+
+    private <T> long writeCsv(Stream<T> rows, OutputStream out, String header, Function<T, Object[]> columns) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write(header);
+        writer.write('\n');
+        long written = 0;
+        for (T row : (Iterable<T>) rows::iterator) {
+            Object[] values = columns.apply(row);
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeCsvValue(writer, values[i]);
+            }
+            writer.write('\n');
+            written++;
+        }
+        writer.flush();
+        return written;
+    }
+
+    private void writeCsvValue(Writer writer, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,184 @@
+package com.alban.technical_test_alban.service.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.alban.technical_test_alban.component.OptimisticRetryExecutor;
+import com.alban.technical_test_alban.dto.InventoryBatchLineDTO;
+import com.alban.technical_test_alban.dto.InventoryBatchResultDTO;
+import com.alban.technical_test_alban.dto.InventoryDTO;
+import com.alban.technical_test_alban.dto.InventoryImportFormat;
+import com.alban.technical_test_alban.dto.InventoryImportRejectionDTO;
+import com.alban.technical_test_alban.dto.InventoryImportResultDTO;
+import com.alban.technical_test_alban.service.InventoryImportService;
+import com.alban.technical_test_alban.service.InventoryService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class InventoryImportServiceImpl implements InventoryImportService {
+
+    private final InventoryService inventoryService;
+    private final OptimisticRetryExecutor retryExecutor;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int maxReportedRejections;
+
+    public InventoryImportServiceImpl(InventoryService inventoryService,
+                                      OptimisticRetryExecutor retryExecutor,
+                                      ObjectMapper objectMapper,
+                                      @Value("${app.inventory.import.chunk-size:1000}") int chunkSize,
+                                      @Value("${app.inventory.import.max-reported-rejections:100}") int maxReportedRejections) {
+        this.inventoryService = inventoryService;
+        this.retryExecutor = retryExecutor;
+        this.objectMapper = objectMapper;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxReportedRejections = maxReportedRejections;
+    }
+
+    public InventoryImportResultDTO importInventories(Reader reader, InventoryImportFormat format) {
+        Progress progress = new Progress();
+        List<InventoryDTO> chunk = new ArrayList<>(chunkSize);
+        List<Long> chunkLines = new ArrayList<>(chunkSize);
+        long started = System.nanoTime();
+
+        try (BufferedReader lines = new BufferedReader(reader)) {
+            long lineNo = 0;
+            boolean firstRow = true;
+            String line;
+            while ((line = lines.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (firstRow && format == InventoryImportFormat.CSV && isCsvHeader(line)) {
+                    firstRow = false;
+                    continue;
+                }
+                firstRow = false;
+
+                progress.processed++;
+                InventoryDTO row;
+                try {
+                    row = parse(line, format);
+                } catch (IllegalArgumentException | JsonProcessingException ex) {
+                    progress.reject(lineNo, "Malformed line");
+                    if (!chunk.isEmpty()) {
+                        progress.rejectedInChunk++;
+                    }
+                    continue;
+                }
+                chunk.add(row);
+                chunkLines.add(lineNo);
+                if (chunk.size() == chunkSize && !write(chunk, chunkLines, progress)) {
+                    return result(progress, started);
+                }
+            }
+            if (!chunk.isEmpty() && !write(chunk, chunkLines, progress)) {
+                return result(progress, started);
+            }
+            progress.lastCommittedLine = lineNo;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read inventory import", ex);
+        }
+        return result(progress, started);
+    }
+
+    /**
+     * @return false when the chunk could not be written, the import then stops before it
+     */
+    private boolean write(List<InventoryDTO> chunk, List<Long> chunkLines, Progress progress) {
+        // A chunk is retried as a whole, its outcome only counts once it committed
+        InventoryBatchResultDTO result;
+        try {
+            result = retryExecutor.execute(() -> inventoryService.createInventories(chunk));
+        } catch (RuntimeException ex) {
+            // Earlier chunks are committed, the client needs to know where to resume
+            log.error("Inventory import stopped at line {}", chunkLines.get(0), ex);
+            progress.stopBefore(chunkLines.get(0), chunk.size());
+            return false;
+        }
+        progress.imported += result.getAccepted();
+        for (InventoryBatchLineDTO line : result.getLines()) {
+            if (!line.isSuccess()) {
+                progress.reject(chunkLines.get(line.getLine()), line.getMessage());
+            }
+        }
+        progress.lastCommittedLine = chunkLines.get(chunkLines.size() - 1);
+        progress.rejectedInChunk = 0;
+        chunk.clear();
+        chunkLines.clear();
+        return true;
+    }
+
+    private InventoryImportResultDTO result(Progress progress, long started) {
+        long elapsedMillis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        double rowsPerSecond = progress.processed * 1000.0 / elapsedMillis;
+        log.info("Imported {} of {} inventory rows in {} ms ({} rows/sec)",
+                progress.imported, progress.processed, elapsedMillis, Math.round(rowsPerSecond));
+        return new InventoryImportResultDTO(progress.processed, progress.imported, progress.rejected,
+                elapsedMillis, rowsPerSecond, progress.rejections, progress.failure == null,
+                progress.lastCommittedLine, progress.failure);
+    }
+
+    private InventoryDTO parse(String line, InventoryImportFormat format) throws JsonProcessingException {
+        if (format == InventoryImportFormat.NDJSON) {
+            return objectMapper.readValue(line, InventoryDTO.class);
+        }
+        String[] columns = line.split(",", -1);
+        if (columns.length != 3) {
+            throw new IllegalArgumentException("Expected itemId,qty,type");
+        }
+        InventoryDTO row = new InventoryDTO();
+        row.setItemId(columns[0].isBlank() ? null : Long.valueOf(columns[0].trim()));
+        row.setQty(columns[1].isBlank() ? null : Integer.valueOf(columns[1].trim()));
+        row.setType(columns[2].isBlank() ? null : columns[2].trim());
+        return row;
+    }
+
+    private boolean isCsvHeader(String line) {
+        return line.trim().toLowerCase().startsWith("itemid");
+    }
+
+    private final class Progress {
+
+        private long processed;
+        private long imported;
+        private long rejected;
+        private long lastCommittedLine;
+        private String failure;
+        // Malformed lines read since the first row of the pending chunk
+        private long rejectedInChunk;
+        private final List<InventoryImportRejectionDTO> rejections = new ArrayList<>();
+
+        private void reject(long line, String reason) {
+            rejected++;
+            // Keep memory flat on files with many bad rows
+            if (rejections.size() < maxReportedRejections) {
+                rejections.add(new InventoryImportRejectionDTO(line, reason));
+            }
+        }
+
+        /**
+         * Leaves the pending chunk and the lines read along with it out of the counts, they are
+         * read again when the import is resumed.
+         */
+        private void stopBefore(long line, int chunkRows) {
+            lastCommittedLine = line - 1;
+            processed -= chunkRows + rejectedInChunk;
+            rejected -= rejectedInChunk;
+            rejections.removeIf(rejection -> rejection.getLine() > lastCommittedLine);
+            failure = "Rows from line " + line + " on could not be written, resume after line " + lastCommittedLine;
+        }
+    }
+}
@@ -1,36 +1,77 @@
 package com.alban.technical_test_alban.service.impl;
 
+import com.alban.technical_test_alban.component.CursorCodec;
+import com.alban.technical_test_alban.component.EntityTag;
+import com.alban.technical_test_alban.component.EntityVersions;
+import com.alban.technical_test_alban.component.StockReservationEngine;
+import com.alban.technical_test_alban.dto.CursorPageDTO;
+import com.alban.technical_test_alban.dto.InventoryBatchLineDTO;
+import com.alban.technical_test_alban.dto.InventoryBatchResultDTO;
 import com.alban.technical_test_alban.dto.InventoryDTO;
 import com.alban.technical_test_alban.entity.Inventory;
 import com.alban.technical_test_alban.entity.Item;
+import com.alban.technical_test_alban.event.InventoryChangedEvent;
 import com.alban.technical_test_alban.exception.InsufficientStockException;
 import com.alban.technical_test_alban.exception.ResourceNotFoundException;
 import com.alban.technical_test_alban.repository.InventoryRepository;
 import com.alban.technical_test_alban.repository.ItemRepository;
 import com.alban.technical_test_alban.service.InventoryService;
 import com.alban.technical_test_alban.service.ItemService;
+import com.alban.technical_test_alban.service.TrendService;
 import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
 @Service
 @RequiredArgsConstructor
 public class InventoryServiceImpl implements InventoryService {
     private final InventoryRepository inventoryRepository;
     private final ItemRepository itemRepository;
     private final ItemService itemService;
+    private final TrendService trendService;
+    private final StockReservationEngine reservationEngine;
+    private final Validator validator;
+    private final CursorCodec cursorCodec;
+    private final EntityVersions entityVersions;
+    private final ApplicationEventPublisher eventPublisher;
 
     public InventoryDTO getInventory(Long id) {
-        Inventory inventory = inventoryRepository.findById(id)
+        return inventoryRepository.findDTOById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Inventory not found with id: " + id));
-        return convertToDTO(inventory);
+    }
+
+    public EntityTag getInventoryTag(Long id) {
+        return entityVersions.inventory(id).orElseGet(() -> inventoryRepository.findVersionById(id)
+                .map(version -> entityVersions.recordInventory(id, version.getItemId(), version.getVersion(), version.getItemVersion()))
+                .orElseThrow(() -> new ResourceNotFoundException("Inventory not found with id: " + id)));
     }
 
     public Page<InventoryDTO> getAllInventories(Pageable pageable) {
-        Page<Inventory> inventories = inventoryRepository.findAll(pageable);
-        return inventories.map(this::convertToDTO);
+        return inventoryRepository.findAllAsDTO(pageable);
+    }
+
+    public CursorPageDTO<InventoryDTO> scrollInventories(String after, int limit, Sort sort) {
+        Window<Inventory> inventories = inventoryRepository.findAllBy(
+                cursorCodec.decode(after, Inventory.class, sort), Limit.of(cursorCodec.limit(limit)), sort);
+        return cursorCodec.toPage(inventories, sort, this::convertToDTO);
     }
 
     @Transactional
@@ -40,6 +81,7 @@ public class InventoryServiceImpl implements InventoryService {
 
         // Validate withdrawal doesn't cause negative stock
         if ("W".equals(inventoryDTO.getType())) {
+            reservationEngine.lock(item.getId());
             Integer currentStock = itemService.getRemainingStock(item.getId());
             if (currentStock < inventoryDTO.getQty()) {
                 throw new InsufficientStockException(
@@ -52,11 +94,86 @@ public class InventoryServiceImpl implements InventoryService {
         inventory.setItem(item);
         inventory.setQty(inventoryDTO.getQty());
         inventory.setType(inventoryDTO.getType());
+        inventory.setCreatedAt(Instant.now());
 
         Inventory savedInventory = inventoryRepository.save(inventory);
+        itemService.adjustStock(item.getId(), stockImpact(inventoryDTO.getType(), inventoryDTO.getQty()));
+        trendService.adjustInventoryActivity(item.getId(), inventory.getCreatedAt(), inventoryDTO.getType(), inventoryDTO.getQty());
         return convertToDTO(savedInventory);
     }
 
+    @Transactional
+    public InventoryBatchResultDTO createInventories(List<InventoryDTO> inventoryDTOs) {
+        InventoryBatchLineDTO[] lines = new InventoryBatchLineDTO[inventoryDTOs.size()];
+        Set<Long> itemIds = new TreeSet<>();
+        for (int i = 0; i < inventoryDTOs.size(); i++) {
+            String violations = validate(inventoryDTOs.get(i));
+            if (violations != null) {
+                lines[i] = new InventoryBatchLineDTO(i, false, violations, null);
+            } else {
+                itemIds.add(inventoryDTOs.get(i).getItemId());
+            }
+        }
+        Map<Long, Item> items = new HashMap<>();
+        itemRepository.findAllById(itemIds).forEach(item -> items.put(item.getId(), item));
+
+        reservationEngine.lock(items.keySet().toArray(Long[]::new));
+        Map<Long, Integer> stocks = items.isEmpty()
+                ? new HashMap<>()
+                : new HashMap<>(itemService.getRemainingStock(items.keySet()));
+
+        // Stock effects and activity are accumulated per item and written once at the end
+        Instant createdAt = Instant.now();
+        List<Integer> acceptedLines = new ArrayList<>();
+        List<Inventory> inventories = new ArrayList<>();
+        Map<Long, Integer> impacts = new HashMap<>();
+        Map<Long, Integer> toppedUp = new HashMap<>();
+        Map<Long, Integer> withdrawn = new HashMap<>();
+        for (int i = 0; i < inventoryDTOs.size(); i++) {
+            if (lines[i] != null) {
+                continue;
+            }
+            InventoryDTO inventoryDTO = inventoryDTOs.get(i);
+            Item item = items.get(inventoryDTO.getItemId());
+            if (item == null) {
+                lines[i] = new InventoryBatchLineDTO(i, false, "Item not found with id: " + inventoryDTO.getItemId(), null);
+                continue;
+            }
+            Integer currentStock = stocks.getOrDefault(item.getId(), 0);
+            if ("W".equals(inventoryDTO.getType()) && currentStock < inventoryDTO.getQty()) {
+                lines[i] = new InventoryBatchLineDTO(i, false,
+                        "Cannot withdraw " + inventoryDTO.getQty() + " items. Current stock: " + currentStock, null);
+                continue;
+            }
+
+            Integer impact = stockImpact(inventoryDTO.getType(), inventoryDTO.getQty());
+            stocks.put(item.getId(), currentStock + impact);
+            impacts.merge(item.getId(), impact, Integer::sum);
+            ("T".equals(inventoryDTO.getType()) ? toppedUp : withdrawn).merge(item.getId(), inventoryDTO.getQty(), Integer::sum);
+
+            Inventory inventory = new Inventory();
+            inventory.setItem(item);
+            inventory.setQty(inventoryDTO.getQty());
+            inventory.setType(inventoryDTO.getType());
+            inventory.setCreatedAt(createdAt);
+            inventories.add(inventory);
+            acceptedLines.add(i);
+        }
+
+        List<Inventory> savedInventories = inventoryRepository.saveAll(inventories);
+        impacts.forEach(itemService::adjustStock);
+        toppedUp.forEach((itemId, qty) -> trendService.adjustInventoryActivity(itemId, createdAt, "T", qty));
+        withdrawn.forEach((itemId, qty) -> trendService.adjustInventoryActivity(itemId, createdAt, "W", qty));
+
+        for (int n = 0; n < acceptedLines.size(); n++) {
+            int line = acceptedLines.get(n);
+            lines[line] = new InventoryBatchLineDTO(line, true, "Inventory created successfully",
+                    convertToDTO(savedInventories.get(n)));
+        }
+        return new InventoryBatchResultDTO(acceptedLines.size(), inventoryDTOs.size() - acceptedLines.size(),
+                Arrays.asList(lines));
+    }
+
     @Transactional
     public InventoryDTO updateInventory(Long id, InventoryDTO inventoryDTO) {
         Inventory inventory = inventoryRepository.findById(id)
@@ -65,9 +182,11 @@ public class InventoryServiceImpl implements InventoryService {
         Item item = itemRepository.findById(inventoryDTO.getItemId())
                 .orElseThrow(() -> new ResourceNotFoundException("Item not found with id: " + inventoryDTO.getItemId()));
 
+        reservationEngine.lock(inventory.getItem().getId(), item.getId());
+
         // Calculate stock impact of the update
-        Integer oldImpact = "T".equals(inventory.getType()) ? inventory.getQty() : -inventory.getQty();
-        Integer newImpact = "T".equals(inventoryDTO.getType()) ? inventoryDTO.getQty() : -inventoryDTO.getQty();
+        Integer oldImpact = stockImpact(inventory.getType(), inventory.getQty());
+        Integer newImpact = stockImpact(inventoryDTO.getType(), inventoryDTO.getQty());
         Integer stockDifference = newImpact - oldImpact;
 
         // Check if update would cause negative stock
@@ -78,11 +197,26 @@ public class InventoryServiceImpl implements InventoryService {
             );
         }
 
+        Long oldItemId = inventory.getItem().getId();
+        String oldType = inventory.getType();
+        Integer oldQty = inventory.getQty();
+
         inventory.setItem(item);
         inventory.setQty(inventoryDTO.getQty());
         inventory.setType(inventoryDTO.getType());
 
-        Inventory updatedInventory = inventoryRepository.save(inventory);
+        // Flushed so the event carries the bumped version
+        Inventory updatedInventory = inventoryRepository.saveAndFlush(inventory);
+        if (oldItemId.equals(item.getId())) {
+            itemService.adjustStock(item.getId(), stockDifference);
+        } else {
+            itemService.adjustStock(oldItemId, -oldImpact);
+            itemService.adjustStock(item.getId(), newImpact);
+        }
+        // The movement stays in the activity buckets of its creation time
+        trendService.adjustInventoryActivity(oldItemId, inventory.getCreatedAt(), oldType, -oldQty);
+        trendService.adjustInventoryActivity(item.getId(), inventory.getCreatedAt(), inventoryDTO.getType(), inventoryDTO.getQty());
+        eventPublisher.publishEvent(new InventoryChangedEvent(id, item.getId(), updatedInventory.getVersion()));
         return convertToDTO(updatedInventory);
     }
 
@@ -91,8 +225,10 @@ public class InventoryServiceImpl implements InventoryService {
         Inventory inventory = inventoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Inventory not found with id: " + id));
 
+        reservationEngine.lock(inventory.getItem().getId());
+
         // Check if deletion would cause negative stock
-        Integer impact = "T".equals(inventory.getType()) ? -inventory.getQty() : inventory.getQty();
+        Integer impact = -stockImpact(inventory.getType(), inventory.getQty());
         Integer currentStock = itemService.getRemainingStock(inventory.getItem().getId());
 
         if (currentStock + impact < 0) {
@@ -102,6 +238,27 @@ public class InventoryServiceImpl implements InventoryService {
         }
 
         inventoryRepository.delete(inventory);
+        itemService.adjustStock(inventory.getItem().getId(), impact);
+        trendService.adjustInventoryActivity(inventory.getItem().getId(), inventory.getCreatedAt(), inventory.getType(), -inventory.getQty());
+        eventPublisher.publishEvent(new InventoryChangedEvent(id, inventory.getItem().getId(), null));
+    }
+
+    private Integer stockImpact(String type, Integer qty) {
+        return "T".equals(type) ? qty : -qty;
+    }
+
+    private String validate(InventoryDTO inventoryDTO) {
+        if (inventoryDTO == null) {
+            return "Inventory line is required";
+        }
+        Set<ConstraintViolation<InventoryDTO>> violations = validator.validate(inventoryDTO);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
     }
 
     private InventoryDTO convertToDTO(Inventory inventory) {
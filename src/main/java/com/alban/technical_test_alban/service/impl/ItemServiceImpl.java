@@ -1,16 +1,52 @@
 package com.alban.technical_test_alban.service.impl;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.alban.technical_test_alban.component.CursorCodec;
+import com.alban.technical_test_alban.component.EntityTag;
+import com.alban.technical_test_alban.component.EntityVersions;
+import com.alban.technical_test_alban.component.ItemNameIndex;
+import com.alban.technical_test_alban.component.ItemSearchIndex;
+import com.alban.technical_test_alban.component.SecondLevelCacheConfigurer;
+import com.alban.technical_test_alban.component.StockCache;
 
+import com.alban.technical_test_alban.dto.CacheRegionStatsDTO;
+import com.alban.technical_test_alban.dto.CursorPageDTO;
 import com.alban.technical_test_alban.dto.ItemDTO;
 import com.alban.technical_test_alban.entity.Item;
+import com.alban.technical_test_alban.entity.ItemStock;
+import com.alban.technical_test_alban.event.ItemChangedEvent;
+import com.alban.technical_test_alban.event.StockChangedEvent;
 import com.alban.technical_test_alban.exception.DuplicateResourceException;
+import com.alban.technical_test_alban.exception.InsufficientStockException;
 import com.alban.technical_test_alban.exception.ResourceNotFoundException;
+import com.alban.technical_test_alban.repository.ItemQuantity;
 import com.alban.technical_test_alban.repository.ItemRepository;
+import com.alban.technical_test_alban.repository.ItemSalesRepository;
+import com.alban.technical_test_alban.repository.ReorderThresholdRepository;
+import com.alban.technical_test_alban.repository.ItemStockRepository;
 import com.alban.technical_test_alban.service.ItemService;
 
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 
@@ -18,22 +54,89 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService{
 	private final ItemRepository itemRepository;
+	private final ItemStockRepository itemStockRepository;
+	private final ItemSalesRepository itemSalesRepository;
+	private final ReorderThresholdRepository reorderThresholdRepository;
+	private final StockCache stockCache;
+	private final EntityVersions entityVersions;
+	private final ItemNameIndex itemNameIndex;
+	private final ItemSearchIndex itemSearchIndex;
+	private final ApplicationEventPublisher eventPublisher;
+	private final CursorCodec cursorCodec;
+	private final EntityManagerFactory entityManagerFactory;
 	    
     public ItemDTO getItem(Long id) {
         Item item = itemRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Item not found with id: " + id));
         return convertToDTO(item, true);
     }
+
+    public EntityTag getItemTag(Long id) {
+        return entityVersions.item(id).orElseGet(() -> {
+            Item item = itemRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Item not found with id: " + id));
+            ItemStock level = itemStockRepository.findLevelByItemId(id);
+            if (level == null) {
+                // Balance not materialised yet, reconciling creates the row and its version
+                reconcileStock(id);
+                level = itemStockRepository.findLevelByItemId(id);
+            }
+            return entityVersions.recordItem(id, item.getVersion(), level.getVersion());
+        });
+    }
     
     public Page<ItemDTO> getAllItems(Pageable pageable, boolean includeStock) {
         Page<Item> items = itemRepository.findAll(pageable);
-        return items.map(item -> convertToDTO(item, includeStock));
+        if (!includeStock) {
+            return items.map(item -> convertToDTO(item, false));
+        }
+
+        // Resolve stock for the whole page at once instead of once per row
+        List<Long> itemIds = items.map(Item::getId).getContent();
+        Map<Long, Integer> stocks = getRemainingStock(itemIds);
+        return items.map(item -> {
+            ItemDTO dto = convertToDTO(item, false);
+            dto.setRemainingStock(stocks.getOrDefault(item.getId(), 0));
+            return dto;
+        });
+    }
+
+    public CursorPageDTO<ItemDTO> scrollItems(String after, int limit, Sort sort, boolean includeStock) {
+        Window<Item> items = itemRepository.findAllBy(
+                cursorCodec.decode(after, Item.class, sort), Limit.of(cursorCodec.limit(limit)), sort);
+        Map<Long, Integer> stocks = includeStock
+                ? getRemainingStock(items.getContent().stream().map(Item::getId).toList())
+                : Map.of();
+        return cursorCodec.toPage(items, sort, item -> {
+            ItemDTO dto = convertToDTO(item, false);
+            if (includeStock) {
+                dto.setRemainingStock(stocks.getOrDefault(item.getId(), 0));
+            }
+            return dto;
+        });
+    }
+
+    public List<ItemDTO> searchItems(String query, int limit, boolean fuzzy, boolean includeStock) {
+        List<ItemSearchIndex.Hit> hits = itemSearchIndex.search(query, limit, fuzzy);
+        Map<Long, Integer> stocks = includeStock && !hits.isEmpty()
+                ? getRemainingStock(hits.stream().map(ItemSearchIndex.Hit::itemId).toList())
+                : Map.of();
+        return hits.stream().map(hit -> {
+            ItemDTO dto = new ItemDTO();
+            dto.setId(hit.itemId());
+            dto.setName(hit.name());
+            dto.setPrice(hit.price());
+            if (includeStock) {
+                dto.setRemainingStock(stocks.getOrDefault(hit.itemId(), 0));
+            }
+            return dto;
+        }).toList();
     }
 
     @Transactional
     public ItemDTO createItem(ItemDTO itemDTO) {
         // Check for duplicate name
-        if (itemRepository.findByName(itemDTO.getName()).isPresent()) {
+        if (itemNameIndex.findId(itemDTO.getName()).isPresent()) {
             throw new DuplicateResourceException("Item with name '" + itemDTO.getName() + "' already exists");
         }
         
@@ -41,7 +144,9 @@ public class ItemServiceImpl implements ItemService{
         item.setName(itemDTO.getName());
         item.setPrice(itemDTO.getPrice());
         
-        Item savedItem = itemRepository.save(item);
+        Item savedItem = saveWithUniqueName(item);
+        itemStockRepository.save(new ItemStock(savedItem.getId(), 0, null));
+        eventPublisher.publishEvent(new ItemChangedEvent(savedItem.getId(), null, savedItem.getName(), savedItem.getPrice(), savedItem.getVersion()));
         return convertToDTO(savedItem, false);
     }
 
@@ -51,8 +156,9 @@ public class ItemServiceImpl implements ItemService{
                 .orElseThrow(() -> new ResourceNotFoundException("Item not found with id: " + id));
         
         // Check if name is being changed and if new name already exists
-        if (!item.getName().equals(itemDTO.getName())) {
-            if (itemRepository.findByName(itemDTO.getName()).isPresent()) {
+        String oldName = item.getName();
+        if (!oldName.equals(itemDTO.getName())) {
+            if (itemNameIndex.findId(itemDTO.getName()).isPresent()) {
                 throw new DuplicateResourceException("Item with name '" + itemDTO.getName() + "' already exists");
             }
         }
@@ -60,7 +166,8 @@ public class ItemServiceImpl implements ItemService{
         item.setName(itemDTO.getName());
         item.setPrice(itemDTO.getPrice());
         
-        Item updatedItem = itemRepository.save(item);
+        Item updatedItem = saveWithUniqueName(item);
+        eventPublisher.publishEvent(new ItemChangedEvent(id, oldName, updatedItem.getName(), updatedItem.getPrice(), updatedItem.getVersion()));
         return convertToDTO(updatedItem, false);
     }
 
@@ -68,17 +175,154 @@ public class ItemServiceImpl implements ItemService{
     public void deleteItem(Long id) {
         Item item = itemRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Item not found with id: " + id));
+        itemStockRepository.deleteById(id);
+        itemSalesRepository.deleteById(id);
+        reorderThresholdRepository.deleteById(id);
         itemRepository.delete(item);
+        eventPublisher.publishEvent(new ItemChangedEvent(id, item.getName(), null, null, null));
     }
     
     public Integer getRemainingStock(Long itemId) {
+        // Writes check against the committed balance, the cache is only refreshed after commit
+        boolean inTransaction = TransactionSynchronizationManager.isActualTransactionActive();
+        Optional<Integer> cached = inTransaction ? Optional.empty() : stockCache.get(itemId);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        ItemStock level = itemStockRepository.findLevelByItemId(itemId);
+        if (level == null) {
+            // No balance row yet (e.g. rows inserted behind the API), rebuild it from history
+            return reconcileStock(itemId);
+        }
+        cacheIfCommitted(level);
+        return level.getQuantity();
+    }
+
+    public Map<Long, Integer> getRemainingStock(Collection<Long> itemIds) {
+        // Same as for a single item, writes check against the committed balances
+        Map<Long, Integer> stocks = TransactionSynchronizationManager.isActualTransactionActive()
+                ? new HashMap<>()
+                : stockCache.getAll(itemIds);
+        if (stocks.size() == itemIds.size()) {
+            return stocks;
+        }
+
+        Set<Long> uncached = new HashSet<>(itemIds);
+        uncached.removeAll(stocks.keySet());
+        itemStockRepository.findAllById(uncached).forEach(level -> {
+            stocks.put(level.getItemId(), level.getQuantity());
+            cacheIfCommitted(level);
+        });
+
+        Set<Long> missing = new HashSet<>(uncached);
+        missing.removeAll(stocks.keySet());
+        if (!missing.isEmpty()) {
+            stocks.putAll(reconcileStock(missing));
+        }
+        return stocks;
+    }
+
+    @Transactional
+    public void adjustStock(Long itemId, Integer delta) {
+        if (delta == 0) {
+            return;
+        }
+        Optional<ItemStock> stock = itemStockRepository.findById(itemId);
+        if (stock.isEmpty()) {
+            // Auto flush puts the movement into the aggregates
+            reconcileStock(itemId);
+            return;
+        }
+
+        ItemStock level = stock.get();
+        if (delta < 0 && level.getQuantity() + delta < 0) {
+            // Last line of defence when the balance moved since the caller's stock check
+            throw new InsufficientStockException("Insufficient stock for item id " + itemId
+                    + ". Requested: " + -delta + ", Available: " + level.getQuantity());
+        }
+        level.setQuantity(level.getQuantity() + delta);
+        // Flush here so a concurrent change of the row surfaces as an optimistic locking failure
+        itemStockRepository.saveAndFlush(level);
+        eventPublisher.publishEvent(new StockChangedEvent(itemId, level.getQuantity(), level.getVersion()));
+    }
+
+    @Transactional
+    public Integer reconcileStock(Long itemId) {
         Integer inventoryStock = itemRepository.calculateInventoryStock(itemId);
         Integer orderedStock = itemRepository.calculateOrderedStock(itemId);
         
         if (inventoryStock == null) inventoryStock = 0;
         if (orderedStock == null) orderedStock = 0;
         
-        return inventoryStock - orderedStock;
+        Integer remainingStock = inventoryStock - orderedStock;
+        if (itemStockRepository.overwriteQuantity(itemId, remainingStock) == 0) {
+            itemStockRepository.save(new ItemStock(itemId, remainingStock, null));
+        }
+        publishStockChange(itemId);
+        return remainingStock;
+    }
+
+    private Map<Long, Integer> reconcileStock(Collection<Long> itemIds) {
+        Map<Long, Integer> stocks = new HashMap<>();
+        itemIds.forEach(itemId -> stocks.put(itemId, 0));
+        for (ItemQuantity inventory : itemRepository.calculateInventoryStockByItemIds(itemIds)) {
+            stocks.merge(inventory.getItemId(), inventory.getQuantity().intValue(), Integer::sum);
+        }
+        for (ItemQuantity ordered : itemRepository.calculateOrderedStockByItemIds(itemIds)) {
+            stocks.merge(ordered.getItemId(), -ordered.getQuantity().intValue(), Integer::sum);
+        }
+
+        List<ItemStock> levels = itemStockRepository.saveAll(stocks.entrySet().stream()
+                .map(entry -> new ItemStock(entry.getKey(), entry.getValue(), null))
+                .toList());
+        levels.forEach(level -> eventPublisher.publishEvent(
+                new StockChangedEvent(level.getItemId(), level.getQuantity(), level.getVersion())));
+        return stocks;
+    }
+
+    public List<CacheRegionStatsDTO> getCacheStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return List.of(
+                toStatsDTO(SecondLevelCacheConfigurer.ITEM_REGION,
+                        statistics.getDomainDataRegionStatistics(SecondLevelCacheConfigurer.ITEM_REGION)),
+                toStatsDTO(SecondLevelCacheConfigurer.ITEM_BY_NAME_REGION,
+                        statistics.getQueryRegionStatistics(SecondLevelCacheConfigurer.ITEM_BY_NAME_REGION)));
+    }
+
+    private CacheRegionStatsDTO toStatsDTO(String region, CacheRegionStatistics statistics) {
+        // Query regions only report statistics once a cached query ran
+        if (statistics == null) {
+            return new CacheRegionStatsDTO(region, 0, 0, 0, 0);
+        }
+        long hits = statistics.getHitCount();
+        long misses = statistics.getMissCount();
+        double hitRatio = hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+        return new CacheRegionStatsDTO(region, hits, misses, statistics.getPutCount(), hitRatio);
+    }
+
+    private Item saveWithUniqueName(Item item) {
+        // Flushed here so a name committed concurrently fails on the unique constraint, not at commit
+        try {
+            return itemRepository.saveAndFlush(item);
+        } catch (DataIntegrityViolationException ex) {
+            if (ex.getMessage() != null && ex.getMessage().toLowerCase().contains(Item.NAME_CONSTRAINT)) {
+                throw new DuplicateResourceException("Item with name '" + item.getName() + "' already exists");
+            }
+            throw ex;
+        }
+    }
+
+    private void publishStockChange(Long itemId) {
+        ItemStock level = itemStockRepository.findLevelByItemId(itemId);
+        eventPublisher.publishEvent(new StockChangedEvent(itemId, level.getQuantity(), level.getVersion()));
+    }
+
+    private void cacheIfCommitted(ItemStock level) {
+        // Inside a transaction the row may carry uncommitted changes, the commit event fills the cache
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            stockCache.put(level.getItemId(), level.getQuantity(), level.getVersion());
+        }
     }
     
     private ItemDTO convertToDTO(Item item, boolean includeStock) {
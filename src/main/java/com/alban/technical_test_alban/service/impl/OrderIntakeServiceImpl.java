@@ -0,0 +1,233 @@
+package com.alban.technical_test_alban.service.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.alban.technical_test_alban.component.OptimisticRetryExecutor;
+import com.alban.technical_test_alban.dto.OrderBatchLineDTO;
+import com.alban.technical_test_alban.dto.OrderBatchResultDTO;
+import com.alban.technical_test_alban.dto.OrderDTO;
+import com.alban.technical_test_alban.dto.OrderTicketDTO;
+import com.alban.technical_test_alban.dto.OrderTicketStatus;
+import com.alban.technical_test_alban.exception.InsufficientStockException;
+import com.alban.technical_test_alban.exception.OrderIntakeClosedException;
+import com.alban.technical_test_alban.exception.OrderQueueFullException;
+import com.alban.technical_test_alban.exception.ResourceNotFoundException;
+import com.alban.technical_test_alban.service.OrderIntakeService;
+import com.alban.technical_test_alban.service.OrderService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Accepts orders into a bounded queue and creates them in the background, so that the
+ * submitting client does not wait for the commit.
+ * <p>
+ * Each worker takes the oldest queued order plus whatever else is queued, up to the batch
+ * size, and creates them in one transaction through {@link OrderService#createOrders}. Under
+ * light load batches hold a single order and add no delay, under heavy load one commit
+ * covers many orders. A batch that fails as a whole is retried order by order, so one bad
+ * order only fails its own ticket. Queued tickets are kept until their order is processed, then
+ * for {@code ticket-ttl} so that the outcome can be polled.
+ */
+@Slf4j
+@Service
+public class OrderIntakeServiceImpl implements OrderIntakeService, DisposableBean {
+
+    private static final long POLL_INTERVAL_MS = 200;
+
+    private final OrderService orderService;
+    private final OptimisticRetryExecutor retryExecutor;
+    private final BlockingQueue<Submission> queue;
+    private final Cache<String, Ticket> tickets;
+    private final int workers;
+    private final int batchSize;
+    private final Duration shutdownTimeout;
+
+    private volatile boolean accepting = true;
+    private ExecutorService workerPool;
+
+    public OrderIntakeServiceImpl(OrderService orderService,
+                                  OptimisticRetryExecutor retryExecutor,
+                                  @Value("${app.orders.intake.capacity:10000}") int capacity,
+                                  @Value("${app.orders.intake.workers:2}") int workers,
+                                  @Value("${app.orders.intake.batch-size:100}") int batchSize,
+                                  @Value("${app.orders.intake.ticket-ttl:10m}") Duration ticketTtl,
+                                  @Value("${app.orders.intake.shutdown-timeout:30s}") Duration shutdownTimeout) {
+        this.orderService = orderService;
+        this.retryExecutor = retryExecutor;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.tickets = tickets(ticketTtl);
+        this.workers = Math.max(1, workers);
+        this.batchSize = Math.max(1, batchSize);
+        this.shutdownTimeout = shutdownTimeout;
+    }
+
+    public OrderTicketDTO submitOrder(OrderDTO orderDTO) {
+        if (!accepting) {
+            throw new OrderIntakeClosedException("Order intake is shutting down, please retry later");
+        }
+        Ticket ticket = new Ticket(UUID.randomUUID().toString(), OrderTicketStatus.QUEUED, null, null, Instant.now(), null);
+        tickets.put(ticket.ticketId(), ticket);
+        if (!queue.offer(new Submission(ticket.ticketId(), orderDTO, ticket.submittedAt()))) {
+            tickets.invalidate(ticket.ticketId());
+            throw new OrderQueueFullException("Order queue is full, please retry");
+        }
+        return ticket.toDTO();
+    }
+
+    public OrderTicketDTO getTicket(String ticketId) {
+        Ticket ticket = tickets.getIfPresent(ticketId);
+        if (ticket == null) {
+            throw new ResourceNotFoundException("Order ticket not found with id: " + ticketId);
+        }
+        return ticket.toDTO();
+    }
+
+    /**
+     * Workers start once the in-memory views are loaded, orders submitted before wait in the queue.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (workerPool != null) {
+            return;
+        }
+        workerPool = Executors.newFixedThreadPool(workers, Thread.ofPlatform().name("order-intake-", 0).daemon().factory());
+        for (int i = 0; i < workers; i++) {
+            workerPool.execute(this::work);
+        }
+        log.info("Order intake started with {} workers, {} orders per batch", workers, batchSize);
+    }
+
+    /**
+     * Stops accepting orders and lets the workers finish the queue.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        accepting = false;
+        if (workerPool == null) {
+            return;
+        }
+        workerPool.shutdown();
+        if (!workerPool.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            log.warn("Order intake stopped with {} orders still queued", queue.size());
+            workerPool.shutdownNow();
+        }
+    }
+
+    /**
+     * Creates the orders queued at this moment, up to one batch.
+     *
+     * @return the number of orders taken from the queue
+     */
+    int drain() {
+        List<Submission> batch = new ArrayList<>(batchSize);
+        queue.drainTo(batch, batchSize);
+        if (!batch.isEmpty()) {
+            process(batch);
+        }
+        return batch.size();
+    }
+
+    private void work() {
+        while (accepting || !queue.isEmpty()) {
+            try {
+                Submission first = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<Submission> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                process(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void process(List<Submission> batch) {
+        OrderBatchResultDTO result;
+        try {
+            result = retryExecutor.execute(() -> orderService.createOrders(batch.stream().map(Submission::order).toList()));
+        } catch (RuntimeException ex) {
+            log.warn("Order batch of {} failed, creating its orders one by one: {}", batch.size(), ex.getMessage());
+            batch.forEach(this::processOne);
+            return;
+        }
+        for (OrderBatchLineDTO line : result.getLines()) {
+            Submission submission = batch.get(line.getLine());
+            complete(submission, line.isSuccess() ? OrderTicketStatus.CREATED : OrderTicketStatus.REJECTED,
+                    line.getMessage(), line.getOrder());
+        }
+    }
+
+    private void processOne(Submission submission) {
+        try {
+            OrderDTO order = retryExecutor.execute(() -> orderService.createOrder(submission.order()));
+            complete(submission, OrderTicketStatus.CREATED, "Order created successfully", order);
+        } catch (ResourceNotFoundException | InsufficientStockException ex) {
+            complete(submission, OrderTicketStatus.REJECTED, ex.getMessage(), null);
+        } catch (RuntimeException ex) {
+            log.error("Order of ticket {} failed", submission.ticketId(), ex);
+            complete(submission, OrderTicketStatus.FAILED, "Order could not be created, please submit it again", null);
+        }
+    }
+
+    private void complete(Submission submission, OrderTicketStatus status, String message, OrderDTO order) {
+        tickets.put(submission.ticketId(), new Ticket(submission.ticketId(), status, message, order,
+                submission.submittedAt(), Instant.now()));
+    }
+
+    /**
+     * Tickets that are still queued never expire, the ttl only starts once the order is processed.
+     */
+    private static Cache<String, Ticket> tickets(Duration ticketTtl) {
+        return Caffeine.newBuilder()
+                .expireAfter(new Expiry<String, Ticket>() {
+                    @Override
+                    public long expireAfterCreate(String ticketId, Ticket ticket, long currentTime) {
+                        return ticket.status() == OrderTicketStatus.QUEUED ? Long.MAX_VALUE : ticketTtl.toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String ticketId, Ticket ticket, long currentTime, long currentDuration) {
+                        return expireAfterCreate(ticketId, ticket, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String ticketId, Ticket ticket, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    private record Submission(String ticketId, OrderDTO order, Instant submittedAt) {
+    }
+
+    private record Ticket(String ticketId, OrderTicketStatus status, String message, OrderDTO order,
+                          Instant submittedAt, Instant completedAt) {
+
+        private OrderTicketDTO toDTO() {
+            return new OrderTicketDTO(ticketId, status, message, order, submittedAt, completedAt);
+        }
+    }
+}
@@ -1,13 +1,30 @@
 package com.alban.technical_test_alban.service.impl;
 
+import com.alban.technical_test_alban.component.CursorCodec;
+import com.alban.technical_test_alban.component.EntityTag;
+import com.alban.technical_test_alban.component.EntityVersions;
+import com.alban.technical_test_alban.component.OrderNumberGenerator;
+import com.alban.technical_test_alban.component.StockReservationEngine;
+import com.alban.technical_test_alban.dto.CursorPageDTO;
+import com.alban.technical_test_alban.dto.OrderBatchLineDTO;
+import com.alban.technical_test_alban.dto.OrderBatchResultDTO;
 import com.alban.technical_test_alban.entity.Item;
+import com.alban.technical_test_alban.event.OrderChangedEvent;
 import com.alban.technical_test_alban.exception.InsufficientStockException;
 import com.alban.technical_test_alban.exception.ResourceNotFoundException;
 import com.alban.technical_test_alban.repository.ItemRepository;
 import com.alban.technical_test_alban.service.ItemService;
+import com.alban.technical_test_alban.service.SalesService;
+import com.alban.technical_test_alban.service.TrendService;
 import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 
 import com.alban.technical_test_alban.dto.OrderDTO;
@@ -17,6 +34,17 @@ import com.alban.technical_test_alban.service.OrderService;
 
 import lombok.RequiredArgsConstructor;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
 @Service
 @RequiredArgsConstructor
 public class OrderServiceImpl implements OrderService {
@@ -24,16 +52,34 @@ public class OrderServiceImpl implements OrderService {
     private final OrderRepository orderRepository;
     private final ItemRepository itemRepository;
     private final ItemService itemService;
+    private final SalesService salesService;
+    private final TrendService trendService;
+    private final OrderNumberGenerator orderNumberGenerator;
+    private final StockReservationEngine reservationEngine;
+    private final Validator validator;
+    private final CursorCodec cursorCodec;
+    private final EntityVersions entityVersions;
+    private final ApplicationEventPublisher eventPublisher;
 
     public OrderDTO getOrder(Long orderId) {
-        Order order = orderRepository.findById(orderId)
+        return orderRepository.findDTOById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with order no: " + orderId));
-        return convertToDTO(order);
+    }
+
+    public EntityTag getOrderTag(Long orderId) {
+        return entityVersions.order(orderId).orElseGet(() -> orderRepository.findVersionById(orderId)
+                .map(version -> entityVersions.recordOrder(orderId, version.getItemId(), version.getVersion(), version.getItemVersion()))
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with order no: " + orderId)));
     }
 
     public Page<OrderDTO> getAllOrders(Pageable pageable) {
-        Page<Order> orders = orderRepository.findAll(pageable);
-        return orders.map(this::convertToDTO);
+        return orderRepository.findAllAsDTO(pageable);
+    }
+
+    public CursorPageDTO<OrderDTO> scrollOrders(String after, int limit, Sort sort) {
+        Window<Order> orders = orderRepository.findAllBy(
+                cursorCodec.decode(after, Order.class, sort), Limit.of(cursorCodec.limit(limit)), sort);
+        return cursorCodec.toPage(orders, sort, this::convertToDTO);
     }
 
     @Transactional
@@ -41,7 +87,8 @@ public class OrderServiceImpl implements OrderService {
         Item item = itemRepository.findById(orderDTO.getItemId())
                 .orElseThrow(() -> new ResourceNotFoundException("Item not found with id: " + orderDTO.getItemId()));
 
-        // Check stock availability
+        // Check stock availability, the item stays locked until commit
+        reservationEngine.lock(item.getId());
         Integer remainingStock = itemService.getRemainingStock(item.getId());
         if (remainingStock < orderDTO.getQty()) {
             throw new InsufficientStockException(
@@ -50,21 +97,101 @@ public class OrderServiceImpl implements OrderService {
             );
         }
 
-        String latestOrderNo = orderRepository.getLatestOrderNo();
-        int number = Integer.parseInt(latestOrderNo.substring(1)); // get the number
-        number++;
-
-        String nextOrderNo = "O" + number;
         Order order = new Order();
-        order.setOrderNo(nextOrderNo);
+        order.setOrderNo(orderNumberGenerator.next());
         order.setItem(item);
         order.setQty(orderDTO.getQty());
         order.setPrice(orderDTO.getPrice());
+        order.setCreatedAt(Instant.now());
 
         Order savedOrder = orderRepository.save(order);
+        itemService.adjustStock(item.getId(), -orderDTO.getQty());
+        BigDecimal revenue = revenue(orderDTO.getQty(), orderDTO.getPrice());
+        salesService.adjustSales(item.getId(), orderDTO.getQty(), revenue);
+        trendService.adjustOrderActivity(item.getId(), order.getCreatedAt(), orderDTO.getQty(), revenue);
         return convertToDTO(savedOrder);
     }
 
+    @Transactional
+    public OrderBatchResultDTO createOrders(List<OrderDTO> orderDTOs) {
+        OrderBatchLineDTO[] lines = new OrderBatchLineDTO[orderDTOs.size()];
+        for (int i = 0; i < orderDTOs.size(); i++) {
+            String violations = validate(orderDTOs.get(i));
+            if (violations != null) {
+                lines[i] = new OrderBatchLineDTO(i, false, violations, null);
+            }
+        }
+
+        Set<Long> itemIds = new TreeSet<>();
+        for (int i = 0; i < orderDTOs.size(); i++) {
+            if (lines[i] == null) {
+                itemIds.add(orderDTOs.get(i).getItemId());
+            }
+        }
+        Map<Long, Item> items = new HashMap<>();
+        itemRepository.findAllById(itemIds).forEach(item -> items.put(item.getId(), item));
+
+        // One lock call and one balance read for every distinct item of the batch
+        reservationEngine.lock(items.keySet().toArray(Long[]::new));
+        Map<Long, Integer> available = items.isEmpty()
+                ? new HashMap<>()
+                : new HashMap<>(itemService.getRemainingStock(items.keySet()));
+
+        List<Integer> acceptedLines = new ArrayList<>();
+        for (int i = 0; i < orderDTOs.size(); i++) {
+            if (lines[i] != null) {
+                continue;
+            }
+            OrderDTO orderDTO = orderDTOs.get(i);
+            Item item = items.get(orderDTO.getItemId());
+            if (item == null) {
+                lines[i] = new OrderBatchLineDTO(i, false, "Item not found with id: " + orderDTO.getItemId(), null);
+                continue;
+            }
+            Integer remainingStock = available.getOrDefault(item.getId(), 0);
+            if (remainingStock < orderDTO.getQty()) {
+                lines[i] = new OrderBatchLineDTO(i, false,
+                        "Insufficient stock for item '" + item.getName() + "'. " +
+                                "Requested: " + orderDTO.getQty() + ", Available: " + remainingStock, null);
+                continue;
+            }
+            available.put(item.getId(), remainingStock - orderDTO.getQty());
+            acceptedLines.add(i);
+        }
+
+        List<String> orderNos = acceptedLines.isEmpty() ? List.of() : orderNumberGenerator.next(acceptedLines.size());
+        Instant createdAt = Instant.now();
+        List<Order> orders = new ArrayList<>(acceptedLines.size());
+        Map<Long, Integer> consumed = new HashMap<>();
+        Map<Long, BigDecimal> revenues = new HashMap<>();
+        for (int n = 0; n < acceptedLines.size(); n++) {
+            OrderDTO orderDTO = orderDTOs.get(acceptedLines.get(n));
+            Order order = new Order();
+            order.setOrderNo(orderNos.get(n));
+            order.setItem(items.get(orderDTO.getItemId()));
+            order.setQty(orderDTO.getQty());
+            order.setPrice(orderDTO.getPrice());
+            order.setCreatedAt(createdAt);
+            orders.add(order);
+            consumed.merge(orderDTO.getItemId(), orderDTO.getQty(), Integer::sum);
+            revenues.merge(orderDTO.getItemId(), revenue(orderDTO.getQty(), orderDTO.getPrice()), BigDecimal::add);
+        }
+
+        // Inserts go out in JDBC batches, stock, sales and activity are written once per item
+        List<Order> savedOrders = orderRepository.saveAll(orders);
+        consumed.forEach((itemId, qty) -> {
+            itemService.adjustStock(itemId, -qty);
+            salesService.adjustSales(itemId, qty, revenues.get(itemId));
+            trendService.adjustOrderActivity(itemId, createdAt, qty, revenues.get(itemId));
+        });
+
+        for (int n = 0; n < acceptedLines.size(); n++) {
+            int line = acceptedLines.get(n);
+            lines[line] = new OrderBatchLineDTO(line, true, "Order created successfully", convertToDTO(savedOrders.get(n)));
+        }
+        return new OrderBatchResultDTO(acceptedLines.size(), orderDTOs.size() - acceptedLines.size(), Arrays.asList(lines));
+    }
+
     @Transactional
     public OrderDTO updateOrder(Long orderNo, OrderDTO orderDTO) {
         Order order = orderRepository.findById(orderNo)
@@ -73,6 +200,8 @@ public class OrderServiceImpl implements OrderService {
         Item item = itemRepository.findById(orderDTO.getItemId())
                 .orElseThrow(() -> new ResourceNotFoundException("Item not found with id: " + orderDTO.getItemId()));
 
+        reservationEngine.lock(order.getItem().getId(), item.getId());
+
         // Calculate stock impact of the update
         Integer oldQty = order.getQty();
         Integer newQty = orderDTO.getQty();
@@ -89,11 +218,30 @@ public class OrderServiceImpl implements OrderService {
             }
         }
 
+        Long oldItemId = order.getItem().getId();
+        BigDecimal oldRevenue = revenue(oldQty, order.getPrice());
+        BigDecimal newRevenue = revenue(newQty, orderDTO.getPrice());
+
         order.setItem(item);
         order.setQty(orderDTO.getQty());
         order.setPrice(orderDTO.getPrice());
 
-        Order updatedOrder = orderRepository.save(order);
+        // Flushed so the event carries the bumped version
+        Order updatedOrder = orderRepository.saveAndFlush(order);
+        // The order stays in the activity buckets of its creation time
+        if (oldItemId.equals(item.getId())) {
+            itemService.adjustStock(item.getId(), -additionalQtyNeeded);
+            salesService.adjustSales(item.getId(), additionalQtyNeeded, newRevenue.subtract(oldRevenue));
+            trendService.adjustOrderActivity(item.getId(), order.getCreatedAt(), additionalQtyNeeded, newRevenue.subtract(oldRevenue));
+        } else {
+            itemService.adjustStock(oldItemId, oldQty);
+            itemService.adjustStock(item.getId(), -newQty);
+            salesService.adjustSales(oldItemId, -oldQty, oldRevenue.negate());
+            salesService.adjustSales(item.getId(), newQty, newRevenue);
+            trendService.adjustOrderActivity(oldItemId, order.getCreatedAt(), -oldQty, oldRevenue.negate());
+            trendService.adjustOrderActivity(item.getId(), order.getCreatedAt(), newQty, newRevenue);
+        }
+        eventPublisher.publishEvent(new OrderChangedEvent(orderNo, item.getId(), updatedOrder.getVersion()));
         return convertToDTO(updatedOrder);
     }
 
@@ -102,6 +250,29 @@ public class OrderServiceImpl implements OrderService {
         Order order = orderRepository.findById(orderNo)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with order no: " + orderNo));
         orderRepository.delete(order);
+        itemService.adjustStock(order.getItem().getId(), order.getQty());
+        BigDecimal revenue = revenue(order.getQty(), order.getPrice());
+        salesService.adjustSales(order.getItem().getId(), -order.getQty(), revenue.negate());
+        trendService.adjustOrderActivity(order.getItem().getId(), order.getCreatedAt(), -order.getQty(), revenue.negate());
+        eventPublisher.publishEvent(new OrderChangedEvent(orderNo, order.getItem().getId(), null));
+    }
+
+    private String validate(OrderDTO orderDTO) {
+        if (orderDTO == null) {
+            return "Order line is required";
+        }
+        Set<ConstraintViolation<OrderDTO>> violations = validator.validate(orderDTO);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private static BigDecimal revenue(Integer qty, BigDecimal price) {
+        return price.multiply(BigDecimal.valueOf(qty));
     }
 
     private OrderDTO convertToDTO(Order order) {
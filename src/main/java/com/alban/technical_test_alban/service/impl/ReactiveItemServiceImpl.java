@@ -0,0 +1,83 @@
+package com.alban.technical_test_alban.service.impl;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.alban.technical_test_alban.component.ItemSearchIndex;
+import com.alban.technical_test_alban.component.StockCache;
+import com.alban.technical_test_alban.dto.ItemDTO;
+import com.alban.technical_test_alban.dto.StockUpdateDTO;
+import com.alban.technical_test_alban.exception.ResourceNotFoundException;
+import com.alban.technical_test_alban.service.ItemService;
+import com.alban.technical_test_alban.service.ReactiveItemService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Answers item reads from {@link ItemSearchIndex} and {@link StockCache}, on the calling thread.
+ * <p>
+ * The database is only read for what the views cannot answer (before they are loaded, or the
+ * stock of an item without any movement yet), and those reads run on a bounded elastic
+ * scheduler, so the request thread is never blocked.
+ */
+@Service
+public class ReactiveItemServiceImpl implements ReactiveItemService {
+
+    private final ItemSearchIndex itemSearchIndex;
+    private final StockCache stockCache;
+    private final ItemService itemService;
+    private final Scheduler blockingReads;
+
+    @Autowired
+    public ReactiveItemServiceImpl(ItemSearchIndex itemSearchIndex, StockCache stockCache, ItemService itemService) {
+        this(itemSearchIndex, stockCache, itemService, Schedulers.boundedElastic());
+    }
+
+    ReactiveItemServiceImpl(ItemSearchIndex itemSearchIndex, StockCache stockCache, ItemService itemService,
+                            Scheduler blockingReads) {
+        this.itemSearchIndex = itemSearchIndex;
+        this.stockCache = stockCache;
+        this.itemService = itemService;
+        this.blockingReads = blockingReads;
+    }
+
+    public Mono<ItemDTO> getItem(Long id) {
+        return Mono.defer(() -> {
+            if (!itemSearchIndex.isReady()) {
+                return offload(() -> itemService.getItem(id));
+            }
+            return itemSearchIndex.get(id)
+                    .map(item -> remainingStock(id)
+                            .map(stock -> new ItemDTO(item.itemId(), item.name(), item.price(), stock)))
+                    .orElseGet(() -> Mono.error(new ResourceNotFoundException("Item not found with id: " + id)));
+        });
+    }
+
+    public Flux<ItemDTO> getItems(List<Long> ids) {
+        return Flux.fromIterable(ids)
+                .distinct()
+                .flatMapSequential(id -> getItem(id)
+                        .onErrorResume(ResourceNotFoundException.class, ex -> Mono.empty()));
+    }
+
+    public Mono<StockUpdateDTO> getStock(Long id) {
+        return getItem(id).map(item -> new StockUpdateDTO(item.getId(), item.getRemainingStock()));
+    }
+
+    private Mono<Integer> remainingStock(Long id) {
+        return stockCache.get(id)
+                .map(Mono::just)
+                // The first read caches the balance
+                .orElseGet(() -> offload(() -> itemService.getRemainingStock(id)));
+    }
+
+    private <T> Mono<T> offload(Callable<T> read) {
+        return Mono.fromCallable(read).subscribeOn(blockingReads);
+    }
+}
@@ -0,0 +1,76 @@
+package com.alban.technical_test_alban.service.impl;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import com.alban.technical_test_alban.dto.ItemSalesDTO;
+import com.alban.technical_test_alban.dto.SalesReportDTO;
+import com.alban.technical_test_alban.entity.ItemSales;
+import com.alban.technical_test_alban.event.SalesChangedEvent;
+import com.alban.technical_test_alban.repository.ItemSalesRepository;
+import com.alban.technical_test_alban.service.SalesService;
+
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SalesServiceImpl implements SalesService {
+
+    private final ItemSalesRepository itemSalesRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public SalesReportDTO getSalesReport() {
+        // One row per item, independent of the number of orders
+        List<ItemSalesDTO> items = itemSalesRepository.findAllAsDTO();
+        long totalUnits = 0;
+        BigDecimal totalRevenue = BigDecimal.ZERO;
+        for (ItemSalesDTO item : items) {
+            totalUnits += item.getUnitsSold();
+            totalRevenue = totalRevenue.add(item.getRevenue());
+        }
+        return new SalesReportDTO(totalUnits, totalRevenue, items);
+    }
+
+    @Transactional
+    public void adjustSales(Long itemId, long units, BigDecimal revenue) {
+        if (units == 0 && revenue.signum() == 0) {
+            return;
+        }
+        if (itemSalesRepository.addSales(itemId, units, revenue) == 0) {
+            // No rollup row yet (e.g. orders inserted behind the API), built from the orders,
+            // which already include this change. Listeners may still hold the row a rebuild dropped,
+            // so the new one must be newer than any version handed out so far
+            itemSalesRepository.insertFromOrders(itemId, itemSalesRepository.findMaxVersion() + 1);
+        }
+        publishSalesChange(itemSalesRepository.findTotalsByItemId(itemId));
+    }
+
+    @Transactional
+    public int rebuildSales() {
+        // Rebuilt rows get a newer version than any row they replace, so listeners take them
+        long version = itemSalesRepository.findMaxVersion() + 1;
+        Set<Long> dropped = new HashSet<>(itemSalesRepository.findAllItemIds());
+        itemSalesRepository.deleteAllInBatch();
+        int items = itemSalesRepository.insertAllFromOrders(version);
+        for (ItemSales sales : itemSalesRepository.findAll()) {
+            dropped.remove(sales.getItemId());
+            publishSalesChange(sales);
+        }
+        // Items left without orders have no row anymore, listeners must forget their old totals
+        dropped.forEach(itemId -> eventPublisher.publishEvent(new SalesChangedEvent(itemId, 0L, version)));
+        log.info("Sales rollup rebuilt for {} items", items);
+        return items;
+    }
+
+    private void publishSalesChange(ItemSales sales) {
+        eventPublisher.publishEvent(new SalesChangedEvent(sales.getItemId(), sales.getUnits(), sales.getVersion()));
+    }
+}
@@ -0,0 +1,74 @@
+package com.alban.technical_test_alban.service.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.springframework.stereotype.Service;
+
+import com.alban.technical_test_alban.component.OptimisticRetryExecutor;
+import com.alban.technical_test_alban.component.StockCache;
+import com.alban.technical_test_alban.component.StockReservationEngine;
+import com.alban.technical_test_alban.dto.StockConcurrencyDTO;
+import com.alban.technical_test_alban.dto.StockConsistencyDTO;
+import com.alban.technical_test_alban.dto.StockMismatchDTO;
+import com.alban.technical_test_alban.repository.ItemQuantity;
+import com.alban.technical_test_alban.repository.ItemRepository;
+import com.alban.technical_test_alban.repository.ItemStockRepository;
+import com.alban.technical_test_alban.service.StockService;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class StockServiceImpl implements StockService {
+
+    private final StockCache stockCache;
+    private final ItemRepository itemRepository;
+    private final ItemStockRepository itemStockRepository;
+    private final StockReservationEngine reservationEngine;
+    private final OptimisticRetryExecutor retryExecutor;
+
+    public StockConsistencyDTO checkConsistency() {
+        Map<Long, Integer> calculated = new HashMap<>();
+        for (ItemQuantity inventory : itemRepository.calculateInventoryStockByItem()) {
+            calculated.merge(inventory.getItemId(), inventory.getQuantity().intValue(), Integer::sum);
+        }
+        for (ItemQuantity ordered : itemRepository.calculateOrderedStockByItem()) {
+            calculated.merge(ordered.getItemId(), -ordered.getQuantity().intValue(), Integer::sum);
+        }
+
+        Map<Long, Integer> persisted = new HashMap<>();
+        itemStockRepository.findAll().forEach(stock -> persisted.put(stock.getItemId(), stock.getQuantity()));
+        Map<Long, Integer> cached = stockCache.snapshot();
+
+        Set<Long> itemIds = new TreeSet<>(persisted.keySet());
+        itemIds.addAll(calculated.keySet());
+
+        List<StockMismatchDTO> mismatches = new ArrayList<>();
+        for (Long itemId : itemIds) {
+            // Items without any movement have no aggregate row, their expected stock is 0
+            Integer expected = calculated.getOrDefault(itemId, 0);
+            Integer cachedStock = cached.get(itemId);
+            Integer persistedStock = persisted.get(itemId);
+            boolean cacheDiffers = cachedStock != null && !cachedStock.equals(expected);
+            if (cacheDiffers || !Objects.equals(persistedStock, expected)) {
+                mismatches.add(new StockMismatchDTO(itemId, cachedStock, persistedStock, expected));
+            }
+        }
+        return new StockConsistencyDTO(itemIds.size(), mismatches.isEmpty(), mismatches);
+    }
+
+    public int rebuildCache() {
+        return stockCache.rebuild();
+    }
+
+    public StockConcurrencyDTO getConcurrencyStats() {
+        return new StockConcurrencyDTO(reservationEngine.getMode().name().toLowerCase(),
+                retryExecutor.getConflicts(), retryExecutor.getRetries(), retryExecutor.getExhausted());
+    }
+}
@@ -0,0 +1,102 @@
+package com.alban.technical_test_alban.service.impl;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.stereotype.Service;
+
+import com.alban.technical_test_alban.dto.TrendDTO;
+import com.alban.technical_test_alban.dto.TrendPointDTO;
+import com.alban.technical_test_alban.entity.TimeBucket;
+import com.alban.technical_test_alban.exception.InvalidTrendQueryException;
+import com.alban.technical_test_alban.repository.ItemActivityRepository;
+import com.alban.technical_test_alban.service.TrendService;
+
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TrendServiceImpl implements TrendService {
+
+    // A year of hours, a week of minutes; wider ranges need a wider bucket
+    public static final long MAX_BUCKETS = 10_000;
+
+    private final ItemActivityRepository itemActivityRepository;
+
+    public TrendDTO getTrend(Long itemId, TimeBucket bucket, Instant from, Instant to) {
+        Instant end = to != null ? to : Instant.now();
+        Instant start = bucket.start(from != null ? from : end.truncatedTo(ChronoUnit.DAYS));
+        if (!start.isBefore(end)) {
+            throw new InvalidTrendQueryException("'from' must be before 'to'");
+        }
+        if (bucket.width().multipliedBy(MAX_BUCKETS).compareTo(Duration.between(start, end)) < 0) {
+            throw new InvalidTrendQueryException("Range spans more than " + MAX_BUCKETS + " "
+                    + bucket.name().toLowerCase(Locale.ROOT) + " buckets, use a wider bucket");
+        }
+
+        // One row per bucket for an item, one per active item and bucket for the catalogue
+        List<TrendPointDTO> points = itemId != null
+                ? itemActivityRepository.findItemTrend(itemId, bucket, start, end)
+                : itemActivityRepository.findTrend(bucket, start, end);
+        long unitsOrdered = 0;
+        BigDecimal revenue = BigDecimal.ZERO;
+        long unitsToppedUp = 0;
+        long unitsWithdrawn = 0;
+        for (TrendPointDTO point : points) {
+            unitsOrdered += point.getUnitsOrdered();
+            revenue = revenue.add(point.getRevenue());
+            unitsToppedUp += point.getUnitsToppedUp();
+            unitsWithdrawn += point.getUnitsWithdrawn();
+        }
+        return new TrendDTO(itemId, bucket, start, end, unitsOrdered, revenue, unitsToppedUp, unitsWithdrawn, points);
+    }
+
+    @Transactional
+    public void adjustOrderActivity(Long itemId, Instant createdAt, long units, BigDecimal revenue) {
+        if (units == 0 && revenue.signum() == 0) {
+            return;
+        }
+        adjust(itemId, createdAt, units, revenue, 0, 0);
+    }
+
+    @Transactional
+    public void adjustInventoryActivity(Long itemId, Instant createdAt, String type, long qty) {
+        if (qty == 0) {
+            return;
+        }
+        if ("T".equals(type)) {
+            adjust(itemId, createdAt, 0, BigDecimal.ZERO, qty, 0);
+        } else {
+            adjust(itemId, createdAt, 0, BigDecimal.ZERO, 0, qty);
+        }
+    }
+
+    @Transactional
+    public int rebuildActivity() {
+        itemActivityRepository.deleteAllInBatch();
+        int buckets = itemActivityRepository.insertAllFromMovements();
+        log.info("Activity rollup rebuilt with {} buckets", buckets);
+        return buckets;
+    }
+
+    private void adjust(Long itemId, Instant createdAt, long unitsOrdered, BigDecimal revenue,
+                        long unitsToppedUp, long unitsWithdrawn) {
+        for (TimeBucket bucket : TimeBucket.values()) {
+            Instant bucketStart = bucket.start(createdAt);
+            if (itemActivityRepository.addActivity(itemId, bucket, bucketStart,
+                    unitsOrdered, revenue, unitsToppedUp, unitsWithdrawn) == 0) {
+                // First movement of the item in this bucket. Callers write the stock balance of the
+                // item first, whose row lock keeps a concurrent writer from inserting the same bucket
+                itemActivityRepository.insertActivity(itemId, bucket.name(), bucketStart,
+                        unitsOrdered, revenue, unitsToppedUp, unitsWithdrawn);
+            }
+        }
+    }
+}
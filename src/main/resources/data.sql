@@ -1,31 +1,67 @@
-INSERT INTO items (name, price) VALUES
-                                    ('Pen', 5),
-                                    ('Book', 10),
-                                    ('Bag', 30),
-                                    ('Pencil', 3),
-                                    ('Shoe', 45),
-                                    ('Box', 5),
-                                    ('Cap', 25);
+INSERT INTO items (id, name, price) VALUES
+                                        (1, 'Pen', 5),
+                                        (2, 'Book', 10),
+                                        (3, 'Bag', 30),
+                                        (4, 'Pencil', 3),
+                                        (5, 'Shoe', 45),
+                                        (6, 'Box', 5),
+                                        (7, 'Cap', 25);
 
-INSERT INTO orders (order_no, item_id, qty, price) VALUES
-                                                       ('O1', 1, 2, 5),
-                                                       ('O2', 2, 3, 10),
-                                                       ('O3', 5, 4, 45),
-                                                       ('O4', 4, 1, 2),
-                                                       ('O5', 5, 2, 45),
-                                                       ('O6', 6, 3, 5),
-                                                       ('O7', 1, 5, 5),
-                                                       ('O8', 2, 4, 10),
-                                                       ('O9', 3, 2, 30),
-                                                       ('O10', 4, 3, 3);
+INSERT INTO orders (id, order_no, item_id, qty, price) VALUES
+                                                           (1, 'O1', 1, 2, 5),
+                                                           (2, 'O2', 2, 3, 10),
+                                                           (3, 'O3', 5, 4, 45),
+                                                           (4, 'O4', 4, 1, 2),
+                                                           (5, 'O5', 5, 2, 45),
+                                                           (6, 'O6', 6, 3, 5),
+                                                           (7, 'O7', 1, 5, 5),
+                                                           (8, 'O8', 2, 4, 10),
+                                                           (9, 'O9', 3, 2, 30),
+                                                           (10, 'O10', 4, 3, 3);
 
-INSERT INTO inventory (item_id, qty, type) VALUES
-                                               (1, 5, 'T'),
-                                               (2, 10, 'T'),
-                                               (3, 30, 'T'),
-                                               (4, 3, 'T'),
-                                               (5, 45, 'T'),
-                                               (6, 5, 'T'),
-                                               (7, 25, 'T'),
-                                               (4, 7, 'T'),
-                                               (5, 10, 'W');
+-- Sales rollup of the seeded orders, kept up to date by order writes afterwards
+INSERT INTO item_sales (item_id, units, revenue, version)
+SELECT item_id, SUM(qty), SUM(qty * price), 0 FROM orders GROUP BY item_id;
+
+-- Order numbers are handed out in blocks of 50 (see OrderNumberGenerator), continuing after the seeded orders
+CREATE SEQUENCE IF NOT EXISTS order_no_seq
+    START WITH (SELECT COALESCE(MAX(CAST(SUBSTRING(order_no, 2) AS INT)), 0) + 1 FROM orders)
+    INCREMENT BY 50;
+
+INSERT INTO inventory (id, item_id, qty, type) VALUES
+                                                   (1, 1, 5, 'T'),
+                                                   (2, 2, 10, 'T'),
+                                                   (3, 3, 30, 'T'),
+                                                   (4, 4, 3, 'T'),
+                                                   (5, 5, 45, 'T'),
+                                                   (6, 6, 5, 'T'),
+                                                   (7, 7, 25, 'T'),
+                                                   (8, 4, 7, 'T'),
+                                                   (9, 5, 10, 'W');
+
+-- Activity rollup of the seeded movements in UTC minute, hour and day buckets, kept up to date by
+-- order and inventory writes afterwards (same statement as ItemActivityRepository.insertAllFromMovements)
+INSERT INTO item_activity (item_id, granularity, bucket_start, units_ordered, revenue, units_topped_up, units_withdrawn)
+SELECT m.item_id, g.granularity,
+       CASE g.granularity WHEN 'MINUTE' THEN DATE_TRUNC('MINUTE', m.created_at AT TIME ZONE 'UTC')
+                          WHEN 'HOUR' THEN DATE_TRUNC('HOUR', m.created_at AT TIME ZONE 'UTC')
+                          ELSE DATE_TRUNC('DAY', m.created_at AT TIME ZONE 'UTC') END AS bucket_start,
+       SUM(m.units_ordered), SUM(m.revenue), SUM(m.units_topped_up), SUM(m.units_withdrawn)
+FROM (SELECT item_id, created_at, qty AS units_ordered, qty * price AS revenue, 0 AS units_topped_up, 0 AS units_withdrawn FROM orders
+      UNION ALL
+      SELECT item_id, created_at, 0, 0, CASE WHEN type = 'T' THEN qty ELSE 0 END, CASE WHEN type = 'W' THEN qty ELSE 0 END FROM inventory) m
+CROSS JOIN (VALUES ('MINUTE'), ('HOUR'), ('DAY')) AS g(granularity)
+GROUP BY m.item_id, g.granularity, bucket_start;
+
+-- Ids come from pooled-lo sequences (see PooledSequenceGenerator), continue after the seeded rows
+ALTER SEQUENCE items_seq RESTART WITH (SELECT MAX(id) + 1 FROM items);
+ALTER SEQUENCE orders_seq RESTART WITH (SELECT MAX(id) + 1 FROM orders);
+ALTER SEQUENCE inventory_seq RESTART WITH (SELECT MAX(id) + 1 FROM inventory);
+
+-- Running stock balance per item, derived from the seeded movements above
+INSERT INTO item_stock (item_id, version, quantity)
+SELECT i.id,
+       0,
+       COALESCE((SELECT SUM(CASE WHEN v.type = 'T' THEN v.qty ELSE -v.qty END) FROM inventory v WHERE v.item_id = i.id), 0)
+     - COALESCE((SELECT SUM(o.qty) FROM orders o WHERE o.item_id = i.id), 0)
+FROM items i;
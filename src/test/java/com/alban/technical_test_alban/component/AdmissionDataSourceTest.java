@@ -0,0 +1,77 @@
+package com.alban.technical_test_alban.component;
+
+import com.alban.technical_test_alban.exception.ConnectionAdmissionException;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AdmissionDataSourceTest {
+
+    private final DataSource target = mock(DataSource.class);
+
+    @Test
+    void getConnection_WhenPermitsAreTaken_ShouldQueueUntilAConnectionIsClosed() throws Exception {
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        AdmissionDataSource dataSource = new AdmissionDataSource(target, 1, 10, Duration.ofSeconds(1));
+        Connection first = dataSource.getConnection();
+
+        CompletableFuture<Connection> second;
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            second = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return dataSource.getConnection();
+                } catch (SQLException ex) {
+                    throw new IllegalStateException(ex);
+                }
+            }, executor);
+            while (dataSource.waiting() == 0) {
+                Thread.onSpinWait();
+            }
+            assertFalse(second.isDone());
+
+            first.close();
+            // A second close must not hand out a permit that is not there
+            first.close();
+            assertNotNull(second.get(10, TimeUnit.SECONDS));
+        }
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        verify(target, times(2)).getConnection();
+    }
+
+    @Test
+    void getConnection_WhenQueueIsFull_ShouldRejectWithoutWaiting() throws Exception {
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        AdmissionDataSource dataSource = new AdmissionDataSource(target, 1, 0, Duration.ofHours(1));
+        dataSource.getConnection();
+
+        ConnectionAdmissionException rejected = assertThrows(ConnectionAdmissionException.class, dataSource::getConnection);
+
+        assertEquals("08004", rejected.getSQLState());
+        assertEquals(1, dataSource.rejected());
+    }
+
+    @Test
+    void getConnection_WhenTargetFails_ShouldGiveThePermitBack() throws Exception {
+        Connection connection = mock(Connection.class);
+        when(target.getConnection()).thenThrow(new SQLException("down")).thenReturn(connection);
+        AdmissionDataSource dataSource = new AdmissionDataSource(target, 1, 0, Duration.ZERO);
+
+        assertThrows(SQLException.class, dataSource::getConnection);
+        Connection admitted = dataSource.getConnection();
+        admitted.createStatement();
+
+        verify(connection).createStatement();
+        assertEquals(0, dataSource.rejected());
+    }
+}
@@ -0,0 +1,100 @@
+package com.alban.technical_test_alban.component;
+
+import com.alban.technical_test_alban.dto.CursorPageDTO;
+import com.alban.technical_test_alban.entity.Order;
+import com.alban.technical_test_alban.exception.InvalidCursorException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorCodecTest {
+
+    private final CursorCodec cursorCodec = new CursorCodec(new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+
+    private final Sort sort = Sort.by(Sort.Direction.DESC, "price");
+
+    @Test
+    void decode_WithoutToken_ShouldStartAtTheBeginning() {
+        KeysetScrollPosition position = cursorCodec.decode(null, Order.class, sort);
+
+        assertTrue(position.isInitial());
+    }
+
+    @Test
+    void toPage_ThenDecode_ShouldRestoreTypedKeys() {
+        Window<String> window = Window.from(List.of("a", "b"),
+                index -> ScrollPosition.forward(Map.of("price", new BigDecimal("12.50"), "id", 42L)), true);
+
+        CursorPageDTO<String> page = cursorCodec.toPage(window, sort, String::toUpperCase);
+        KeysetScrollPosition position = cursorCodec.decode(page.getNext(), Order.class, sort);
+
+        assertEquals(List.of("A", "B"), page.getContent());
+        assertTrue(page.isHasNext());
+        assertEquals(Map.of("price", new BigDecimal("12.5"), "id", 42L), position.getKeys());
+    }
+
+    @Test
+    void toPage_ThenDecode_ShouldRestoreInstantKeys() {
+        Sort byCreatedAt = Sort.by(Sort.Direction.DESC, "createdAt");
+        Instant createdAt = Instant.parse("2024-03-01T10:15:30.123456789Z");
+        Window<String> window = Window.from(List.of("a"),
+                index -> ScrollPosition.forward(Map.of("createdAt", createdAt, "id", 42L)), true);
+
+        String token = cursorCodec.toPage(window, byCreatedAt, s -> s).getNext();
+        KeysetScrollPosition position = cursorCodec.decode(token, Order.class, byCreatedAt);
+
+        assertEquals(Map.of("createdAt", createdAt, "id", 42L), position.getKeys());
+    }
+
+    @Test
+    void decode_WithKeyOfTheWrongType_ShouldThrowInvalidCursorException() {
+        Sort byCreatedAt = Sort.by(Sort.Direction.DESC, "createdAt");
+        Window<String> window = Window.from(List.of("a"),
+                index -> ScrollPosition.forward(Map.of("createdAt", "yesterday", "id", 42L)), true);
+        String token = cursorCodec.toPage(window, byCreatedAt, s -> s).getNext();
+
+        assertThrows(InvalidCursorException.class, () -> cursorCodec.decode(token, Order.class, byCreatedAt));
+    }
+
+    @Test
+    void toPage_OnLastPage_ShouldNotReturnNextToken() {
+        Window<String> window = Window.from(List.of("a"), index -> ScrollPosition.forward(Map.of("id", 1L)), false);
+
+        CursorPageDTO<String> page = cursorCodec.toPage(window, sort, s -> s);
+
+        assertNull(page.getNext());
+        assertFalse(page.isHasNext());
+    }
+
+    @Test
+    void decode_WithTokenOfAnotherSort_ShouldThrowInvalidCursorException() {
+        Window<String> window = Window.from(List.of("a"), index -> ScrollPosition.forward(Map.of("id", 1L)), true);
+        String token = cursorCodec.toPage(window, Sort.by("id"), s -> s).getNext();
+
+        assertThrows(InvalidCursorException.class, () -> cursorCodec.decode(token, Order.class, sort));
+    }
+
+    @Test
+    void decode_WithGarbage_ShouldThrowInvalidCursorException() {
+        assertThrows(InvalidCursorException.class, () -> cursorCodec.decode("not-a-cursor", Order.class, sort));
+    }
+
+    @Test
+    void limit_ShouldBeClampedToSupportedRange() {
+        assertEquals(1, cursorCodec.limit(0));
+        assertEquals(25, cursorCodec.limit(25));
+        assertEquals(CursorCodec.MAX_LIMIT, cursorCodec.limit(10_000));
+    }
+}
@@ -0,0 +1,150 @@
+package com.alban.technical_test_alban.component;
+
+import com.alban.technical_test_alban.event.InventoryChangedEvent;
+import com.alban.technical_test_alban.event.ItemChangedEvent;
+import com.alban.technical_test_alban.event.OrderChangedEvent;
+import com.alban.technical_test_alban.event.StockChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EntityVersionsTest {
+
+    private static final Instant NOW = Instant.parse("2023-11-14T22:13:20Z");
+
+    private final Clock clock = mock(Clock.class);
+    private final EntityVersions entityVersions = new EntityVersions(clock, 2, Duration.ofHours(1), Duration.ofMinutes(1));
+
+    @Test
+    void item_ShouldBeKnownOnceItemAndStockVersionsAreRecorded() {
+        when(clock.instant()).thenReturn(NOW);
+        assertEquals(Optional.empty(), entityVersions.item(1L));
+
+        EntityTag recorded = entityVersions.recordItem(1L, 2L, 5L);
+
+        assertEquals(new EntityTag("2-5", -1), recorded);
+        when(clock.instant()).thenReturn(NOW.plusMillis(1000));
+        assertEquals(Optional.of(new EntityTag("2-5", NOW.toEpochMilli())), entityVersions.item(1L));
+    }
+
+    @Test
+    void item_ShouldFollowCommittedItemAndStockChanges() {
+        when(clock.instant()).thenReturn(NOW);
+        entityVersions.recordItem(1L, 2L, 5L);
+
+        when(clock.instant()).thenReturn(NOW.plusSeconds(10));
+        entityVersions.onStockChanged(new StockChangedEvent(1L, 40, 6L));
+        when(clock.instant()).thenReturn(NOW.plusSeconds(20));
+        EntityTag afterStock = entityVersions.item(1L).orElseThrow();
+        entityVersions.onItemChanged(new ItemChangedEvent(1L, "Pen", "Ink Pen", BigDecimal.ONE, 3L));
+        EntityTag afterRename = entityVersions.item(1L).orElseThrow();
+
+        assertEquals(new EntityTag("2-6", NOW.plusSeconds(10).toEpochMilli()), afterStock);
+        // No date while versions can still change within the same second
+        assertEquals(new EntityTag("3-6", -1), afterRename);
+    }
+
+    @Test
+    void recordItem_WhenReadLostRaceWithWrite_ShouldNotBringOlderVersionBack() {
+        when(clock.instant()).thenReturn(NOW);
+        entityVersions.recordItem(1L, 2L, 5L);
+        entityVersions.onStockChanged(new StockChangedEvent(1L, 40, 6L));
+
+        EntityTag stale = entityVersions.recordItem(1L, 2L, 5L);
+
+        assertEquals("2-5", stale.etag());
+        assertEquals(-1, stale.lastModified());
+        assertEquals("2-6", entityVersions.item(1L).orElseThrow().etag());
+    }
+
+    @Test
+    void item_AfterDelete_ShouldStayUnknown() {
+        when(clock.instant()).thenReturn(NOW);
+        entityVersions.recordItem(1L, 2L, 5L);
+
+        entityVersions.onItemChanged(new ItemChangedEvent(1L, "Pen", null, null, null));
+        entityVersions.recordItem(1L, 2L, 5L);
+
+        assertEquals(Optional.empty(), entityVersions.item(1L));
+    }
+
+    @Test
+    void order_ShouldChangeWithOrderAndItsItem() {
+        when(clock.instant()).thenReturn(NOW);
+        EntityTag read = entityVersions.recordOrder(7L, 1L, 0L, 2L);
+        assertEquals("0-2", read.etag());
+
+        entityVersions.onItemChanged(new ItemChangedEvent(1L, "Pen", "Ink Pen", BigDecimal.ONE, 3L));
+        assertEquals("0-3", entityVersions.order(7L).orElseThrow().etag());
+
+        // Moved to an item whose version is not known yet
+        entityVersions.onOrderChanged(new OrderChangedEvent(7L, 9L, 1L));
+        assertEquals(Optional.empty(), entityVersions.order(7L));
+
+        entityVersions.onOrderChanged(new OrderChangedEvent(7L, 9L, null));
+        entityVersions.recordOrder(7L, 9L, 1L, 0L);
+        assertEquals(Optional.empty(), entityVersions.order(7L));
+    }
+
+    @Test
+    void inventory_ShouldChangeWithInventoryAndItsItem() {
+        when(clock.instant()).thenReturn(NOW);
+        entityVersions.recordInventory(4L, 1L, 0L, 2L);
+
+        entityVersions.onInventoryChanged(new InventoryChangedEvent(4L, 1L, 1L));
+
+        assertEquals("1-2", entityVersions.inventory(4L).orElseThrow().etag());
+    }
+
+    @Test
+    void item_WhenUnusedForTtl_ShouldBeDropped() {
+        when(clock.instant()).thenReturn(NOW);
+        entityVersions.recordItem(1L, 2L, 5L);
+
+        when(clock.instant()).thenReturn(NOW.plus(Duration.ofMinutes(59)));
+        assertTrue(entityVersions.item(1L).isPresent());
+        when(clock.instant()).thenReturn(NOW.plus(Duration.ofMinutes(118)));
+        assertTrue(entityVersions.item(1L).isPresent());
+        when(clock.instant()).thenReturn(NOW.plus(Duration.ofMinutes(180)));
+        assertEquals(Optional.empty(), entityVersions.item(1L));
+    }
+
+    @Test
+    void tombstone_ShouldBeDroppedAfterGracePeriod() {
+        when(clock.instant()).thenReturn(NOW);
+        entityVersions.recordOrder(7L, 1L, 0L, 2L);
+        entityVersions.onOrderChanged(new OrderChangedEvent(7L, 1L, null));
+
+        // Reads racing with the delete are still turned away, without extending the grace period
+        when(clock.instant()).thenReturn(NOW.plusSeconds(30));
+        entityVersions.recordOrder(7L, 1L, 0L, 2L);
+        assertEquals(Optional.empty(), entityVersions.order(7L));
+
+        when(clock.instant()).thenReturn(NOW.plusSeconds(61));
+        EntityTag reread = entityVersions.recordOrder(7L, 1L, 0L, 2L);
+        assertEquals("0-2", reread.etag());
+        assertEquals("0-2", entityVersions.order(7L).orElseThrow().etag());
+    }
+
+    @Test
+    void orders_BeyondMaxSize_ShouldBeEvicted() {
+        when(clock.instant()).thenReturn(NOW);
+        for (long orderId = 1; orderId <= 100; orderId++) {
+            entityVersions.recordOrder(orderId, 1L, 0L, 2L);
+        }
+
+        long known = LongStream.rangeClosed(1, 100)
+                .filter(orderId -> entityVersions.order(orderId).isPresent())
+                .count();
+        assertTrue(known <= 2, "known orders: " + known);
+    }
+}
@@ -0,0 +1,124 @@
+package com.alban.technical_test_alban.component;
+
+import com.alban.technical_test_alban.entity.Item;
+import com.alban.technical_test_alban.event.ItemChangedEvent;
+import com.alban.technical_test_alban.repository.ItemSnapshot;
+import com.alban.technical_test_alban.repository.ItemRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemNameIndexTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @InjectMocks
+    private ItemNameIndex itemNameIndex;
+
+    @Test
+    void findId_BeforeHydration_ShouldQueryTheDatabase() {
+        Item item = new Item();
+        item.setId(3L);
+        when(itemRepository.findByName("Bag")).thenReturn(Optional.of(item));
+
+        assertEquals(Optional.of(3L), itemNameIndex.findId("Bag"));
+    }
+
+    @Test
+    void findId_AfterHydration_ShouldNotQueryTheDatabase() {
+        when(itemRepository.findAllSnapshots()).thenReturn(List.of(name(1L, "Pen", 0L), name(2L, "Book", 0L)));
+        itemNameIndex.hydrate();
+
+        assertEquals(Optional.of(2L), itemNameIndex.findId("Book"));
+        assertEquals(Optional.empty(), itemNameIndex.findId("Lamp"));
+        verify(itemRepository, never()).findByName(anyString());
+    }
+
+    @Test
+    void onItemChanged_ShouldFollowCreateRenameAndDelete() {
+        when(itemRepository.findAllSnapshots()).thenReturn(List.of());
+        itemNameIndex.hydrate();
+
+        itemNameIndex.onItemChanged(new ItemChangedEvent(5L, null, "Lamp", BigDecimal.ONE, 0L));
+        assertEquals(Optional.of(5L), itemNameIndex.findId("Lamp"));
+
+        itemNameIndex.onItemChanged(new ItemChangedEvent(5L, "Lamp", "Desk Lamp", BigDecimal.ONE, 1L));
+        assertEquals(Optional.empty(), itemNameIndex.findId("Lamp"));
+        assertEquals(Optional.of(5L), itemNameIndex.findId("Desk Lamp"));
+
+        itemNameIndex.onItemChanged(new ItemChangedEvent(5L, "Desk Lamp", null, null, null));
+        assertEquals(0, itemNameIndex.size());
+    }
+
+    @Test
+    void onItemChanged_ShouldNotDropNameTakenOverByAnotherItem() {
+        when(itemRepository.findAllSnapshots()).thenReturn(List.of());
+        itemNameIndex.hydrate();
+        itemNameIndex.onItemChanged(new ItemChangedEvent(6L, null, "Lamp", BigDecimal.ONE, 0L));
+
+        itemNameIndex.onItemChanged(new ItemChangedEvent(5L, "Lamp", null, null, null));
+
+        assertEquals(Optional.of(6L), itemNameIndex.findId("Lamp"));
+    }
+
+    @Test
+    void hydrate_ShouldNotBringBackNamesLeftWhileLoading() {
+        // Renamed and deleted after the snapshot was read, before it was applied
+        itemNameIndex.onItemChanged(new ItemChangedEvent(1L, "Pen", "Ink Pen", BigDecimal.ONE, 1L));
+        itemNameIndex.onItemChanged(new ItemChangedEvent(2L, "Book", null, null, null));
+        when(itemRepository.findAllSnapshots()).thenReturn(List.of(name(1L, "Pen", 0L), name(2L, "Book", 0L)));
+
+        itemNameIndex.hydrate();
+
+        assertEquals(Optional.empty(), itemNameIndex.findId("Pen"));
+        assertEquals(Optional.empty(), itemNameIndex.findId("Book"));
+        assertEquals(Optional.of(1L), itemNameIndex.findId("Ink Pen"));
+    }
+
+    @Test
+    void onItemChanged_ShouldIgnoreEventsOlderThanTheIndexedName() {
+        when(itemRepository.findAllSnapshots()).thenReturn(List.of());
+        itemNameIndex.hydrate();
+
+        itemNameIndex.onItemChanged(new ItemChangedEvent(5L, "Lamp", "Desk Lamp", BigDecimal.ONE, 1L));
+        itemNameIndex.onItemChanged(new ItemChangedEvent(5L, null, "Lamp", BigDecimal.ONE, 0L));
+
+        assertEquals(Optional.empty(), itemNameIndex.findId("Lamp"));
+        assertEquals(Optional.of(5L), itemNameIndex.findId("Desk Lamp"));
+    }
+
+    private ItemSnapshot name(Long itemId, String name, Long version) {
+        return new ItemSnapshot() {
+            @Override
+            public Long getVersion() {
+                return version;
+            }
+
+            @Override
+            public Long getItemId() {
+                return itemId;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public BigDecimal getPrice() {
+                return BigDecimal.ONE;
+            }
+        };
+    }
+}
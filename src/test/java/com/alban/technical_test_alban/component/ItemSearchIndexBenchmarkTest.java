@@ -0,0 +1,82 @@
+package com.alban.technical_test_alban.component;
+
+import com.alban.technical_test_alban.event.ItemChangedEvent;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Indexes a million synthetic item names and prints search latency percentiles for
+ * a noun with a code prefix, the same with a misspelled noun, and a bare three letter
+ * prefix shared by tens of thousands of names.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class ItemSearchIndexBenchmarkTest {
+
+    private static final int ITEMS = 1_000_000;
+    private static final int QUERIES = 10_000;
+
+    private static final String[] ADJECTIVES = {"blue", "red", "green", "large", "small", "steel", "wooden",
+            "plastic", "premium", "compact", "heavy", "light", "round", "square", "classic", "modern"};
+    private static final String[] NOUNS = {"pen", "pencil", "notebook", "chair", "desk", "lamp", "shelf",
+            "bottle", "cable", "charger", "mug", "stapler", "folder", "marker", "backpack", "monitor"};
+
+    @Test
+    void searchMillionItems() {
+        ItemSearchIndex index = new ItemSearchIndex(null);
+        Random random = new Random(42);
+        long started = System.nanoTime();
+        for (long id = 1; id <= ITEMS; id++) {
+            index.onItemChanged(new ItemChangedEvent(id, null, name(random, id), BigDecimal.ONE, 0L));
+        }
+        System.out.printf("indexed %d items in %.2fs%n", ITEMS, (System.nanoTime() - started) / 1_000_000_000.0);
+        assertEquals(ITEMS, index.size());
+
+        measure(index, "prefix", random, Query.PREFIX);
+        measure(index, "fuzzy", random, Query.TYPO);
+        measure(index, "broad", random, Query.BROAD);
+    }
+
+    private enum Query {
+        PREFIX, TYPO, BROAD
+    }
+
+    private void measure(ItemSearchIndex index, String label, Random random, Query kind) {
+        long[] latencies = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            String query = query(random, kind);
+            long started = System.nanoTime();
+            index.search(query, 10, true);
+            latencies[i] = System.nanoTime() - started;
+        }
+        Arrays.sort(latencies);
+        System.out.printf("%-6s p50 %6.3f ms  p99 %6.3f ms  max %6.3f ms%n", label,
+                latencies[QUERIES / 2] / 1_000_000.0,
+                latencies[QUERIES * 99 / 100] / 1_000_000.0,
+                latencies[QUERIES - 1] / 1_000_000.0);
+    }
+
+    private String name(Random random, long id) {
+        return ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " "
+                + NOUNS[random.nextInt(NOUNS.length)] + " " + Long.toString(id, 36);
+    }
+
+    private String query(Random random, Query kind) {
+        String noun = NOUNS[random.nextInt(NOUNS.length)];
+        if (kind == Query.BROAD) {
+            return noun.substring(0, 3);
+        }
+        String sku = Long.toString(1 + random.nextInt(ITEMS), 36);
+        if (kind == Query.TYPO) {
+            int at = 1 + random.nextInt(noun.length() - 2);
+            noun = noun.substring(0, at) + noun.substring(at + 1);
+        }
+        return noun + " " + sku.substring(0, Math.min(3, sku.length()));
+    }
+}
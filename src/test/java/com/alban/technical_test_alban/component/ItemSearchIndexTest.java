@@ -0,0 +1,176 @@
+package com.alban.technical_test_alban.component;
+
+import com.alban.technical_test_alban.event.ItemChangedEvent;
+import com.alban.technical_test_alban.repository.ItemRepository;
+import com.alban.technical_test_alban.repository.ItemSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSearchIndexTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @InjectMocks
+    private ItemSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(itemRepository.findAllSnapshots()).thenReturn(List.of(
+                summary(1L, "Pen"),
+                summary(2L, "Pencil"),
+                summary(3L, "Blue Pen Refill"),
+                summary(4L, "Notebook"),
+                summary(5L, "Open Shelf")));
+        searchIndex.hydrate();
+    }
+
+    @Test
+    void search_ShouldRankExactThenPrefixThenWordPrefixThenSubstring() {
+        List<Long> ids = ids(searchIndex.search("pen", 10, false));
+
+        assertEquals(List.of(1L, 2L, 3L, 5L), ids);
+    }
+
+    @Test
+    void search_WithSingleCharacter_ShouldMatchWordPrefixes() {
+        List<Long> ids = ids(searchIndex.search("n", 10, false));
+
+        assertEquals(List.of(4L), ids);
+    }
+
+    @Test
+    void search_WithSeveralWords_ShouldRequireEveryWordAsPrefix() {
+        List<Long> ids = ids(searchIndex.search("blue ref", 10, false));
+
+        assertEquals(List.of(3L), ids);
+    }
+
+    @Test
+    void search_WithTypo_ShouldOnlyMatchWhenFuzzy() {
+        assertEquals(List.of(), ids(searchIndex.search("notbook", 10, false)));
+        assertEquals(List.of(4L), ids(searchIndex.search("notbook", 10, true)));
+    }
+
+    @Test
+    void search_ShouldIgnoreCaseAndPunctuation() {
+        List<Long> ids = ids(searchIndex.search("  BLUE-pen ", 10, false));
+
+        assertEquals(List.of(3L), ids);
+    }
+
+    @Test
+    void search_ShouldHonourLimit() {
+        assertEquals(List.of(1L, 2L), ids(searchIndex.search("pen", 2, false)));
+        assertEquals(List.of(), searchIndex.search(" ", 10, true));
+    }
+
+    @Test
+    void onItemChanged_ShouldIndexCreatesRenamesPriceChangesAndDeletes() {
+        searchIndex.onItemChanged(new ItemChangedEvent(6L, null, "Fountain Pen", new BigDecimal("40"), 0L));
+        assertTrue(ids(searchIndex.search("fount", 10, false)).contains(6L));
+
+        searchIndex.onItemChanged(new ItemChangedEvent(6L, "Fountain Pen", "Ink Pen", new BigDecimal("40"), 1L));
+        assertEquals(List.of(), ids(searchIndex.search("fount", 10, false)));
+        assertEquals(List.of(6L), ids(searchIndex.search("ink", 10, false)));
+
+        searchIndex.onItemChanged(new ItemChangedEvent(6L, "Ink Pen", "Ink Pen", new BigDecimal("45"), 2L));
+        assertEquals(new BigDecimal("45"), searchIndex.search("ink", 10, false).get(0).price());
+
+        searchIndex.onItemChanged(new ItemChangedEvent(6L, "Ink Pen", null, null, null));
+        assertEquals(List.of(), ids(searchIndex.search("ink", 10, false)));
+        assertEquals(5, searchIndex.size());
+    }
+
+    @Test
+    void onItemChanged_AfterManyRenames_ShouldCompactAndKeepAnswering() {
+        for (int i = 0; i < 3000; i++) {
+            searchIndex.onItemChanged(new ItemChangedEvent(4L, null, "Notebook " + i, BigDecimal.ONE, i + 1L));
+        }
+
+        assertEquals(5, searchIndex.size());
+        assertEquals(1, searchIndex.search("notebook 2999", 10, false).size());
+        assertEquals(List.of(), ids(searchIndex.search("notebook 1000", 10, false)));
+    }
+
+    @Test
+    void onItemChanged_ShouldIgnoreEventsOlderThanTheIndexedItem() {
+        searchIndex.onItemChanged(new ItemChangedEvent(4L, "Notebook", "Sketchbook", BigDecimal.ONE, 2L));
+        searchIndex.onItemChanged(new ItemChangedEvent(4L, "Notebook", "Diary", BigDecimal.ONE, 1L));
+        searchIndex.onItemChanged(new ItemChangedEvent(1L, "Pen", null, null, null));
+        searchIndex.onItemChanged(new ItemChangedEvent(1L, "Pen", "Ink Pen", BigDecimal.ONE, 1L));
+
+        assertEquals(List.of(4L), ids(searchIndex.search("sketch", 10, false)));
+        assertEquals(List.of(), ids(searchIndex.search("diary", 10, false)));
+        assertEquals(List.of(), ids(searchIndex.search("ink", 10, false)));
+    }
+
+    @Test
+    void hydrate_ShouldNotBringBackItemsChangedWhileLoading() {
+        // Renamed and deleted after the snapshot below was read, before it was applied
+        searchIndex.onItemChanged(new ItemChangedEvent(4L, "Notebook", "Sketchbook", BigDecimal.ONE, 1L));
+        searchIndex.onItemChanged(new ItemChangedEvent(2L, "Pencil", null, null, null));
+        when(itemRepository.findAllSnapshots()).thenReturn(List.of(
+                summary(2L, "Pencil"),
+                summary(4L, "Notebook"),
+                summary(6L, "Stapler")));
+
+        searchIndex.hydrate();
+
+        assertEquals(List.of(), ids(searchIndex.search("notebook", 10, false)));
+        assertEquals(List.of(4L), ids(searchIndex.search("sketch", 10, false)));
+        assertEquals(List.of(), ids(searchIndex.search("pencil", 10, false)));
+        assertEquals(List.of(6L), ids(searchIndex.search("stapler", 10, false)));
+    }
+
+    @Test
+    void get_ShouldReturnCurrentItemAndNothingOnceDeleted() {
+        searchIndex.onItemChanged(new ItemChangedEvent(4L, "Notebook", "Sketchbook", new BigDecimal("3"), 1L));
+        searchIndex.onItemChanged(new ItemChangedEvent(5L, "Open Shelf", null, null, null));
+
+        assertTrue(searchIndex.isReady());
+        assertEquals(Optional.of(new ItemSearchIndex.Hit(4L, "Sketchbook", new BigDecimal("3"))), searchIndex.get(4L));
+        assertEquals(Optional.empty(), searchIndex.get(5L));
+        assertEquals(Optional.empty(), searchIndex.get(9L));
+    }
+
+    private List<Long> ids(List<ItemSearchIndex.Hit> hits) {
+        return hits.stream().map(ItemSearchIndex.Hit::itemId).toList();
+    }
+
+    private ItemSnapshot summary(Long itemId, String name) {
+        return new ItemSnapshot() {
+            @Override
+            public Long getVersion() {
+                return 0L;
+            }
+
+            @Override
+            public Long getItemId() {
+                return itemId;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public BigDecimal getPrice() {
+                return BigDecimal.TEN;
+            }
+        };
+    }
+}
@@ -0,0 +1,113 @@
+package com.alban.technical_test_alban.component;
+
+import com.alban.technical_test_alban.dto.LeaderboardEntryDTO;
+import com.alban.technical_test_alban.entity.ItemSales;
+import com.alban.technical_test_alban.entity.ItemStock;
+import com.alban.technical_test_alban.event.ItemChangedEvent;
+import com.alban.technical_test_alban.event.SalesChangedEvent;
+import com.alban.technical_test_alban.event.StockChangedEvent;
+import com.alban.technical_test_alban.repository.ItemRepository;
+import com.alban.technical_test_alban.repository.ItemSalesRepository;
+import com.alban.technical_test_alban.repository.ItemStockRepository;
+import com.alban.technical_test_alban.service.ItemService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LeaderboardsTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private ItemSalesRepository itemSalesRepository;
+
+    @Mock
+    private ItemStockRepository itemStockRepository;
+
+    @Mock
+    private ItemService itemService;
+
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+
+    @InjectMocks
+    private Leaderboards leaderboards;
+
+    @Test
+    void hydrate_ShouldRankSnapshotAndRebuildMissingBalances() {
+        when(itemRepository.findIdsWithoutStock()).thenReturn(List.of(3L));
+        when(itemSearchIndex.get(1L)).thenReturn(Optional.of(new ItemSearchIndex.Hit(1L, "Pen", BigDecimal.ONE)));
+        when(itemSearchIndex.get(2L)).thenReturn(Optional.of(new ItemSearchIndex.Hit(2L, "Book", BigDecimal.ONE)));
+        when(itemSalesRepository.findAll()).thenReturn(List.of(
+                new ItemSales(1L, 7L, new BigDecimal("35.00"), 0L),
+                new ItemSales(2L, 9L, new BigDecimal("90.00"), 0L)));
+        when(itemStockRepository.findAll()).thenReturn(List.of(new ItemStock(1L, 3, 0L), new ItemStock(2L, 12, 4L)));
+
+        leaderboards.hydrate();
+
+        verify(itemService, times(1)).getRemainingStock(List.of(3L));
+        assertEquals(List.of(new LeaderboardEntryDTO(1, 2L, "Book", 9L), new LeaderboardEntryDTO(2, 1L, "Pen", 7L)),
+                leaderboards.topSellers(10));
+        assertEquals(List.of(new LeaderboardEntryDTO(1, 1L, "Pen", 3L)), leaderboards.lowStock(1));
+    }
+
+    @Test
+    void onSalesChanged_ShouldReRankAndIgnoreOlderVersions() {
+        leaderboards.onItemChanged(new ItemChangedEvent(1L, null, "Pen", BigDecimal.ONE, 0L));
+        leaderboards.onItemChanged(new ItemChangedEvent(2L, null, "Book", BigDecimal.ONE, 0L));
+        leaderboards.onSalesChanged(new SalesChangedEvent(1L, 5L, 1L));
+        leaderboards.onSalesChanged(new SalesChangedEvent(2L, 3L, 1L));
+
+        leaderboards.onSalesChanged(new SalesChangedEvent(2L, 8L, 3L));
+        leaderboards.onSalesChanged(new SalesChangedEvent(2L, 6L, 2L));
+
+        List<LeaderboardEntryDTO> top = leaderboards.topSellers(10);
+        assertEquals(List.of(2L, 1L), top.stream().map(LeaderboardEntryDTO::getItemId).toList());
+        assertEquals(8L, top.get(0).getScore());
+    }
+
+    @Test
+    void topSellers_ShouldLeaveOutItemsWithoutSales() {
+        leaderboards.onSalesChanged(new SalesChangedEvent(1L, 5L, 1L));
+        leaderboards.onSalesChanged(new SalesChangedEvent(2L, 0L, 4L));
+
+        assertEquals(1, leaderboards.topSellers(10).size());
+    }
+
+    @Test
+    void onItemChanged_ShouldRankNewItemsAsEmptyAndDropDeletedOnes() {
+        leaderboards.onStockChanged(new StockChangedEvent(1L, 4, 2L));
+        leaderboards.onItemChanged(new ItemChangedEvent(5L, null, "Lamp", BigDecimal.ONE, 0L));
+        assertEquals(List.of(5L, 1L), leaderboards.lowStock(10).stream().map(LeaderboardEntryDTO::getItemId).toList());
+
+        leaderboards.onItemChanged(new ItemChangedEvent(5L, "Lamp", null, null, null));
+        // Late balance update of the deleted item
+        leaderboards.onStockChanged(new StockChangedEvent(5L, 0, 0L));
+
+        assertEquals(List.of(1L), leaderboards.lowStock(10).stream().map(LeaderboardEntryDTO::getItemId).toList());
+    }
+
+    @Test
+    void lowStock_ShouldReturnAtMostMaxSizeItems() {
+        for (long itemId = 1; itemId <= Leaderboards.MAX_SIZE + 20; itemId++) {
+            leaderboards.onStockChanged(new StockChangedEvent(itemId, (int) itemId, 0L));
+        }
+
+        List<LeaderboardEntryDTO> lowStock = leaderboards.lowStock(1000);
+
+        assertEquals(Leaderboards.MAX_SIZE, lowStock.size());
+        assertEquals(1L, lowStock.get(0).getScore());
+        assertEquals(Leaderboards.MAX_SIZE, lowStock.get(Leaderboards.MAX_SIZE - 1).getRank());
+    }
+}
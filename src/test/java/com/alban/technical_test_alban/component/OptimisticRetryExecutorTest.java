@@ -0,0 +1,70 @@
+package com.alban.technical_test_alban.component;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptimisticRetryExecutorTest {
+
+    private final OptimisticRetryExecutor executor = new OptimisticRetryExecutor(3, 1, 5);
+
+    @Test
+    void execute_WithoutConflict_ShouldRunOnce() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertEquals("ok", executor.execute(() -> {
+            calls.incrementAndGet();
+            return "ok";
+        }));
+        assertEquals(1, calls.get());
+        assertEquals(0, executor.getConflicts());
+    }
+
+    @Test
+    void execute_WithTransientConflict_ShouldRetryUntilSuccess() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = executor.execute(() -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new OptimisticLockingFailureException("Row was updated by another transaction");
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(2, executor.getConflicts());
+        assertEquals(2, executor.getRetries());
+        assertEquals(0, executor.getExhausted());
+    }
+
+    @Test
+    void execute_WhenAttemptsExhausted_ShouldRethrow() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(OptimisticLockingFailureException.class, () -> executor.execute(() -> {
+            calls.incrementAndGet();
+            throw new OptimisticLockingFailureException("Row was updated by another transaction");
+        }));
+
+        assertEquals(3, calls.get());
+        assertEquals(3, executor.getConflicts());
+        assertEquals(2, executor.getRetries());
+        assertEquals(1, executor.getExhausted());
+    }
+
+    @Test
+    void execute_WithOtherFailure_ShouldNotRetry() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(IllegalArgumentException.class, () -> executor.execute(() -> {
+            calls.incrementAndGet();
+            throw new IllegalArgumentException("boom");
+        }));
+
+        assertEquals(1, calls.get());
+        assertEquals(0, executor.getConflicts());
+    }
+}
@@ -0,0 +1,22 @@
+package com.alban.technical_test_alban.component;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Runs the throughput sweep lock-free, relying on the stock row version check and retries.
+ * Attempts are effectively unbounded here, contention on a single item is the point of the test.
+ * Gets its own database, a second context recreating the shared schema would reset the id
+ * sequences under the contexts already cached. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:optimistic-benchmark",
+        "app.stock.concurrency=optimistic",
+        "app.stock.retry.max-attempts=1000",
+        "app.stock.retry.backoff-ms=1",
+        "app.stock.retry.max-backoff-ms=20"
+})
+class OptimisticStockReservationBenchmarkTest extends StockReservationBenchmarkTest {
+}
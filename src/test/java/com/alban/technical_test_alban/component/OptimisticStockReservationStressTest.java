@@ -0,0 +1,21 @@
+package com.alban.technical_test_alban.component;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Runs the oversell checks lock-free, relying on the stock row version check and retries.
+ * Attempts are effectively unbounded here, contention on a single item is the point of the test.
+ * The throughput sweep is {@link OptimisticStockReservationBenchmarkTest}.
+ * Gets its own database, a second context recreating the shared schema would reset the id
+ * sequences under the contexts already cached.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:optimistic-stress",
+        "app.stock.concurrency=optimistic",
+        "app.stock.retry.max-attempts=1000",
+        "app.stock.retry.backoff-ms=1",
+        "app.stock.retry.max-backoff-ms=20"
+})
+class OptimisticStockReservationStressTest extends StockReservationStressTest {
+}
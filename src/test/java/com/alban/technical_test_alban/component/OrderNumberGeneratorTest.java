@@ -0,0 +1,86 @@
+package com.alban.technical_test_alban.component;
+
+import com.alban.technical_test_alban.repository.OrderRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderNumberGeneratorTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @InjectMocks
+    private OrderNumberGenerator orderNumberGenerator;
+
+    @Test
+    void next_ShouldDrawFromReservedBlockBeforeHittingSequenceAgain() {
+        when(orderRepository.getOrderNoBlockSize()).thenReturn(3L);
+        when(orderRepository.nextOrderNoBlock()).thenReturn(11L, 14L);
+
+        List<String> numbers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            numbers.add(orderNumberGenerator.next());
+        }
+
+        assertEquals(List.of("O11", "O12", "O13", "O14"), numbers);
+        verify(orderRepository, times(2)).nextOrderNoBlock();
+        verify(orderRepository, times(1)).getOrderNoBlockSize();
+    }
+
+    @Test
+    void nextCount_ShouldSpanBlocksWithoutGaps() {
+        when(orderRepository.getOrderNoBlockSize()).thenReturn(3L);
+        when(orderRepository.nextOrderNoBlock()).thenReturn(11L, 14L, 17L);
+
+        assertEquals(List.of("O11", "O12"), orderNumberGenerator.next(2));
+        assertEquals(List.of("O13", "O14", "O15", "O16", "O17"), orderNumberGenerator.next(5));
+        assertEquals("O18", orderNumberGenerator.next());
+        verify(orderRepository, times(3)).nextOrderNoBlock();
+    }
+
+    @Test
+    void next_WithConcurrentCallers_ShouldNeverHandOutDuplicates() throws Exception {
+        AtomicLong sequence = new AtomicLong(1);
+        when(orderRepository.getOrderNoBlockSize()).thenReturn(50L);
+        when(orderRepository.nextOrderNoBlock()).thenAnswer(invocation -> sequence.getAndAdd(50));
+
+        int threads = 8;
+        int perThread = 1_000;
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        numbers.add(orderNumberGenerator.next());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(threads * perThread, numbers.size());
+        verify(orderRepository, times(threads * perThread / 50)).nextOrderNoBlock();
+    }
+}
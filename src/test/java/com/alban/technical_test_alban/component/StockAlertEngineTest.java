@@ -0,0 +1,102 @@
+package com.alban.technical_test_alban.component;
+
+import com.alban.technical_test_alban.entity.ItemStock;
+import com.alban.technical_test_alban.entity.ReorderThreshold;
+import com.alban.technical_test_alban.event.ItemChangedEvent;
+import com.alban.technical_test_alban.event.ReorderThresholdChangedEvent;
+import com.alban.technical_test_alban.event.StockAlertEvent;
+import com.alban.technical_test_alban.event.StockAlertEvent.Transition;
+import com.alban.technical_test_alban.event.StockChangedEvent;
+import com.alban.technical_test_alban.repository.ItemStockRepository;
+import com.alban.technical_test_alban.repository.ReorderThresholdRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockAlertEngineTest {
+
+    @Mock
+    private ReorderThresholdRepository reorderThresholdRepository;
+
+    @Mock
+    private ItemStockRepository itemStockRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private StockAlertEngine alertEngine;
+
+    @Test
+    void onStockChanged_ShouldRaiseAtThresholdAndClearAboveHysteresisBand() {
+        when(itemStockRepository.findLevelByItemId(1L)).thenReturn(new ItemStock(1L, 20, 3L));
+        alertEngine.onThresholdChanged(new ReorderThresholdChangedEvent(1L, 10, 5));
+
+        alertEngine.onStockChanged(new StockChangedEvent(1L, 10, 4L));
+        assertEquals(1, alertEngine.activeAlerts().size());
+
+        // Back above the threshold but within the band, the alert stays
+        alertEngine.onStockChanged(new StockChangedEvent(1L, 15, 5L));
+        alertEngine.onStockChanged(new StockChangedEvent(1L, 9, 6L));
+        assertEquals(9, alertEngine.activeAlerts().get(0).remainingStock());
+
+        alertEngine.onStockChanged(new StockChangedEvent(1L, 16, 7L));
+
+        assertTrue(alertEngine.activeAlerts().isEmpty());
+        verify(eventPublisher, times(1)).publishEvent(new StockAlertEvent(1L, Transition.RAISED, 10, 10));
+        verify(eventPublisher, times(1)).publishEvent(new StockAlertEvent(1L, Transition.CLEARED, 16, 10));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @Test
+    void onStockChanged_ShouldIgnoreOlderBalancesAndUnwatchedItems() {
+        when(itemStockRepository.findLevelByItemId(1L)).thenReturn(new ItemStock(1L, 20, 3L));
+        alertEngine.onThresholdChanged(new ReorderThresholdChangedEvent(1L, 10, 0));
+
+        alertEngine.onStockChanged(new StockChangedEvent(1L, 2, 2L));
+        alertEngine.onStockChanged(new StockChangedEvent(2L, 0, 9L));
+
+        assertTrue(alertEngine.activeAlerts().isEmpty());
+        assertEquals(1, alertEngine.watchedItems());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void onThresholdChanged_ShouldEvaluateCurrentStockAndClearWhenRemoved() {
+        // No balance row yet, nothing was ever stocked
+        when(itemStockRepository.findLevelByItemId(1L)).thenReturn(null);
+
+        alertEngine.onThresholdChanged(new ReorderThresholdChangedEvent(1L, 0, 5));
+        assertEquals(0, alertEngine.activeAlerts().get(0).remainingStock());
+
+        alertEngine.onThresholdChanged(new ReorderThresholdChangedEvent(1L, null, null));
+
+        assertEquals(0, alertEngine.watchedItems());
+        verify(eventPublisher, times(1)).publishEvent(new StockAlertEvent(1L, Transition.CLEARED, 0, 0));
+    }
+
+    @Test
+    void hydrate_ShouldRaiseAlertsOfItemsAlreadyBelowThreshold() {
+        when(reorderThresholdRepository.findAll()).thenReturn(List.of(
+                new ReorderThreshold(1L, 5, 2), new ReorderThreshold(2L, 5, 2)));
+        when(itemStockRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(
+                new ItemStock(1L, 3, 0L), new ItemStock(2L, 30, 0L)));
+
+        alertEngine.hydrate();
+
+        assertEquals(List.of(1L), alertEngine.activeAlerts().stream().map(StockAlertEngine.Alert::itemId).toList());
+        alertEngine.onItemChanged(new ItemChangedEvent(1L, "Pen", null, null, null));
+        assertTrue(alertEngine.activeAlerts().isEmpty());
+        verify(eventPublisher, times(2)).publishEvent(any(StockAlertEvent.class));
+    }
+}
@@ -0,0 +1,61 @@
+package com.alban.technical_test_alban.component;
+
+import com.alban.technical_test_alban.dto.InventoryDTO;
+import com.alban.technical_test_alban.dto.ItemDTO;
+import com.alban.technical_test_alban.dto.OrderDTO;
+import com.alban.technical_test_alban.dto.ReorderThresholdDTO;
+import com.alban.technical_test_alban.dto.StockAlertDTO;
+import com.alban.technical_test_alban.service.AlertService;
+import com.alban.technical_test_alban.service.InventoryService;
+import com.alban.technical_test_alban.service.ItemService;
+import com.alban.technical_test_alban.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class StockAlertFlowTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private AlertService alertService;
+
+    @Test
+    void orderAndInventoryWrites_ShouldRaiseAndClearTheAlertOfTheirItem() {
+        ItemDTO item = new ItemDTO();
+        item.setName("Alert Lamp");
+        item.setPrice(new BigDecimal("1.00"));
+        Long itemId = itemService.createItem(item).getId();
+        inventoryService.createInventory(new InventoryDTO(null, itemId, null, 20, "T"));
+        alertService.setThreshold(itemId, new ReorderThresholdDTO(null, 5, 3));
+        assertTrue(alertOf(itemId).isEmpty());
+
+        orderService.createOrder(new OrderDTO(null, itemId, null, 16, new BigDecimal("1.00")));
+        assertEquals(4, alertOf(itemId).orElseThrow().getRemainingStock());
+
+        inventoryService.createInventory(new InventoryDTO(null, itemId, null, 3, "T"));
+        assertTrue(alertOf(itemId).isPresent());
+
+        inventoryService.createInventory(new InventoryDTO(null, itemId, null, 2, "T"));
+        assertTrue(alertOf(itemId).isEmpty());
+    }
+
+    private Optional<StockAlertDTO> alertOf(Long itemId) {
+        return alertService.getActiveAlerts().stream()
+                .filter(alert -> alert.getItemId().equals(itemId))
+                .findFirst();
+    }
+}
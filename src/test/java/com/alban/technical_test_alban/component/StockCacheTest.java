@@ -0,0 +1,62 @@
+package com.alban.technical_test_alban.component;
+
+import com.alban.technical_test_alban.entity.ItemStock;
+import com.alban.technical_test_alban.event.ItemChangedEvent;
+import com.alban.technical_test_alban.event.StockChangedEvent;
+import com.alban.technical_test_alban.repository.ItemStockRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockCacheTest {
+
+    @Mock
+    private ItemStockRepository itemStockRepository;
+
+    @InjectMocks
+    private StockCache stockCache;
+
+    @BeforeEach
+    void setUp() {
+        when(itemStockRepository.findAll()).thenReturn(List.of(new ItemStock(1L, 30, 2L), new ItemStock(2L, 5, 0L)));
+        stockCache.hydrate();
+    }
+
+    @Test
+    void onStockChanged_ShouldIgnoreOlderLevels() {
+        stockCache.onStockChanged(new StockChangedEvent(1L, 25, 3L));
+        stockCache.onStockChanged(new StockChangedEvent(1L, 28, 2L));
+
+        assertEquals(Optional.of(25), stockCache.get(1L));
+    }
+
+    @Test
+    void onItemChanged_WhenDeleted_ShouldDropTheLevelForGood() {
+        stockCache.onItemChanged(new ItemChangedEvent(1L, "Pen", null, null, null));
+        // A read that saw the balance before the delete committed
+        stockCache.put(1L, 30, 2L);
+
+        assertEquals(Optional.empty(), stockCache.get(1L));
+        assertEquals(Map.of(2L, 5), stockCache.getAll(List.of(1L, 2L)));
+        assertEquals(Map.of(2L, 5), stockCache.snapshot());
+    }
+
+    @Test
+    void onItemChanged_WhenRenamed_ShouldKeepTheLevel() {
+        stockCache.onItemChanged(new ItemChangedEvent(1L, "Pen", "Blue Pen", new BigDecimal("1.50"), 3L));
+
+        assertEquals(Optional.of(30), stockCache.get(1L));
+    }
+}
@@ -0,0 +1,141 @@
+package com.alban.technical_test_alban.component;
+
+import com.alban.technical_test_alban.dto.InventoryDTO;
+import com.alban.technical_test_alban.dto.ItemDTO;
+import com.alban.technical_test_alban.dto.OrderDTO;
+import com.alban.technical_test_alban.exception.InsufficientStockException;
+import com.alban.technical_test_alban.repository.ItemRepository;
+import com.alban.technical_test_alban.service.InventoryService;
+import com.alban.technical_test_alban.service.ItemService;
+import com.alban.technical_test_alban.service.OrderService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Hammers the order path from 1 to 16 threads and checks that stock is never oversold.
+ * Prints the achieved orders/sec per thread count, along with the running total of
+ * optimistic retries (always 0 in striped mode).
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class StockReservationBenchmarkTest {
+
+    private static final int STOCK_PER_ITEM = 100;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private OptimisticRetryExecutor retryExecutor;
+
+    @Test
+    void concurrentOrdersOnSameItem_ShouldNeverOversell() throws Exception {
+        for (int threads : new int[]{1, 2, 4, 8, 16}) {
+            Long itemId = createItemWithStock(STOCK_PER_ITEM);
+
+            Result result = placeOrders(threads, List.of(itemId), STOCK_PER_ITEM * 2);
+
+            assertEquals(STOCK_PER_ITEM, result.accepted(), "accepted orders with " + threads + " threads");
+            assertStockMatchesHistory(itemId, 0);
+            System.out.printf("same item      threads=%2d accepted=%4d rejected=%4d retries=%5d %8.0f orders/sec%n",
+                    threads, result.accepted(), result.rejected(), retryExecutor.getRetries(), result.ordersPerSecond());
+        }
+    }
+
+    @Test
+    void concurrentOrdersOnDistinctItems_ShouldProceedInParallel() throws Exception {
+        for (int threads : new int[]{1, 2, 4, 8, 16}) {
+            List<Long> itemIds = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                itemIds.add(createItemWithStock(STOCK_PER_ITEM));
+            }
+
+            Result result = placeOrders(threads, itemIds, STOCK_PER_ITEM * threads);
+
+            assertEquals(STOCK_PER_ITEM * threads, result.accepted());
+            for (Long itemId : itemIds) {
+                assertStockMatchesHistory(itemId, 0);
+            }
+            System.out.printf("distinct items threads=%2d accepted=%4d rejected=%4d retries=%5d %8.0f orders/sec%n",
+                    threads, result.accepted(), result.rejected(), retryExecutor.getRetries(), result.ordersPerSecond());
+        }
+    }
+
+    private Result placeOrders(int threads, List<Long> itemIds, int attemptsTotal) throws Exception {
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                // With distinct items every thread sticks to its own item
+                Long itemId = itemIds.get(t % itemIds.size());
+                int attempts = attemptsTotal / threads;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < attempts; i++) {
+                        try {
+                            retryExecutor.execute(() ->
+                                    orderService.createOrder(new OrderDTO(null, itemId, null, 1, BigDecimal.ONE)));
+                            accepted.incrementAndGet();
+                        } catch (InsufficientStockException e) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            long started = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+            return new Result(accepted.get(), rejected.get(), accepted.get() / seconds);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private Long createItemWithStock(int stock) {
+        ItemDTO item = itemService.createItem(
+                new ItemDTO(null, "stress-" + UUID.randomUUID(), BigDecimal.ONE, null));
+        inventoryService.createInventory(new InventoryDTO(null, item.getId(), null, stock, "T"));
+        return item.getId();
+    }
+
+    private void assertStockMatchesHistory(Long itemId, int expected) {
+        int calculated = itemRepository.calculateInventoryStock(itemId) - itemRepository.calculateOrderedStock(itemId);
+        assertEquals(expected, calculated, "stock derived from history");
+        assertEquals(expected, itemService.getRemainingStock(itemId), "running balance");
+    }
+
+    private record Result(int accepted, int rejected, double ordersPerSecond) {
+    }
+}
@@ -0,0 +1,99 @@
+package com.alban.technical_test_alban.component;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StockReservationEngineTest {
+
+    private final StockReservationEngine engine = new StockReservationEngine(64, StockConcurrencyMode.STRIPED);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void lock_WithoutTransaction_ShouldThrowIllegalStateException() {
+        assertThrows(IllegalStateException.class, () -> engine.lock(1L));
+    }
+
+    @Test
+    void lock_ShouldHoldStripeUntilTransactionCompletes() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+        engine.lock(1L);
+
+        // Another writer of the same item has to wait
+        CompletableFuture<Void> sameItem = CompletableFuture.runAsync(() -> runInTransaction(1L));
+        assertThrows(TimeoutException.class, () -> sameItem.get(200, TimeUnit.MILLISECONDS));
+
+        // A writer of an item on another stripe goes through
+        Long otherItem = findItemOnOtherStripe(1L);
+        CompletableFuture.runAsync(() -> runInTransaction(otherItem)).get(1, TimeUnit.SECONDS);
+
+        completeTransaction();
+        sameItem.get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void lock_InOptimisticMode_ShouldNotBlockOtherWriters() throws Exception {
+        StockReservationEngine optimistic = new StockReservationEngine(64, StockConcurrencyMode.OPTIMISTIC);
+        TransactionSynchronizationManager.initSynchronization();
+        optimistic.lock(1L);
+
+        CompletableFuture.runAsync(() -> {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                optimistic.lock(1L);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }).get(1, TimeUnit.SECONDS);
+        assertTrue(TransactionSynchronizationManager.getSynchronizations().isEmpty());
+    }
+
+    @Test
+    void stripeIndex_ShouldStayWithinStripes() {
+        StockReservationEngine small = new StockReservationEngine(10, StockConcurrencyMode.STRIPED);
+        for (long itemId = 1; itemId < 1_000; itemId++) {
+            int index = small.stripeIndex(itemId);
+            assertTrue(index >= 0 && index < 16);
+        }
+    }
+
+    private void runInTransaction(Long itemId) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            engine.lock(itemId);
+            completeTransaction();
+        } finally {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
+    }
+
+    private void completeTransaction() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    private Long findItemOnOtherStripe(Long itemId) {
+        long candidate = itemId + 1;
+        while (engine.stripeIndex(candidate) == engine.stripeIndex(itemId)) {
+            candidate++;
+        }
+        return candidate;
+    }
+}
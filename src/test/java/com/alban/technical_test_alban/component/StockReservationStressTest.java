@@ -0,0 +1,129 @@
+package com.alban.technical_test_alban.component;
+
+import com.alban.technical_test_alban.dto.InventoryDTO;
+import com.alban.technical_test_alban.dto.ItemDTO;
+import com.alban.technical_test_alban.dto.OrderDTO;
+import com.alban.technical_test_alban.exception.InsufficientStockException;
+import com.alban.technical_test_alban.repository.ItemRepository;
+import com.alban.technical_test_alban.service.InventoryService;
+import com.alban.technical_test_alban.service.ItemService;
+import com.alban.technical_test_alban.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Races a few threads on the order path and checks that stock is never oversold.
+ * The throughput sweep over thread counts is {@link StockReservationBenchmarkTest}.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class StockReservationStressTest {
+
+    private static final int STOCK_PER_ITEM = 20;
+    private static final int THREADS = 8;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private OptimisticRetryExecutor retryExecutor;
+
+    @Test
+    void concurrentOrdersOnSameItem_ShouldNeverOversell() throws Exception {
+        Long itemId = createItemWithStock(STOCK_PER_ITEM);
+
+        Result result = placeOrders(THREADS, List.of(itemId), STOCK_PER_ITEM * 2);
+
+        assertEquals(STOCK_PER_ITEM, result.accepted());
+        assertEquals(STOCK_PER_ITEM, result.rejected());
+        assertStockMatchesHistory(itemId, 0);
+    }
+
+    @Test
+    void concurrentOrdersOnDistinctItems_ShouldAllBeAccepted() throws Exception {
+        List<Long> itemIds = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            itemIds.add(createItemWithStock(STOCK_PER_ITEM));
+        }
+
+        Result result = placeOrders(THREADS, itemIds, STOCK_PER_ITEM * THREADS);
+
+        assertEquals(STOCK_PER_ITEM * THREADS, result.accepted());
+        for (Long itemId : itemIds) {
+            assertStockMatchesHistory(itemId, 0);
+        }
+    }
+
+    private Result placeOrders(int threads, List<Long> itemIds, int attemptsTotal) throws Exception {
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                // With distinct items every thread sticks to its own item
+                Long itemId = itemIds.get(t % itemIds.size());
+                int attempts = attemptsTotal / threads;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < attempts; i++) {
+                        try {
+                            retryExecutor.execute(() ->
+                                    orderService.createOrder(new OrderDTO(null, itemId, null, 1, BigDecimal.ONE)));
+                            accepted.incrementAndGet();
+                        } catch (InsufficientStockException e) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return new Result(accepted.get(), rejected.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private Long createItemWithStock(int stock) {
+        ItemDTO item = itemService.createItem(
+                new ItemDTO(null, "stress-" + UUID.randomUUID(), BigDecimal.ONE, null));
+        inventoryService.createInventory(new InventoryDTO(null, item.getId(), null, stock, "T"));
+        return item.getId();
+    }
+
+    private void assertStockMatchesHistory(Long itemId, int expected) {
+        int calculated = itemRepository.calculateInventoryStock(itemId) - itemRepository.calculateOrderedStock(itemId);
+        assertEquals(expected, calculated, "stock derived from history");
+        assertEquals(expected, itemService.getRemainingStock(itemId), "running balance");
+    }
+
+    private record Result(int accepted, int rejected) {
+    }
+}
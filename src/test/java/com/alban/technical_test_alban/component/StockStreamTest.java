@@ -0,0 +1,103 @@
+package com.alban.technical_test_alban.component;
+
+import com.alban.technical_test_alban.controller.ItemController;
+import com.alban.technical_test_alban.event.StockChangedEvent;
+import com.alban.technical_test_alban.service.ItemService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class StockStreamTest {
+
+    // Drain tasks only run when the test says so, like a sender stuck on a slow consumer
+    private final List<Runnable> sends = new ArrayList<>();
+
+    private StockStream stockStream;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        stockStream = new StockStream(sends::add, Duration.ofMinutes(1), 2);
+        mockMvc = MockMvcBuilders.standaloneSetup(new ItemController(mock(ItemService.class), stockStream)).build();
+    }
+
+    @Test
+    void onStockChanged_ShouldPushLevelsOfSubscribedItemsOnly() throws Exception {
+        MockHttpServletResponse filtered = subscribe("/items/stream?itemIds=1");
+        MockHttpServletResponse all = subscribe("/items/stream");
+
+        stockStream.onStockChanged(new StockChangedEvent(1L, 40, 1L));
+        stockStream.onStockChanged(new StockChangedEvent(2L, 7, 1L));
+        runSends();
+
+        assertEquals("event:stock\ndata:{\"itemId\":1,\"remainingStock\":40}\n\n", filtered.getContentAsString());
+        assertEquals("event:stock\ndata:{\"itemId\":1,\"remainingStock\":40}\n\n"
+                + "event:stock\ndata:{\"itemId\":2,\"remainingStock\":7}\n\n", all.getContentAsString());
+    }
+
+    @Test
+    void onStockChanged_WhenConsumerIsBehind_ShouldOnlySendLatestLevel() throws Exception {
+        MockHttpServletResponse response = subscribe("/items/stream");
+
+        stockStream.onStockChanged(new StockChangedEvent(1L, 40, 1L));
+        stockStream.onStockChanged(new StockChangedEvent(1L, 38, 2L));
+        stockStream.onStockChanged(new StockChangedEvent(1L, 35, 3L));
+        // Committed before version 3 but delivered after it
+        stockStream.onStockChanged(new StockChangedEvent(1L, 38, 2L));
+        runSends();
+
+        assertEquals("event:stock\ndata:{\"itemId\":1,\"remainingStock\":35}\n\n", response.getContentAsString());
+    }
+
+    @Test
+    void onStockChanged_WhenBufferOverflows_ShouldDisconnectSubscriber() throws Exception {
+        subscribe("/items/stream");
+        assertEquals(1, stockStream.getSubscriberCount());
+
+        stockStream.onStockChanged(new StockChangedEvent(1L, 40, 1L));
+        stockStream.onStockChanged(new StockChangedEvent(2L, 7, 1L));
+        stockStream.onStockChanged(new StockChangedEvent(3L, 9, 1L));
+        runSends();
+
+        assertEquals(0, stockStream.getSubscriberCount());
+    }
+
+    @Test
+    void onStockChanged_WhenNoSenderIsAvailable_ShouldDisconnectSubscriber() throws Exception {
+        stockStream = new StockStream(command -> {
+            throw new RejectedExecutionException("send queue full");
+        }, Duration.ofMinutes(1), 2);
+        mockMvc = MockMvcBuilders.standaloneSetup(new ItemController(mock(ItemService.class), stockStream)).build();
+        subscribe("/items/stream");
+
+        stockStream.onStockChanged(new StockChangedEvent(1L, 40, 1L));
+
+        assertEquals(0, stockStream.getSubscriberCount());
+    }
+
+    private MockHttpServletResponse subscribe(String url) throws Exception {
+        return mockMvc.perform(get(url))
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+    }
+
+    private void runSends() {
+        while (!sends.isEmpty()) {
+            sends.remove(0).run();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.alban.technical_test_alban.controller;
+
+import com.alban.technical_test_alban.dto.ReorderThresholdDTO;
+import com.alban.technical_test_alban.dto.StockAlertDTO;
+import com.alban.technical_test_alban.exception.GlobalExceptionHandler;
+import com.alban.technical_test_alban.exception.ResourceNotFoundException;
+import com.alban.technical_test_alban.service.AlertService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class AlertControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private AlertService alertService;
+
+    @InjectMocks
+    private AlertController alertController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(alertController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void getActiveAlerts_ShouldReturn200WithAlerts() throws Exception {
+        when(alertService.getActiveAlerts()).thenReturn(List.of(new StockAlertDTO(1L, "Pen", 2, 5, 5, null)));
+
+        mockMvc.perform(get("/alerts"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].itemName").value("Pen"))
+                .andExpect(jsonPath("$.data[0].remainingStock").value(2));
+    }
+
+    @Test
+    void setThreshold_ShouldReturn200WithSavedThreshold() throws Exception {
+        when(alertService.setThreshold(eq(1L), any(ReorderThresholdDTO.class))).thenReturn(new ReorderThresholdDTO(1L, 10, 5));
+
+        mockMvc.perform(put("/alerts/thresholds/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"threshold\":10}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.hysteresis").value(5));
+    }
+
+    @Test
+    void setThreshold_WithNegativeThreshold_ShouldReturn400() throws Exception {
+        mockMvc.perform(put("/alerts/thresholds/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"threshold\":-1}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(alertService);
+    }
+
+    @Test
+    void deleteThreshold_WhenMissing_ShouldReturn404() throws Exception {
+        doThrow(new ResourceNotFoundException("No reorder threshold for item id: 1")).when(alertService).deleteThreshold(1L);
+
+        mockMvc.perform(delete("/alerts/thresholds/1"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -1,8 +1,16 @@
 package com.alban.technical_test_alban.controller;
 
+import com.alban.technical_test_alban.component.EntityTag;
+import com.alban.technical_test_alban.component.OptimisticRetryExecutor;
+import com.alban.technical_test_alban.dto.ExportFormat;
 import com.alban.technical_test_alban.dto.InventoryDTO;
+import com.alban.technical_test_alban.dto.InventoryImportFormat;
+import com.alban.technical_test_alban.dto.InventoryImportRejectionDTO;
+import com.alban.technical_test_alban.dto.InventoryImportResultDTO;
 import com.alban.technical_test_alban.exception.GlobalExceptionHandler;
 import com.alban.technical_test_alban.exception.ResourceNotFoundException;
+import com.alban.technical_test_alban.service.ExportService;
+import com.alban.technical_test_alban.service.InventoryImportService;
 import com.alban.technical_test_alban.service.InventoryService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,6 +18,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -19,7 +28,11 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -34,6 +47,15 @@ class InventoryControllerTest {
     @Mock
     private InventoryService inventoryService;
 
+    @Mock
+    private InventoryImportService inventoryImportService;
+
+    @Spy
+    private OptimisticRetryExecutor retryExecutor = new OptimisticRetryExecutor(3, 0, 0);
+
+    @Mock
+    private ExportService exportService;
+
     @InjectMocks
     private InventoryController inventoryController;
 
@@ -58,18 +80,30 @@ class InventoryControllerTest {
 
     @Test
     void getInventory_WhenExists_ShouldReturn200() throws Exception {
+        when(inventoryService.getInventoryTag(1L)).thenReturn(new EntityTag("4-2", 1_700_000_000_000L));
         when(inventoryService.getInventory(1L)).thenReturn(testInventoryDTO);
 
         mockMvc.perform(get("/inventories/1"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4-2\""))
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.message").value("Inventory found"))
                 .andExpect(jsonPath("$.data.type").value("T"));
     }
 
+    @Test
+    void getInventory_WhenETagMatches_ShouldReturn304WithoutReadingInventory() throws Exception {
+        when(inventoryService.getInventoryTag(1L)).thenReturn(new EntityTag("4-2", 1_700_000_000_000L));
+
+        mockMvc.perform(get("/inventories/1").header("If-None-Match", "\"4-2\""))
+                .andExpect(status().isNotModified());
+
+        verify(inventoryService, never()).getInventory(anyLong());
+    }
+
     @Test
     void getInventory_WhenNotFound_ShouldReturn404() throws Exception {
-        when(inventoryService.getInventory(99L))
+        when(inventoryService.getInventoryTag(99L))
                 .thenThrow(new ResourceNotFoundException("Inventory not found with id: 99"));
 
         mockMvc.perform(get("/inventories/99"))
@@ -88,6 +122,46 @@ class InventoryControllerTest {
                 .andExpect(jsonPath("$.data.content[0].itemName").value("Pen"));
     }
 
+    @Test
+    void importInventories_WithCsvBody_ShouldReturn200WithReport() throws Exception {
+        InventoryImportResultDTO result = new InventoryImportResultDTO(3, 2, 1, 10, 300.0,
+                List.of(new InventoryImportRejectionDTO(3, "Malformed line")), true, 4, null);
+        when(inventoryImportService.importInventories(any(Reader.class), eq(InventoryImportFormat.CSV))).thenReturn(result);
+
+        mockMvc.perform(post("/inventories/import")
+                        .contentType("text/csv")
+                        .content("itemId,qty,type\n1,5,T\n2,1,W\nbad\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Imported 2 of 3 rows"))
+                .andExpect(jsonPath("$.data.rejections[0].line").value(3));
+    }
+
+    @Test
+    void importInventories_WhenStoppedOnAChunk_ShouldReturn500WithResumeLine() throws Exception {
+        InventoryImportResultDTO result = new InventoryImportResultDTO(2, 2, 0, 10, 200.0, List.of(), false, 3,
+                "Rows from line 4 on could not be written, resume after line 3");
+        when(inventoryImportService.importInventories(any(Reader.class), eq(InventoryImportFormat.CSV))).thenReturn(result);
+
+        mockMvc.perform(post("/inventories/import")
+                        .contentType("text/csv")
+                        .content("itemId,qty,type\n1,5,T\n2,1,W\n3,1,T\n"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("Rows from line 4 on could not be written, resume after line 3"))
+                .andExpect(jsonPath("$.data.importedRows").value(2))
+                .andExpect(jsonPath("$.data.lastCommittedLine").value(3));
+    }
+
+    @Test
+    void importInventories_WithUnsupportedContentType_ShouldReturn415() throws Exception {
+        mockMvc.perform(post("/inventories/import")
+                        .contentType(MediaType.APPLICATION_XML)
+                        .content("<rows/>"))
+                .andExpect(status().isUnsupportedMediaType());
+
+        verifyNoInteractions(inventoryImportService);
+    }
+
     @Test
     void createInventory_WithValidData_ShouldReturn200() throws Exception {
         InventoryDTO requestDTO = new InventoryDTO();
@@ -163,4 +237,28 @@ class InventoryControllerTest {
 
         verify(inventoryService, times(1)).deleteInventory(1L);
     }
+
+    @Test
+    void exportInventories_ShouldStreamNdjsonByDefault() throws Exception {
+        doAnswer(invocation -> {
+            invocation.getArgument(0, OutputStream.class).write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(exportService).exportInventories(any(OutputStream.class), eq(ExportFormat.NDJSON));
+
+        mockMvc.perform(get("/inventories/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"inventories.ndjson\""))
+                .andExpect(content().string("{\"id\":1}\n"));
+    }
+
+    @Test
+    void exportInventories_WhenCsvAccepted_ShouldStreamCsv() throws Exception {
+        mockMvc.perform(get("/inventories/export").accept("text/csv"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"inventories.csv\""));
+
+        verify(exportService).exportInventories(any(OutputStream.class), eq(ExportFormat.CSV));
+    }
 }
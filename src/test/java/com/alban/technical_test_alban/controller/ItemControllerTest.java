@@ -1,6 +1,11 @@
 package com.alban.technical_test_alban.controller;
 
+import com.alban.technical_test_alban.component.EntityTag;
+import com.alban.technical_test_alban.component.StockStream;
+import com.alban.technical_test_alban.dto.CacheRegionStatsDTO;
+import com.alban.technical_test_alban.dto.CursorPageDTO;
 import com.alban.technical_test_alban.dto.ItemDTO;
+import com.alban.technical_test_alban.exception.ConnectionAdmissionException;
 import com.alban.technical_test_alban.exception.GlobalExceptionHandler;
 import com.alban.technical_test_alban.exception.ResourceNotFoundException;
 import com.alban.technical_test_alban.service.ItemService;
@@ -14,13 +19,18 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
+import java.sql.SQLTransientConnectionException;
 import java.util.Arrays;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -35,6 +45,9 @@ class ItemControllerTest {
     @Mock
     private ItemService itemService;
 
+    @Mock
+    private StockStream stockStream;
+
     @InjectMocks
     private ItemController itemController;
 
@@ -58,10 +71,13 @@ class ItemControllerTest {
 
     @Test
     void getItem_WhenExists_ShouldReturn200() throws Exception {
+        when(itemService.getItemTag(1L)).thenReturn(new EntityTag("2-5", 1_700_000_000_000L));
         when(itemService.getItem(1L)).thenReturn(testItemDTO);
 
         mockMvc.perform(get("/items/1"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2-5\""))
+                .andExpect(header().string("Last-Modified", "Tue, 14 Nov 2023 22:13:20 GMT"))
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.message").value("Item found"))
                 .andExpect(jsonPath("$.data.name").value("Pen"));
@@ -69,9 +85,61 @@ class ItemControllerTest {
         verify(itemService, times(1)).getItem(1L);
     }
 
+    @Test
+    void getItem_WhenShedByConnectionAdmission_ShouldReturn503() throws Exception {
+        when(itemService.getItemTag(1L)).thenThrow(new CannotCreateTransactionException("Could not open JPA EntityManager",
+                new ConnectionAdmissionException("Too many requests waiting for a database connection", "08004")));
+
+        mockMvc.perform(get("/items/1"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.message").value("Too many concurrent requests, please retry"));
+    }
+
+    @Test
+    void getItem_WhenDatabaseIsUnreachable_ShouldReturn500() throws Exception {
+        when(itemService.getItemTag(1L)).thenThrow(new CannotCreateTransactionException("Could not open JPA EntityManager",
+                new SQLTransientConnectionException("Connection refused", "08001")));
+
+        mockMvc.perform(get("/items/1"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.message").value("Internal server error"));
+    }
+
+    @Test
+    void getItem_WhenETagMatches_ShouldReturn304WithoutReadingItem() throws Exception {
+        when(itemService.getItemTag(1L)).thenReturn(new EntityTag("2-5", 1_700_000_000_000L));
+
+        mockMvc.perform(get("/items/1").header("If-None-Match", "\"2-5\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"2-5\""))
+                .andExpect(content().string(""));
+
+        verify(itemService, never()).getItem(anyLong());
+    }
+
+    @Test
+    void getItem_WhenETagIsStale_ShouldReturn200() throws Exception {
+        when(itemService.getItemTag(1L)).thenReturn(new EntityTag("2-6", 1_700_000_000_000L));
+        when(itemService.getItem(1L)).thenReturn(testItemDTO);
+
+        mockMvc.perform(get("/items/1").header("If-None-Match", "\"2-5\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2-6\""));
+    }
+
+    @Test
+    void getItem_WhenNotModifiedSince_ShouldReturn304() throws Exception {
+        when(itemService.getItemTag(1L)).thenReturn(new EntityTag("2-5", 1_700_000_000_000L));
+
+        mockMvc.perform(get("/items/1").header("If-Modified-Since", "Tue, 14 Nov 2023 22:13:20 GMT"))
+                .andExpect(status().isNotModified());
+
+        verify(itemService, never()).getItem(anyLong());
+    }
+
     @Test
     void getItem_WhenNotFound_ShouldReturn404() throws Exception {
-        when(itemService.getItem(99L)).thenThrow(new ResourceNotFoundException("Item not found with id: 99"));
+        when(itemService.getItemTag(99L)).thenThrow(new ResourceNotFoundException("Item not found with id: 99"));
 
         mockMvc.perform(get("/items/99"))
                 .andExpect(status().isNotFound())
@@ -89,6 +157,51 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.data.content[0].name").value("Pen"));
     }
 
+    @Test
+    void searchItems_ShouldReturn200WithRankedItems() throws Exception {
+        when(itemService.searchItems("pe", 5, false, true)).thenReturn(List.of(testItemDTO));
+
+        mockMvc.perform(get("/items/search").param("q", "pe").param("limit", "5")
+                        .param("fuzzy", "false").param("includeStock", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Items retrieved successfully"))
+                .andExpect(jsonPath("$.data[0].name").value("Pen"))
+                .andExpect(jsonPath("$.data[0].remainingStock").value(10));
+    }
+
+    @Test
+    void searchItems_WithoutQuery_ShouldReturn400() throws Exception {
+        mockMvc.perform(get("/items/search"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Missing request parameter 'q'"));
+
+        verifyNoInteractions(itemService);
+    }
+
+    @Test
+    void scrollItems_ShouldReturn200WithCursorPage() throws Exception {
+        CursorPageDTO<ItemDTO> page = new CursorPageDTO<>(List.of(testItemDTO), null, false);
+        when(itemService.scrollItems(null, 10, Sort.by(Sort.Direction.ASC, "id"), true)).thenReturn(page);
+
+        mockMvc.perform(get("/items/scroll").param("includeStock", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[0].name").value("Pen"))
+                .andExpect(jsonPath("$.data.hasNext").value(false));
+    }
+
+    @Test
+    void getCacheStats_ShouldReturn200WithRegions() throws Exception {
+        when(itemService.getCacheStats()).thenReturn(List.of(
+                new CacheRegionStatsDTO("items", 3, 1, 1, 0.75),
+                new CacheRegionStatsDTO("items-by-name", 0, 0, 0, 0)));
+
+        mockMvc.perform(get("/items/cache"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].region").value("items"))
+                .andExpect(jsonPath("$.data[0].hitRatio").value(0.75))
+                .andExpect(jsonPath("$.data[1].hits").value(0));
+    }
+
     @Test
     void createItem_WithValidData_ShouldReturn200() throws Exception {
         ItemDTO requestDTO = new ItemDTO();
@@ -160,4 +273,14 @@ class ItemControllerTest {
 
         verify(itemService, times(1)).deleteItem(1L);
     }
+
+    @Test
+    void streamStock_WithItemIds_ShouldSubscribeToThoseItems() throws Exception {
+        when(stockStream.subscribe(List.of(1L, 2L))).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/items/stream").param("itemIds", "1,2"))
+                .andExpect(request().asyncStarted());
+
+        verify(stockStream).subscribe(List.of(1L, 2L));
+    }
 }
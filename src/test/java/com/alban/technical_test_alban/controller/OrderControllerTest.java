@@ -1,28 +1,48 @@
 package com.alban.technical_test_alban.controller;
 
+import com.alban.technical_test_alban.component.EntityTag;
+import com.alban.technical_test_alban.component.OptimisticRetryExecutor;
+import com.alban.technical_test_alban.dto.ExportFormat;
+import com.alban.technical_test_alban.dto.CursorPageDTO;
+import com.alban.technical_test_alban.dto.OrderBatchLineDTO;
+import com.alban.technical_test_alban.dto.OrderBatchResultDTO;
 import com.alban.technical_test_alban.dto.OrderDTO;
+import com.alban.technical_test_alban.dto.OrderTicketDTO;
+import com.alban.technical_test_alban.dto.OrderTicketStatus;
+import com.alban.technical_test_alban.entity.ItemStock;
 import com.alban.technical_test_alban.exception.GlobalExceptionHandler;
 import com.alban.technical_test_alban.exception.InsufficientStockException;
+import com.alban.technical_test_alban.exception.InvalidCursorException;
+import com.alban.technical_test_alban.exception.OrderIntakeClosedException;
+import com.alban.technical_test_alban.exception.OrderQueueFullException;
 import com.alban.technical_test_alban.exception.ResourceNotFoundException;
+import com.alban.technical_test_alban.service.ExportService;
+import com.alban.technical_test_alban.service.OrderIntakeService;
 import com.alban.technical_test_alban.service.OrderService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -36,7 +56,15 @@ class OrderControllerTest {
     @Mock
     private OrderService orderService;
 
-    @InjectMocks
+    @Spy
+    private OptimisticRetryExecutor retryExecutor = new OptimisticRetryExecutor(3, 0, 0);
+
+    @Mock
+    private ExportService exportService;
+
+    @Mock
+    private OrderIntakeService orderIntakeService;
+
     private OrderController orderController;
 
     private final ObjectMapper objectMapper = new ObjectMapper();
@@ -45,6 +73,7 @@ class OrderControllerTest {
 
     @BeforeEach
     void setUp() {
+        orderController = new OrderController(orderService, retryExecutor, exportService, orderIntakeService, 2);
         mockMvc = MockMvcBuilders.standaloneSetup(orderController)
                 .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
                 .setControllerAdvice(new GlobalExceptionHandler())
@@ -60,18 +89,30 @@ class OrderControllerTest {
 
     @Test
     void getOrder_WhenExists_ShouldReturn200() throws Exception {
+        when(orderService.getOrderTag(1L)).thenReturn(new EntityTag("3-1", 1_700_000_000_000L));
         when(orderService.getOrder(1L)).thenReturn(testOrderDTO);
 
         mockMvc.perform(get("/orders/1"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3-1\""))
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.data.orderNo").value("ORD-ABCD1234"))
                 .andExpect(jsonPath("$.data.itemName").value("Pen"));
     }
 
+    @Test
+    void getOrder_WhenETagMatches_ShouldReturn304WithoutReadingOrder() throws Exception {
+        when(orderService.getOrderTag(1L)).thenReturn(new EntityTag("3-1", 1_700_000_000_000L));
+
+        mockMvc.perform(get("/orders/1").header("If-None-Match", "\"3-1\""))
+                .andExpect(status().isNotModified());
+
+        verify(orderService, never()).getOrder(anyLong());
+    }
+
     @Test
     void getOrder_WhenNotFound_ShouldReturn404() throws Exception {
-        when(orderService.getOrder(99L)).thenThrow(new ResourceNotFoundException("Order not found with id: 99"));
+        when(orderService.getOrderTag(99L)).thenThrow(new ResourceNotFoundException("Order not found with id: 99"));
 
         mockMvc.perform(get("/orders/99"))
                 .andExpect(status().isNotFound())
@@ -89,6 +130,59 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.data.content[0].orderNo").value("ORD-ABCD1234"));
     }
 
+    @Test
+    void scrollOrders_ShouldReturn200WithNextToken() throws Exception {
+        CursorPageDTO<OrderDTO> page = new CursorPageDTO<>(List.of(testOrderDTO), "eyJpZCI6MX0", true);
+        when(orderService.scrollOrders("abc", 5, Sort.by(Sort.Direction.DESC, "orderNo"))).thenReturn(page);
+
+        mockMvc.perform(get("/orders/scroll").param("after", "abc").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[0].orderNo").value("ORD-ABCD1234"))
+                .andExpect(jsonPath("$.data.next").value("eyJpZCI6MX0"))
+                .andExpect(jsonPath("$.data.hasNext").value(true));
+    }
+
+    @Test
+    void scrollOrders_WithInvalidCursor_ShouldReturn400() throws Exception {
+        when(orderService.scrollOrders(eq("bad"), anyInt(), any(Sort.class)))
+                .thenThrow(new InvalidCursorException("Malformed cursor"));
+
+        mockMvc.perform(get("/orders/scroll").param("after", "bad"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Malformed cursor"));
+    }
+
+    @Test
+    void createOrders_ShouldReturn200WithPerLineResults() throws Exception {
+        OrderDTO line = new OrderDTO(null, 1L, null, 5, new BigDecimal("25.00"));
+        OrderBatchResultDTO result = new OrderBatchResultDTO(1, 1, List.of(
+                new OrderBatchLineDTO(0, true, "Order created successfully", testOrderDTO),
+                new OrderBatchLineDTO(1, false, "Item not found with id: 9", null)));
+        when(orderService.createOrders(anyList())).thenReturn(result);
+
+        mockMvc.perform(post("/orders/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(line, line))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Batch processed: 1 accepted, 1 rejected"))
+                .andExpect(jsonPath("$.data.lines[0].success").value(true))
+                .andExpect(jsonPath("$.data.lines[1].message").value("Item not found with id: 9"));
+    }
+
+    @Test
+    void createOrders_AboveMaxSize_ShouldReturn400() throws Exception {
+        OrderDTO line = new OrderDTO(null, 1L, null, 5, new BigDecimal("25.00"));
+
+        mockMvc.perform(post("/orders/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(line, line, line))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("A batch holds at most 2 orders, got 3"));
+
+        verify(orderService, never()).createOrders(anyList());
+    }
+
     @Test
     void createOrder_WithValidData_ShouldReturn200() throws Exception {
         OrderDTO requestDTO = new OrderDTO();
@@ -107,6 +201,56 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.data.orderNo").value("ORD-ABCD1234"));
     }
 
+    @Test
+    void submitOrder_ShouldReturn202WithTicket() throws Exception {
+        OrderTicketDTO ticket = new OrderTicketDTO("t-1", OrderTicketStatus.QUEUED, null, null, null, null);
+        when(orderIntakeService.submitOrder(any(OrderDTO.class))).thenReturn(ticket);
+
+        mockMvc.perform(post("/orders/async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(testOrderDTO)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/orders/tickets/t-1"))
+                .andExpect(jsonPath("$.data.status").value("QUEUED"));
+
+        verify(orderService, never()).createOrder(any());
+    }
+
+    @Test
+    void submitOrder_WhenQueueIsFull_ShouldReturn429() throws Exception {
+        when(orderIntakeService.submitOrder(any(OrderDTO.class))).thenThrow(new OrderQueueFullException("Order queue is full, please retry"));
+
+        mockMvc.perform(post("/orders/async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(testOrderDTO)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    @Test
+    void submitOrder_WhenShuttingDown_ShouldReturn503() throws Exception {
+        when(orderIntakeService.submitOrder(any(OrderDTO.class))).thenThrow(new OrderIntakeClosedException("Order intake is shutting down, please retry later"));
+
+        mockMvc.perform(post("/orders/async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(testOrderDTO)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("Order intake is shutting down, please retry later"));
+    }
+
+    @Test
+    void getTicket_ShouldReturn200WithOutcome() throws Exception {
+        when(orderIntakeService.getTicket("t-1")).thenReturn(
+                new OrderTicketDTO("t-1", OrderTicketStatus.CREATED, "Order created successfully", testOrderDTO, null, null));
+
+        mockMvc.perform(get("/orders/tickets/t-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.status").value("CREATED"))
+                .andExpect(jsonPath("$.data.order.orderNo").value("ORD-ABCD1234"));
+    }
+
     @Test
     void createOrder_WithMissingItemId_ShouldReturn400() throws Exception {
         OrderDTO invalidDTO = new OrderDTO();
@@ -139,6 +283,47 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.success").value(false));
     }
 
+    @Test
+    void createOrder_WithTransientConflict_ShouldRetryAndReturn200() throws Exception {
+        OrderDTO requestDTO = new OrderDTO();
+        requestDTO.setItemId(1L);
+        requestDTO.setQty(5);
+        requestDTO.setPrice(new BigDecimal("25.00"));
+
+        when(orderService.createOrder(any(OrderDTO.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(ItemStock.class, 1L))
+                .thenReturn(testOrderDTO);
+
+        mockMvc.perform(post("/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true));
+
+        verify(orderService, times(2)).createOrder(any(OrderDTO.class));
+        assertEquals(1, retryExecutor.getRetries());
+    }
+
+    @Test
+    void createOrder_WithPersistentConflict_ShouldReturn409() throws Exception {
+        OrderDTO requestDTO = new OrderDTO();
+        requestDTO.setItemId(1L);
+        requestDTO.setQty(5);
+        requestDTO.setPrice(new BigDecimal("25.00"));
+
+        when(orderService.createOrder(any(OrderDTO.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(ItemStock.class, 1L));
+
+        mockMvc.perform(post("/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.success").value(false));
+
+        verify(orderService, times(3)).createOrder(any(OrderDTO.class));
+        assertEquals(1, retryExecutor.getExhausted());
+    }
+
     @Test
     void updateOrder_WithValidData_ShouldReturn200() throws Exception {
         OrderDTO requestDTO = new OrderDTO();
@@ -177,4 +362,28 @@ class OrderControllerTest {
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.success").value(false));
     }
+
+    @Test
+    void exportOrders_ShouldStreamNdjsonByDefault() throws Exception {
+        doAnswer(invocation -> {
+            invocation.getArgument(0, OutputStream.class).write("{\"orderNo\":\"O1\"}\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(exportService).exportOrders(any(OutputStream.class), eq(ExportFormat.NDJSON));
+
+        mockMvc.perform(get("/orders/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"orders.ndjson\""))
+                .andExpect(content().string("{\"orderNo\":\"O1\"}\n"));
+    }
+
+    @Test
+    void exportOrders_WhenCsvAccepted_ShouldStreamCsv() throws Exception {
+        mockMvc.perform(get("/orders/export").accept("text/csv"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"orders.csv\""));
+
+        verify(exportService).exportOrders(any(OutputStream.class), eq(ExportFormat.CSV));
+    }
 }
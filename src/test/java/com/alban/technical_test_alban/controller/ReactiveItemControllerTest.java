@@ -0,0 +1,93 @@
+package com.alban.technical_test_alban.controller;
+
+import com.alban.technical_test_alban.dto.ItemDTO;
+import com.alban.technical_test_alban.dto.StockUpdateDTO;
+import com.alban.technical_test_alban.exception.GlobalExceptionHandler;
+import com.alban.technical_test_alban.exception.ResourceNotFoundException;
+import com.alban.technical_test_alban.service.ReactiveItemService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveItemControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private ReactiveItemService reactiveItemService;
+
+    @InjectMocks
+    private ReactiveItemController reactiveItemController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(reactiveItemController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void getItem_ShouldReturn200WithItem() throws Exception {
+        when(reactiveItemService.getItem(1L)).thenReturn(Mono.just(new ItemDTO(1L, "Pen", new BigDecimal("5.00"), 40)));
+
+        MvcResult result = mockMvc.perform(get("/rx/items/1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.name").value("Pen"))
+                .andExpect(jsonPath("$.data.remainingStock").value(40));
+    }
+
+    @Test
+    void getItem_WhenNotFound_ShouldReturn404() throws Exception {
+        when(reactiveItemService.getItem(9L)).thenReturn(Mono.error(new ResourceNotFoundException("Item not found with id: 9")));
+
+        MvcResult result = mockMvc.perform(get("/rx/items/9")).andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Item not found with id: 9"));
+    }
+
+    @Test
+    void getItems_ShouldReturn200WithItems() throws Exception {
+        when(reactiveItemService.getItems(List.of(2L, 1L))).thenReturn(Flux.just(
+                new ItemDTO(2L, "Book", BigDecimal.TEN, 3), new ItemDTO(1L, "Pen", BigDecimal.ONE, 40)));
+
+        MvcResult result = mockMvc.perform(get("/rx/items").param("ids", "2,1")).andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[0].name").value("Book"));
+    }
+
+    @Test
+    void getStock_ShouldReturn200WithStock() throws Exception {
+        when(reactiveItemService.getStock(1L)).thenReturn(Mono.just(new StockUpdateDTO(1L, 40)));
+
+        MvcResult result = mockMvc.perform(get("/rx/items/1/stock")).andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.remainingStock").value(40));
+    }
+}
@@ -0,0 +1,127 @@
+package com.alban.technical_test_alban.controller;
+
+import com.alban.technical_test_alban.component.Leaderboards;
+import com.alban.technical_test_alban.dto.ItemSalesDTO;
+import com.alban.technical_test_alban.dto.LeaderboardEntryDTO;
+import com.alban.technical_test_alban.dto.SalesReportDTO;
+import com.alban.technical_test_alban.dto.TrendDTO;
+import com.alban.technical_test_alban.dto.TrendPointDTO;
+import com.alban.technical_test_alban.entity.TimeBucket;
+import com.alban.technical_test_alban.exception.GlobalExceptionHandler;
+import com.alban.technical_test_alban.service.SalesService;
+import com.alban.technical_test_alban.service.TrendService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private SalesService salesService;
+
+    @Mock
+    private Leaderboards leaderboards;
+
+    @Mock
+    private TrendService trendService;
+
+    @InjectMocks
+    private ReportController reportController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(reportController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void getSalesReport_ShouldReturn200WithTotals() throws Exception {
+        SalesReportDTO report = new SalesReportDTO(6, new BigDecimal("270.00"),
+                List.of(new ItemSalesDTO(5L, "Shoe", 6L, new BigDecimal("270.00"))));
+        when(salesService.getSalesReport()).thenReturn(report);
+
+        mockMvc.perform(get("/reports/sales"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.totalUnits").value(6))
+                .andExpect(jsonPath("$.data.totalRevenue").value(270.00))
+                .andExpect(jsonPath("$.data.items[0].itemName").value("Shoe"));
+    }
+
+    @Test
+    void rebuildSales_ShouldReturn200WithItemCount() throws Exception {
+        when(salesService.rebuildSales()).thenReturn(6);
+
+        mockMvc.perform(post("/reports/sales/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Sales rollup rebuilt"))
+                .andExpect(jsonPath("$.data").value(6));
+    }
+
+    @Test
+    void getTopSellers_ShouldReturn200WithRankedItems() throws Exception {
+        when(leaderboards.topSellers(3)).thenReturn(List.of(
+                new LeaderboardEntryDTO(1, 5L, "Shoe", 6L), new LeaderboardEntryDTO(2, 1L, "Pen", 5L)));
+
+        mockMvc.perform(get("/reports/top-sellers").param("n", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[0].itemName").value("Shoe"))
+                .andExpect(jsonPath("$.data[1].rank").value(2));
+    }
+
+    @Test
+    void getLowStock_WithoutN_ShouldReturnTenItems() throws Exception {
+        when(leaderboards.lowStock(10)).thenReturn(List.of(new LeaderboardEntryDTO(1, 7L, "Bag", 0L)));
+
+        mockMvc.perform(get("/reports/low-stock"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Low stock items retrieved successfully"))
+                .andExpect(jsonPath("$.data[0].score").value(0));
+    }
+
+    @Test
+    void getTrend_ShouldParseBucketAndRange() throws Exception {
+        Instant from = Instant.parse("2024-03-01T00:00:00Z");
+        Instant to = Instant.parse("2024-03-02T00:00:00Z");
+        TrendDTO trend = new TrendDTO(1L, TimeBucket.HOUR, from, to, 6, new BigDecimal("30.00"), 0, 0,
+                List.of(new TrendPointDTO(Instant.parse("2024-03-01T10:00:00Z"), 6L, new BigDecimal("30.00"), 0L, 0L)));
+        when(trendService.getTrend(1L, TimeBucket.HOUR, from, to)).thenReturn(trend);
+
+        mockMvc.perform(get("/reports/trends")
+                        .param("itemId", "1")
+                        .param("bucket", "Hour")
+                        .param("from", "2024-03-01T00:00:00Z")
+                        .param("to", "2024-03-02T00:00:00Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.bucket").value("HOUR"))
+                .andExpect(jsonPath("$.data.unitsOrdered").value(6))
+                .andExpect(jsonPath("$.data.points.length()").value(1));
+    }
+
+    @Test
+    void getTrend_WithUnknownBucket_ShouldReturn400() throws Exception {
+        mockMvc.perform(get("/reports/trends").param("bucket", "week"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
+
+        verifyNoInteractions(trendService);
+    }
+}
@@ -0,0 +1,194 @@
+package com.alban.technical_test_alban.controller;
+
+import com.alban.technical_test_alban.TechnicalTestAlbanApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts the application in its own JVM, once on Tomcat's platform thread pool and once on
+ * virtual threads, and has 1k then 10k concurrent clients read items, orders and inventories,
+ * each sending its next request as soon as the previous one is answered. Prints throughput and
+ * p50 / p99 latency per mode and client count, and the pinned virtual threads the server reported.
+ * <p>
+ * Both modes queue requests without shedding any (no admission queue limit, Tomcat accepting all
+ * connections), so the numbers compare how each mode copes with the backlog. Client and server
+ * each hold one socket per client, {@code ulimit -n} must be above 10k.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class RequestThreadingBenchmarkTest {
+
+    private static final int[] CLIENTS = {1_000, 10_000};
+    private static final Duration WARMUP = Duration.ofSeconds(10);
+    private static final Duration MEASURE = Duration.ofSeconds(20);
+    private static final Duration STARTUP = Duration.ofMinutes(2);
+
+    private static final String[] PATHS = {"/items/", "/orders/", "/inventories/"};
+    // Ids present in data.sql for each path
+    private static final int[] IDS = {7, 10, 9};
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(30))
+            .build();
+
+    @Test
+    void compareRequestThreading() throws Exception {
+        for (boolean virtualThreads : new boolean[]{false, true}) {
+            String mode = virtualThreads ? "virtual" : "platform";
+            Path log = Files.createTempFile("benchmark-" + mode + "-", ".log");
+            int port = freePort();
+            Process server = start(port, virtualThreads, log);
+            try {
+                awaitStarted(server, port);
+                for (int clients : CLIENTS) {
+                    Result result = drive(port, clients);
+                    System.out.printf("%-8s %6d clients %8.0f req/s  p50 %8.2f ms  p99 %8.2f ms  failed %d%n",
+                            mode, clients, result.throughput(), result.p50(), result.p99(), result.failed());
+                    assertTrue(result.succeeded() > 0);
+                }
+            } finally {
+                server.destroy();
+                server.waitFor();
+            }
+            if (virtualThreads) {
+                long pinned = Files.readAllLines(log).stream().filter(line -> line.contains("pinned its carrier")).count();
+                System.out.printf("%-8s %d pinned virtual threads reported, server log %s%n", mode, pinned, log);
+            }
+        }
+    }
+
+    private Process start(int port, boolean virtualThreads, Path log) throws IOException {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        return new ProcessBuilder(java, "-Xmx1g", "-cp", System.getProperty("java.class.path"),
+                TechnicalTestAlbanApplication.class.getName(),
+                "--server.port=" + port,
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--spring.jpa.show-sql=false",
+                "--server.tomcat.max-connections=" + (CLIENTS[CLIENTS.length - 1] * 2),
+                "--server.tomcat.accept-count=" + CLIENTS[CLIENTS.length - 1],
+                "--app.datasource.admission.max-waiting=" + Integer.MAX_VALUE,
+                "--app.datasource.admission.timeout=1m",
+                "--logging.level.root=WARN")
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+    }
+
+    private void awaitStarted(Process server, int port) throws InterruptedException {
+        long deadline = System.nanoTime() + STARTUP.toNanos();
+        while (System.nanoTime() < deadline) {
+            assertTrue(server.isAlive(), "server exited during startup");
+            try {
+                if (send(port, "/items/1") == 200) {
+                    return;
+                }
+            } catch (IOException ex) {
+                // Not listening yet
+            }
+            Thread.sleep(500);
+        }
+        fail("server did not start within " + STARTUP);
+    }
+
+    private Result drive(int port, int clients) throws InterruptedException {
+        long measureFrom = System.nanoTime() + WARMUP.toNanos();
+        long measureTo = measureFrom + MEASURE.toNanos();
+        List<LongStream.Builder> latencies = new ArrayList<>(clients);
+        LongAdder failed = new LongAdder();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                LongStream.Builder measured = LongStream.builder();
+                latencies.add(measured);
+                executor.execute(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (true) {
+                        int resource = random.nextInt(PATHS.length);
+                        long started = System.nanoTime();
+                        if (started >= measureTo) {
+                            return;
+                        }
+                        int status;
+                        try {
+                            status = send(port, PATHS[resource] + (1 + random.nextInt(IDS[resource])));
+                        } catch (IOException ex) {
+                            status = -1;
+                        } catch (InterruptedException ex) {
+                            return;
+                        }
+                        if (started < measureFrom) {
+                            continue;
+                        }
+                        if (status == 200) {
+                            measured.add(System.nanoTime() - started);
+                        } else {
+                            failed.increment();
+                        }
+                    }
+                });
+            }
+        }
+
+        long[] all = latencies.stream().flatMapToLong(LongStream.Builder::build).toArray();
+        Arrays.sort(all);
+        return new Result(all, failed.sum());
+    }
+
+    private int send(int port, String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofMinutes(1))
+                .GET()
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Result(long[] latencies, long failed) {
+
+        long succeeded() {
+            return latencies.length;
+        }
+
+        double throughput() {
+            return latencies.length / (double) MEASURE.toSeconds();
+        }
+
+        double p50() {
+            return percentile(50);
+        }
+
+        double p99() {
+            return percentile(99);
+        }
+
+        private double percentile(int percent) {
+            return latencies.length == 0 ? 0 : latencies[(int) ((latencies.length - 1L) * percent / 100)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.alban.technical_test_alban.controller;
+
+import com.alban.technical_test_alban.dto.StockConsistencyDTO;
+import com.alban.technical_test_alban.dto.StockMismatchDTO;
+import com.alban.technical_test_alban.exception.GlobalExceptionHandler;
+import com.alban.technical_test_alban.service.StockService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private StockService stockService;
+
+    @InjectMocks
+    private StockController stockController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(stockController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void checkConsistency_WithMismatch_ShouldReturn200WithReport() throws Exception {
+        StockConsistencyDTO report = new StockConsistencyDTO(3, false,
+                List.of(new StockMismatchDTO(1L, 45, 50, 50)));
+        when(stockService.checkConsistency()).thenReturn(report);
+
+        mockMvc.perform(get("/stock/consistency"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.message").value("Stock mismatches found"))
+                .andExpect(jsonPath("$.data.mismatches[0].cachedStock").value(45));
+    }
+
+    @Test
+    void rebuildCache_ShouldReturn200WithCachedItemCount() throws Exception {
+        when(stockService.rebuildCache()).thenReturn(7);
+
+        mockMvc.perform(post("/stock/cache/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").value(7));
+
+        verify(stockService, times(1)).rebuildCache();
+    }
+}
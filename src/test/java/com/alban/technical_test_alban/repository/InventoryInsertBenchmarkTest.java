@@ -0,0 +1,129 @@
+package com.alban.technical_test_alban.repository;
+
+import com.alban.technical_test_alban.entity.Inventory;
+import com.alban.technical_test_alban.entity.Item;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.ColumnDefault;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bulk insert throughput of inventory rows with pooled-lo ids and JDBC batching, against
+ * a baseline of the same rows in a copy of the table whose ids come from an IDENTITY column,
+ * which needs one round-trip per row to read its key back and cannot be batched.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class InventoryInsertBenchmarkTest {
+
+    private static final int ROWS = 100_000;
+    private static final int CHUNK = 1_000;
+    private static final int WARM_UP_ROWS = 5 * CHUNK;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void insertInventoryRows() {
+        double identity = measure("IDENTITY", IdentityInventory.class, () -> {
+            IdentityInventory inventory = new IdentityInventory();
+            inventory.setItem(entityManager.getReference(Item.class, 1L));
+            return inventory;
+        });
+        double pooled = measure("pooled-lo + batch", Inventory.class, () -> {
+            Inventory inventory = new Inventory();
+            inventory.setItem(entityManager.getReference(Item.class, 1L));
+            inventory.setQty(1);
+            inventory.setType("T");
+            inventory.setCreatedAt(Instant.now());
+            return inventory;
+        });
+
+        System.out.printf("pooled-lo + batch vs IDENTITY: %.2fx%n", pooled / identity);
+    }
+
+    private double measure(String label, Class<?> entity, Supplier<Object> row) {
+        long before = count(entity);
+
+        // Warm up the insert path before measuring
+        insert(WARM_UP_ROWS, row);
+
+        long started = System.nanoTime();
+        insert(ROWS, row);
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+
+        assertEquals(before + WARM_UP_ROWS + ROWS, count(entity));
+        double rowsPerSecond = ROWS / seconds;
+        System.out.printf("%-18s inserted %d inventory rows in %.2fs, %.0f rows/sec%n", label, ROWS, seconds, rowsPerSecond);
+        return rowsPerSecond;
+    }
+
+    private void insert(int rows, Supplier<Object> row) {
+        for (int offset = 0; offset < rows; offset += CHUNK) {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = 0; i < CHUNK; i++) {
+                    entityManager.persist(row.get());
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+    }
+
+    private long count(Class<?> entity) {
+        return entityManager.createQuery("SELECT COUNT(e) FROM " + entity.getSimpleName() + " e", Long.class)
+                .getSingleResult();
+    }
+}
+
+/**
+ * Copy of the inventory columns with the IDENTITY id mapping used before pooled-lo sequences.
+ */
+@Entity
+@Table(name = "inventory_identity_baseline")
+class IdentityInventory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    private Item item;
+
+    private Integer qty = 1;
+
+    private String type = "T";
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt = Instant.now();
+
+    void setItem(Item item) {
+        this.item = item;
+    }
+}
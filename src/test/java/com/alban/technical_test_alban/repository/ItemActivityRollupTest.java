@@ -0,0 +1,102 @@
+package com.alban.technical_test_alban.repository;
+
+import com.alban.technical_test_alban.dto.InventoryDTO;
+import com.alban.technical_test_alban.dto.ItemDTO;
+import com.alban.technical_test_alban.dto.OrderDTO;
+import com.alban.technical_test_alban.dto.TrendDTO;
+import com.alban.technical_test_alban.entity.TimeBucket;
+import com.alban.technical_test_alban.service.InventoryService;
+import com.alban.technical_test_alban.service.ItemService;
+import com.alban.technical_test_alban.service.OrderService;
+import com.alban.technical_test_alban.service.TrendService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class ItemActivityRollupTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private TrendService trendService;
+
+    @Test
+    void movementWrites_ShouldKeepEveryBucketEqualToMovements() {
+
+        Long itemId = newItem("Trend Lamp");
+        Long inventoryId = inventoryService.createInventory(new InventoryDTO(null, itemId, null, 20, "T")).getId();
+        Long first = orderIdOf(orderService.createOrder(new OrderDTO(null, itemId, null, 3, new BigDecimal("2.50"))));
+        Long second = orderIdOf(orderService.createOrder(new OrderDTO(null, itemId, null, 4, new BigDecimal("2.00"))));
+
+
+        orderService.updateOrder(first, new OrderDTO(null, itemId, null, 2, new BigDecimal("3.00")));
+        orderService.deleteOrder(second);
+        inventoryService.updateInventory(inventoryId, new InventoryDTO(null, itemId, null, 15, "T"));
+        inventoryService.createInventory(new InventoryDTO(null, itemId, null, 4, "W"));
+
+
+        for (TimeBucket bucket : TimeBucket.values()) {
+            TrendDTO trend = trendOf(itemId, bucket);
+            assertEquals(2, trend.getUnitsOrdered(), bucket.name());
+            assertEquals(new BigDecimal("6.00"), trend.getRevenue(), bucket.name());
+            assertEquals(15, trend.getUnitsToppedUp(), bucket.name());
+            assertEquals(4, trend.getUnitsWithdrawn(), bucket.name());
+        }
+    }
+
+    @Test
+    void rebuildActivity_ShouldRestoreTheSameBuckets() {
+
+        Long itemId = newItem("Trend Desk");
+        inventoryService.createInventory(new InventoryDTO(null, itemId, null, 10, "T"));
+        orderService.createOrders(List.of(
+                new OrderDTO(null, itemId, null, 2, new BigDecimal("120.00")),
+                new OrderDTO(null, itemId, null, 1, new BigDecimal("100.00"))));
+        List<TrendDTO> before = List.of(trendOf(itemId, TimeBucket.MINUTE), trendOf(itemId, TimeBucket.DAY));
+
+
+        trendService.rebuildActivity();
+
+
+        List<TrendDTO> after = List.of(trendOf(itemId, TimeBucket.MINUTE), trendOf(itemId, TimeBucket.DAY));
+        for (int i = 0; i < before.size(); i++) {
+            assertEquals(before.get(i).getPoints(), after.get(i).getPoints());
+        }
+        assertEquals(3, after.get(1).getUnitsOrdered());
+    }
+
+    private Long newItem(String name) {
+        ItemDTO item = new ItemDTO();
+        item.setName(name);
+        item.setPrice(new BigDecimal("1.00"));
+        return itemService.createItem(item).getId();
+    }
+
+    private Long orderIdOf(OrderDTO order) {
+        return orderRepository.findByOrderNo(order.getOrderNo()).orElseThrow().getId();
+    }
+
+    private TrendDTO trendOf(Long itemId, TimeBucket bucket) {
+        // Wide enough to include the movements whichever bucket they fell in
+        Instant to = Instant.now().plus(1, ChronoUnit.MINUTES);
+        return trendService.getTrend(itemId, bucket, to.minus(2, ChronoUnit.DAYS), to);
+    }
+}
@@ -0,0 +1,53 @@
+package com.alban.technical_test_alban.repository;
+
+import com.alban.technical_test_alban.dto.ItemDTO;
+import com.alban.technical_test_alban.service.ItemService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Creates items one by one through the service, duplicate name check included, and prints
+ * the throughput per slice. A flat rate means the check does not grow with the catalogue.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class ItemCatalogueLoadBenchmarkTest {
+
+    private static final int ITEMS = 500_000;
+    private static final int SLICE = 50_000;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Test
+    void createItemCatalogue() {
+        long before = itemRepository.count();
+        long started = System.nanoTime();
+
+        for (int offset = 0; offset < ITEMS; offset += SLICE) {
+            long sliceStarted = System.nanoTime();
+            for (int i = offset; i < offset + SLICE; i++) {
+                ItemDTO item = new ItemDTO();
+                item.setName("catalogue-" + i);
+                item.setPrice(BigDecimal.ONE);
+                itemService.createItem(item);
+            }
+            double seconds = (System.nanoTime() - sliceStarted) / 1_000_000_000.0;
+            System.out.printf("items %7d-%7d %8.0f items/sec%n", offset, offset + SLICE, SLICE / seconds);
+        }
+
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        assertEquals(before + ITEMS, itemRepository.count());
+        System.out.printf("created %d items in %.2fs, %.0f items/sec%n", ITEMS, seconds, ITEMS / seconds);
+    }
+}
@@ -0,0 +1,163 @@
+package com.alban.technical_test_alban.repository;
+
+import com.alban.technical_test_alban.component.Leaderboards;
+import com.alban.technical_test_alban.dto.InventoryDTO;
+import com.alban.technical_test_alban.dto.ItemDTO;
+import com.alban.technical_test_alban.dto.ItemSalesDTO;
+import com.alban.technical_test_alban.dto.LeaderboardEntryDTO;
+import com.alban.technical_test_alban.dto.OrderDTO;
+import com.alban.technical_test_alban.dto.SalesReportDTO;
+import com.alban.technical_test_alban.service.InventoryService;
+import com.alban.technical_test_alban.service.ItemService;
+import com.alban.technical_test_alban.service.OrderService;
+import com.alban.technical_test_alban.service.SalesService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class ItemSalesRollupTest {
+
+    @Autowired
+    private ItemSalesRepository itemSalesRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private SalesService salesService;
+
+    @Autowired
+    private Leaderboards leaderboards;
+
+    @Test
+    void orderWrites_ShouldKeepRollupEqualToOrders() {
+
+        Long itemId = newStockedItem("Rollup Lamp");
+        Long first = orderIdOf(orderService.createOrder(new OrderDTO(null, itemId, null, 3, new BigDecimal("2.50"))));
+        Long second = orderIdOf(orderService.createOrder(new OrderDTO(null, itemId, null, 4, new BigDecimal("2.00"))));
+
+
+        orderService.updateOrder(first, new OrderDTO(null, itemId, null, 2, new BigDecimal("3.00")));
+        orderService.deleteOrder(second);
+        orderService.createOrder(new OrderDTO(null, itemId, null, 1, new BigDecimal("9.99")));
+
+
+        ItemSalesDTO sales = salesOf(itemId);
+        assertEquals(3L, sales.getUnitsSold());
+        assertEquals(new BigDecimal("15.99"), sales.getRevenue());
+    }
+
+    @Test
+    void rebuildSales_ShouldRestoreTheSameReport() {
+
+        Long itemId = newStockedItem("Rollup Desk");
+        orderService.createOrder(new OrderDTO(null, itemId, null, 2, new BigDecimal("120.00")));
+        SalesReportDTO before = salesService.getSalesReport();
+        itemSalesRepository.deleteAllInBatch();
+
+
+        salesService.rebuildSales();
+
+
+        assertEquals(before, salesService.getSalesReport());
+    }
+
+    @Test
+    void adjustSales_WhenRowIsMissing_ShouldRebuildItFromOrders() {
+
+        Long itemId = newStockedItem("Rollup Shelf");
+        orderService.createOrder(new OrderDTO(null, itemId, null, 2, new BigDecimal("7.00")));
+        itemSalesRepository.deleteById(itemId);
+
+
+        orderService.createOrder(new OrderDTO(null, itemId, null, 1, new BigDecimal("7.00")));
+
+
+        ItemSalesDTO sales = salesOf(itemId);
+        assertEquals(3L, sales.getUnitsSold());
+        assertEquals(new BigDecimal("21.00"), sales.getRevenue());
+    }
+
+    @Test
+    void orderWrites_ShouldKeepLeaderboardsEqualToRollupAndBalances() {
+
+        Long itemId = newStockedItem("Rollup Stool");
+        Long orderId = orderIdOf(orderService.createOrder(new OrderDTO(null, itemId, null, 4, new BigDecimal("5.00"))));
+
+
+        orderService.updateOrder(orderId, new OrderDTO(null, itemId, null, 6, new BigDecimal("5.00")));
+
+
+        LeaderboardEntryDTO seller = leaderboards.topSellers(Leaderboards.MAX_SIZE).stream()
+                .filter(entry -> entry.getItemId().equals(itemId))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(salesOf(itemId).getUnitsSold(), seller.getScore());
+        LeaderboardEntryDTO stock = leaderboards.lowStock(Leaderboards.MAX_SIZE).stream()
+                .filter(entry -> entry.getItemId().equals(itemId))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(94L, stock.getScore());
+    }
+
+    @Test
+    void rebuildSales_ThenOrderingAnItemThatDroppedOut_ShouldUpdateTopSellers() {
+
+        Long itemId = newStockedItem("Rollup Bench");
+        Long orderId = orderIdOf(orderService.createOrder(new OrderDTO(null, itemId, null, 4, new BigDecimal("5.00"))));
+        // Removed behind the API, the rollup keeps the units until it is rebuilt
+        orderRepository.deleteById(orderId);
+
+
+        salesService.rebuildSales();
+        long afterRebuild = topSellerScoreOf(itemId);
+        orderService.createOrder(new OrderDTO(null, itemId, null, 1, new BigDecimal("5.00")));
+
+
+        assertEquals(0L, afterRebuild);
+        assertEquals(1L, salesOf(itemId).getUnitsSold());
+        assertEquals(1L, topSellerScoreOf(itemId));
+    }
+
+    private long topSellerScoreOf(Long itemId) {
+        return leaderboards.topSellers(Leaderboards.MAX_SIZE).stream()
+                .filter(entry -> entry.getItemId().equals(itemId))
+                .findFirst()
+                .map(LeaderboardEntryDTO::getScore)
+                .orElse(0L);
+    }
+
+    private Long newStockedItem(String name) {
+        ItemDTO item = new ItemDTO();
+        item.setName(name);
+        item.setPrice(new BigDecimal("1.00"));
+        Long itemId = itemService.createItem(item).getId();
+        inventoryService.createInventory(new InventoryDTO(null, itemId, null, 100, "T"));
+        return itemId;
+    }
+
+    private Long orderIdOf(OrderDTO order) {
+        return orderRepository.findByOrderNo(order.getOrderNo()).orElseThrow().getId();
+    }
+
+    private ItemSalesDTO salesOf(Long itemId) {
+        return salesService.getSalesReport().getItems().stream()
+                .filter(sales -> sales.getItemId().equals(itemId))
+                .findFirst()
+                .orElseThrow();
+    }
+}
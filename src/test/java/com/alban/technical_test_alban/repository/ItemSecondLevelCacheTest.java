@@ -0,0 +1,105 @@
+package com.alban.technical_test_alban.repository;
+
+import com.alban.technical_test_alban.dto.ItemDTO;
+import com.alban.technical_test_alban.entity.Item;
+import com.alban.technical_test_alban.service.ItemService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class ItemSecondLevelCacheTest {
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void findById_AfterFirstLoad_ShouldNotQueryTheDatabase() {
+
+        Long id = itemService.createItem(newItem("Cache Lamp")).getId();
+        itemRepository.findById(id);
+        long statements = statistics.getPrepareStatementCount();
+
+
+        Optional<Item> item = itemRepository.findById(id);
+
+
+        assertEquals("Cache Lamp", item.orElseThrow().getName());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findByName_AfterFirstQuery_ShouldNotQueryTheDatabase() {
+
+        itemService.createItem(newItem("Cache Chair"));
+        itemRepository.findByName("Cache Chair");
+        long statements = statistics.getPrepareStatementCount();
+
+
+        Optional<Item> item = itemRepository.findByName("Cache Chair");
+
+
+        assertTrue(item.isPresent());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void updateItem_ShouldInvalidateCachedEntityAndNameQuery() {
+
+        Long id = itemService.createItem(newItem("Cache Table")).getId();
+        itemRepository.findById(id);
+        assertTrue(itemRepository.findByName("Cache Table").isPresent());
+
+
+        itemService.updateItem(id, newItem("Cache Desk"));
+
+
+        assertEquals("Cache Desk", itemRepository.findById(id).orElseThrow().getName());
+        assertTrue(itemRepository.findByName("Cache Table").isEmpty());
+        assertTrue(itemRepository.findByName("Cache Desk").isPresent());
+    }
+
+    @Test
+    void deleteItem_ShouldEvictCachedEntityAndNameQuery() {
+
+        Long id = itemService.createItem(newItem("Cache Stool")).getId();
+        itemRepository.findById(id);
+        assertTrue(itemRepository.findByName("Cache Stool").isPresent());
+
+
+        itemService.deleteItem(id);
+
+
+        assertTrue(itemRepository.findById(id).isEmpty());
+        assertTrue(itemRepository.findByName("Cache Stool").isEmpty());
+    }
+
+    private ItemDTO newItem(String name) {
+        ItemDTO item = new ItemDTO();
+        item.setName(name);
+        item.setPrice(new BigDecimal("12.50"));
+        return item;
+    }
+}
@@ -0,0 +1,123 @@
+package com.alban.technical_test_alban.service.impl;
+
+import com.alban.technical_test_alban.component.StockAlertEngine;
+import com.alban.technical_test_alban.dto.ReorderThresholdDTO;
+import com.alban.technical_test_alban.dto.StockAlertDTO;
+import com.alban.technical_test_alban.entity.Item;
+import com.alban.technical_test_alban.entity.ReorderThreshold;
+import com.alban.technical_test_alban.event.ReorderThresholdChangedEvent;
+import com.alban.technical_test_alban.exception.ResourceNotFoundException;
+import com.alban.technical_test_alban.repository.ItemRepository;
+import com.alban.technical_test_alban.repository.ReorderThresholdRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AlertServiceImplTest {
+
+    @Mock
+    private ReorderThresholdRepository reorderThresholdRepository;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private StockAlertEngine alertEngine;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private AlertServiceImpl alertService;
+
+    private Item testItem;
+
+    @BeforeEach
+    void setUp() {
+        alertService = new AlertServiceImpl(reorderThresholdRepository, itemRepository, alertEngine, eventPublisher, 5);
+
+        testItem = new Item();
+        testItem.setId(1L);
+        testItem.setName("Pen");
+        testItem.setPrice(new BigDecimal("5.00"));
+    }
+
+    @Test
+    void getActiveAlerts_ShouldOnlyReadNamesOfAlertedItems() {
+        
+        Instant raisedAt = Instant.parse("2024-03-01T10:15:30Z");
+        when(alertEngine.activeAlerts()).thenReturn(List.of(new StockAlertEngine.Alert(1L, 2, 5, 5, raisedAt)));
+        when(itemRepository.findAllById(List.of(1L))).thenReturn(List.of(testItem));
+
+        
+        List<StockAlertDTO> alerts = alertService.getActiveAlerts();
+
+        
+        assertEquals(List.of(new StockAlertDTO(1L, "Pen", 2, 5, 5, raisedAt)), alerts);
+    }
+
+    @Test
+    void getActiveAlerts_WithoutAlerts_ShouldNotQuery() {
+        
+        when(alertEngine.activeAlerts()).thenReturn(List.of());
+
+        
+        assertTrue(alertService.getActiveAlerts().isEmpty());
+
+        
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void setThreshold_WithoutHysteresis_ShouldApplyDefaultAndNotifyEngine() {
+        
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(testItem));
+        when(reorderThresholdRepository.save(any(ReorderThreshold.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        
+        ReorderThresholdDTO saved = alertService.setThreshold(1L, new ReorderThresholdDTO(null, 10, null));
+
+        
+        assertEquals(new ReorderThresholdDTO(1L, 10, 5), saved);
+        verify(reorderThresholdRepository, times(1)).save(new ReorderThreshold(1L, 10, 5));
+        verify(eventPublisher, times(1)).publishEvent(new ReorderThresholdChangedEvent(1L, 10, 5));
+    }
+
+    @Test
+    void setThreshold_WhenItemNotFound_ShouldThrowResourceNotFoundException() {
+        
+        when(itemRepository.findById(9L)).thenReturn(Optional.empty());
+
+        
+        assertThrows(ResourceNotFoundException.class, () -> alertService.setThreshold(9L, new ReorderThresholdDTO(null, 10, 2)));
+
+        
+        verify(reorderThresholdRepository, never()).save(any());
+    }
+
+    @Test
+    void deleteThreshold_ShouldRemoveItAndNotifyEngine() {
+        
+        ReorderThreshold threshold = new ReorderThreshold(1L, 10, 5);
+        when(reorderThresholdRepository.findById(1L)).thenReturn(Optional.of(threshold));
+
+        
+        alertService.deleteThreshold(1L);
+
+        
+        verify(reorderThresholdRepository, times(1)).delete(threshold);
+        verify(eventPublisher, times(1)).publishEvent(new ReorderThresholdChangedEvent(1L, null, null));
+    }
+}
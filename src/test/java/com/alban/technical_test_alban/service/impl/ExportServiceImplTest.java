@@ -0,0 +1,93 @@
+package com.alban.technical_test_alban.service.impl;
+
+import com.alban.technical_test_alban.dto.ExportFormat;
+import com.alban.technical_test_alban.dto.InventoryDTO;
+import com.alban.technical_test_alban.dto.OrderDTO;
+import com.alban.technical_test_alban.repository.InventoryRepository;
+import com.alban.technical_test_alban.repository.OrderRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportServiceImplTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    private ExportServiceImpl exportService;
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    @BeforeEach
+    void setUp() {
+        exportService = new ExportServiceImpl(orderRepository, inventoryRepository, new ObjectMapper());
+    }
+
+    @Test
+    void exportOrders_AsNdjson_ShouldWriteOneObjectPerLineAndCloseTheCursor() {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(orderRepository.streamAllAsDTO()).thenReturn(Stream.of(
+                new OrderDTO("O1", 1L, "Pen", 2, new BigDecimal("5.00")),
+                new OrderDTO("O2", 2L, "Book", 1, new BigDecimal("10.50"))).onClose(() -> closed.set(true)));
+        
+        long written = exportService.exportOrders(out, ExportFormat.NDJSON);
+        
+        assertEquals(2, written);
+        assertEquals("{\"orderNo\":\"O1\",\"itemId\":1,\"itemName\":\"Pen\",\"qty\":2,\"price\":5.00}\n"
+                + "{\"orderNo\":\"O2\",\"itemId\":2,\"itemName\":\"Book\",\"qty\":1,\"price\":10.50}\n", output());
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void exportOrders_AsCsv_ShouldWriteHeaderAndQuoteSpecialCharacters() {
+        when(orderRepository.streamAllAsDTO()).thenReturn(Stream.of(
+                new OrderDTO("O1", 1L, "Pen, \"blue\"", 2, new BigDecimal("1E+3"))));
+        
+        long written = exportService.exportOrders(out, ExportFormat.CSV);
+        
+        assertEquals(1, written);
+        assertEquals("orderNo,itemId,itemName,qty,price\nO1,1,\"Pen, \"\"blue\"\"\",2,1000\n", output());
+    }
+
+    @Test
+    void exportInventories_AsCsv_ShouldWriteEveryRow() {
+        when(inventoryRepository.streamAllAsDTO()).thenReturn(Stream.of(
+                new InventoryDTO(1L, 1L, "Pen", 10, "T"),
+                new InventoryDTO(2L, 1L, "Pen", 3, "W")));
+        
+        long written = exportService.exportInventories(out, ExportFormat.CSV);
+        
+        assertEquals(2, written);
+        assertEquals("id,itemId,itemName,qty,type\n1,1,Pen,10,T\n2,1,Pen,3,W\n", output());
+    }
+
+    @Test
+    void exportInventories_WhenEmpty_ShouldWriteNothingAsNdjson() {
+        when(inventoryRepository.streamAllAsDTO()).thenReturn(Stream.empty());
+        
+        long written = exportService.exportInventories(out, ExportFormat.NDJSON);
+        
+        assertEquals(0, written);
+        assertEquals("", output());
+    }
+
+    private String output() {
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
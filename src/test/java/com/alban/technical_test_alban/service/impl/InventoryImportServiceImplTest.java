@@ -0,0 +1,141 @@
+package com.alban.technical_test_alban.service.impl;
+
+import com.alban.technical_test_alban.component.OptimisticRetryExecutor;
+import com.alban.technical_test_alban.dto.InventoryBatchLineDTO;
+import com.alban.technical_test_alban.dto.InventoryBatchResultDTO;
+import com.alban.technical_test_alban.dto.InventoryDTO;
+import com.alban.technical_test_alban.dto.InventoryImportFormat;
+import com.alban.technical_test_alban.dto.InventoryImportRejectionDTO;
+import com.alban.technical_test_alban.dto.InventoryImportResultDTO;
+import com.alban.technical_test_alban.service.InventoryService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryImportServiceImplTest {
+
+    @Mock
+    private InventoryService inventoryService;
+
+    private InventoryImportServiceImpl importService;
+
+    private final List<List<InventoryDTO>> writtenChunks = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        importService = new InventoryImportServiceImpl(inventoryService,
+                new OptimisticRetryExecutor(3, 0, 0), new ObjectMapper(), 2, 10);
+    }
+
+    @Test
+    void importInventories_WithCsv_ShouldWriteInChunksAndSkipHeader() {
+        acceptAllLines();
+        String csv = "itemId,qty,type\n1,5,T\n2,3,W\n\n3,1,T\n";
+
+        InventoryImportResultDTO result = importService.importInventories(new StringReader(csv), InventoryImportFormat.CSV);
+
+        assertEquals(3, result.getProcessedRows());
+        assertEquals(3, result.getImportedRows());
+        assertEquals(0, result.getRejectedRows());
+        assertTrue(result.isCompleted());
+        assertEquals(5, result.getLastCommittedLine());
+        assertEquals(2, writtenChunks.size());
+        assertEquals(new InventoryDTO(null, 2L, null, 3, "W"), writtenChunks.get(0).get(1));
+        assertEquals(1, writtenChunks.get(1).size());
+        verify(inventoryService, times(2)).createInventories(anyList());
+    }
+
+    @Test
+    void importInventories_WithNdjson_ShouldReportRejectedLinesWithFileLineNumbers() {
+        when(inventoryService.createInventories(anyList())).thenAnswer(invocation -> {
+            List<InventoryDTO> chunk = invocation.getArgument(0);
+            List<InventoryBatchLineDTO> lines = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                boolean known = chunk.get(i).getItemId() != 9L;
+                lines.add(new InventoryBatchLineDTO(i, known, known ? "ok" : "Item not found with id: 9", null));
+            }
+            int accepted = (int) lines.stream().filter(InventoryBatchLineDTO::isSuccess).count();
+            return new InventoryBatchResultDTO(accepted, chunk.size() - accepted, lines);
+        });
+        String ndjson = """
+                {"itemId":1,"qty":5,"type":"T"}
+                not json
+                {"itemId":9,"qty":1,"type":"T"}
+                {"itemId":2,"qty":2,"type":"W"}
+                """;
+
+        InventoryImportResultDTO result = importService.importInventories(new StringReader(ndjson), InventoryImportFormat.NDJSON);
+
+        assertEquals(4, result.getProcessedRows());
+        assertEquals(2, result.getImportedRows());
+        assertEquals(2, result.getRejectedRows());
+        assertEquals(List.of(
+                new InventoryImportRejectionDTO(2, "Malformed line"),
+                new InventoryImportRejectionDTO(3, "Item not found with id: 9")), result.getRejections());
+    }
+
+    @Test
+    void importInventories_WithManyBadLines_ShouldCapReportedRejections() {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 25; i++) {
+            csv.append("x,y\n");
+        }
+
+        InventoryImportResultDTO result = importService.importInventories(new StringReader(csv.toString()), InventoryImportFormat.CSV);
+
+        assertEquals(25, result.getRejectedRows());
+        assertEquals(10, result.getRejections().size());
+        verifyNoInteractions(inventoryService);
+    }
+
+    @Test
+    void importInventories_WhenAChunkCannotBeWritten_ShouldStopWithCommittedCounts() {
+        List<List<InventoryDTO>> committed = new ArrayList<>();
+        when(inventoryService.createInventories(anyList())).thenAnswer(invocation -> {
+            List<InventoryDTO> chunk = invocation.getArgument(0);
+            if (!committed.isEmpty()) {
+                throw new IllegalStateException("Database unavailable");
+            }
+            committed.add(List.copyOf(chunk));
+            return new InventoryBatchResultDTO(chunk.size(), 0, List.of(
+                    new InventoryBatchLineDTO(0, true, "ok", null), new InventoryBatchLineDTO(1, true, "ok", null)));
+        });
+        String csv = "itemId,qty,type\n1,5,T\nbad\n2,3,W\nbad\n3,1,T\nbad\n4,1,T\n5,1,T\n";
+
+        InventoryImportResultDTO result = importService.importInventories(new StringReader(csv), InventoryImportFormat.CSV);
+
+        assertFalse(result.isCompleted());
+        // Lines 2 to 5 are done, the chunk starting at line 6 failed and nothing after it was read
+        assertEquals(5, result.getLastCommittedLine());
+        assertEquals(4, result.getProcessedRows());
+        assertEquals(2, result.getImportedRows());
+        assertEquals(2, result.getRejectedRows());
+        assertEquals(List.of(new InventoryImportRejectionDTO(3, "Malformed line"),
+                new InventoryImportRejectionDTO(5, "Malformed line")), result.getRejections());
+        assertEquals("Rows from line 6 on could not be written, resume after line 5", result.getFailure());
+    }
+
+    private void acceptAllLines() {
+        when(inventoryService.createInventories(anyList())).thenAnswer(invocation -> {
+            List<InventoryDTO> chunk = new ArrayList<>(invocation.<List<InventoryDTO>>getArgument(0));
+            writtenChunks.add(chunk);
+            List<InventoryBatchLineDTO> lines = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                lines.add(new InventoryBatchLineDTO(i, true, "ok", null));
+            }
+            return new InventoryBatchResultDTO(chunk.size(), 0, lines);
+        });
+    }
+}
@@ -1,27 +1,43 @@
 package com.alban.technical_test_alban.service.impl;
 
+import com.alban.technical_test_alban.component.EntityTag;
+import com.alban.technical_test_alban.component.EntityVersions;
+import com.alban.technical_test_alban.component.StockReservationEngine;
+import com.alban.technical_test_alban.dto.InventoryBatchLineDTO;
+import com.alban.technical_test_alban.dto.InventoryBatchResultDTO;
 import com.alban.technical_test_alban.dto.InventoryDTO;
 import com.alban.technical_test_alban.entity.Inventory;
 import com.alban.technical_test_alban.entity.Item;
+import com.alban.technical_test_alban.event.InventoryChangedEvent;
 import com.alban.technical_test_alban.exception.InsufficientStockException;
 import com.alban.technical_test_alban.exception.ResourceNotFoundException;
 import com.alban.technical_test_alban.repository.InventoryRepository;
 import com.alban.technical_test_alban.repository.ItemRepository;
+import com.alban.technical_test_alban.repository.LineVersion;
 import com.alban.technical_test_alban.service.ItemService;
+import com.alban.technical_test_alban.service.TrendService;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -39,6 +55,21 @@ class InventoryServiceImplTest {
     @Mock
     private ItemService itemService;
 
+    @Mock
+    private TrendService trendService;
+
+    @Mock
+    private StockReservationEngine reservationEngine;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Mock
+    private EntityVersions entityVersions;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private InventoryServiceImpl inventoryService;
 
@@ -58,6 +89,8 @@ class InventoryServiceImplTest {
         testInventory.setItem(testItem);
         testInventory.setQty(50);
         testInventory.setType("T"); // Top-up
+        testInventory.setVersion(0L);
+        testInventory.setCreatedAt(Instant.parse("2024-03-01T10:15:30Z"));
 
         testInventoryDTO = new InventoryDTO();
         testInventoryDTO.setId(1L);
@@ -70,7 +103,8 @@ class InventoryServiceImplTest {
     @Test
     void getInventory_WhenInventoryExists_ShouldReturnInventoryDTO() {
         
-        when(inventoryRepository.findById(1L)).thenReturn(Optional.of(testInventory));
+        when(inventoryRepository.findDTOById(1L)).thenReturn(Optional.of(
+                new InventoryDTO(1L, 1L, "Test Item", 50, "T")));
 
         // Act
         InventoryDTO result = inventoryService.getInventory(1L);
@@ -82,32 +116,72 @@ class InventoryServiceImplTest {
         assertEquals("Test Item", result.getItemName());
         assertEquals(50, result.getQty());
         assertEquals("T", result.getType());
-        verify(inventoryRepository, times(1)).findById(1L);
+        verify(inventoryRepository, times(1)).findDTOById(1L);
+        verify(inventoryRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void getInventoryTag_WhenVersionsKnown_ShouldNotTouchDatabase() {
+        
+        EntityTag tag = new EntityTag("4-2", 1_000L);
+        when(entityVersions.inventory(1L)).thenReturn(Optional.of(tag));
+
+        // Act
+        EntityTag result = inventoryService.getInventoryTag(1L);
+
+        // Assert
+        assertEquals(tag, result);
+        verifyNoInteractions(inventoryRepository);
+    }
+
+    @Test
+    void getInventoryTag_WhenVersionsUnknown_ShouldRecordInventoryAndItemVersions() {
+        
+        EntityTag tag = new EntityTag("4-2", 1_000L);
+        LineVersion version = mock(LineVersion.class);
+        when(version.getVersion()).thenReturn(4L);
+        when(version.getItemId()).thenReturn(1L);
+        when(version.getItemVersion()).thenReturn(2L);
+        when(entityVersions.inventory(1L)).thenReturn(Optional.empty());
+        when(inventoryRepository.findVersionById(1L)).thenReturn(Optional.of(version));
+        when(entityVersions.recordInventory(1L, 1L, 4L, 2L)).thenReturn(tag);
+
+        // Act
+        EntityTag result = inventoryService.getInventoryTag(1L);
+
+        // Assert
+        assertEquals(tag, result);
+    }
+
+    @Test
+    void getInventoryTag_WhenInventoryDoesNotExist_ShouldThrowResourceNotFoundException() {
+        
+        when(entityVersions.inventory(1L)).thenReturn(Optional.empty());
+        when(inventoryRepository.findVersionById(1L)).thenReturn(Optional.empty());
+
+        
+        assertThrows(ResourceNotFoundException.class, () -> inventoryService.getInventoryTag(1L));
     }
 
     @Test
     void getInventory_WhenInventoryDoesNotExist_ShouldThrowResourceNotFoundException() {
         
-        when(inventoryRepository.findById(1L)).thenReturn(Optional.empty());
+        when(inventoryRepository.findDTOById(1L)).thenReturn(Optional.empty());
 
         
         assertThrows(ResourceNotFoundException.class, () -> inventoryService.getInventory(1L));
-        verify(inventoryRepository, times(1)).findById(1L);
+        verify(inventoryRepository, times(1)).findDTOById(1L);
     }
 
     @Test
     void getAllInventories_ShouldReturnPageOfInventoryDTOs() {
         
-        Inventory inventory2 = new Inventory();
-        inventory2.setId(2L);
-        inventory2.setItem(testItem);
-        inventory2.setQty(30);
-        inventory2.setType("W"); // Withdrawal
-
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Inventory> inventoryPage = new PageImpl<>(Arrays.asList(testInventory, inventory2));
+        Page<InventoryDTO> inventoryPage = new PageImpl<>(Arrays.asList(
+                new InventoryDTO(1L, 1L, "Test Item", 50, "T"),
+                new InventoryDTO(2L, 1L, "Test Item", 30, "W"))); // Withdrawal
 
-        when(inventoryRepository.findAll(pageable)).thenReturn(inventoryPage);
+        when(inventoryRepository.findAllAsDTO(pageable)).thenReturn(inventoryPage);
 
         // Act
         Page<InventoryDTO> result = inventoryService.getAllInventories(pageable);
@@ -117,7 +191,8 @@ class InventoryServiceImplTest {
         assertEquals(2, result.getContent().size());
         assertEquals("T", result.getContent().get(0).getType());
         assertEquals("W", result.getContent().get(1).getType());
-        verify(inventoryRepository, times(1)).findAll(pageable);
+        verify(inventoryRepository, times(1)).findAllAsDTO(pageable);
+        verify(inventoryRepository, never()).findAll(any(Pageable.class));
     }
 
     @Test
@@ -138,7 +213,10 @@ class InventoryServiceImplTest {
         assertNotNull(result);
         verify(itemRepository, times(1)).findById(1L);
         verify(itemService, never()).getRemainingStock(anyLong()); // No need to check stock for top-up
+        verify(reservationEngine, never()).lock(any());
         verify(inventoryRepository, times(1)).save(any(Inventory.class));
+        verify(itemService, times(1)).adjustStock(1L, 100);
+        verify(trendService, times(1)).adjustInventoryActivity(eq(1L), any(Instant.class), eq("T"), eq(100L));
     }
 
     @Test
@@ -198,6 +276,42 @@ class InventoryServiceImplTest {
         verify(inventoryRepository, never()).save(any(Inventory.class));
     }
 
+    @Test
+    void createInventories_ShouldApplyStockEffectsInLineOrder() {
+       
+        List<InventoryDTO> request = List.of(
+                new InventoryDTO(null, 1L, null, 5, "W"),
+                new InventoryDTO(null, 1L, null, 10, "T"),
+                new InventoryDTO(null, 1L, null, 8, "W"),
+                new InventoryDTO(null, 1L, null, 3, "W"),
+                new InventoryDTO(null, 9L, null, 1, "T"),
+                new InventoryDTO(null, 1L, null, 1, "X"));
+
+        when(itemRepository.findAllById(Set.of(1L, 9L))).thenReturn(List.of(testItem));
+        when(itemService.getRemainingStock(Set.of(1L))).thenReturn(Map.of(1L, 5));
+        when(inventoryRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+       
+        InventoryBatchResultDTO result = inventoryService.createInventories(request);
+
+        
+        assertEquals(3, result.getAccepted());
+        assertEquals(3, result.getRejected());
+        List<InventoryBatchLineDTO> lines = result.getLines();
+        assertTrue(lines.get(0).isSuccess());
+        assertTrue(lines.get(1).isSuccess());
+        assertTrue(lines.get(2).isSuccess());
+        assertEquals("Cannot withdraw 3 items. Current stock: 2", lines.get(3).getMessage());
+        assertEquals("Item not found with id: 9", lines.get(4).getMessage());
+        assertTrue(lines.get(5).getMessage().startsWith("type: "));
+
+        verify(reservationEngine, times(1)).lock(any(Long[].class));
+        verify(inventoryRepository, times(1)).saveAll(anyList());
+        verify(itemService, times(1)).adjustStock(1L, -3);
+        verify(trendService, times(1)).adjustInventoryActivity(eq(1L), any(Instant.class), eq("T"), eq(10L));
+        verify(trendService, times(1)).adjustInventoryActivity(eq(1L), any(Instant.class), eq("W"), eq(13L));
+    }
+
     @Test
     void updateInventory_FromTopUpToTopUp_WithPositiveImpact_ShouldReturnUpdatedInventoryDTO() {
         
@@ -209,7 +323,7 @@ class InventoryServiceImplTest {
         when(inventoryRepository.findById(1L)).thenReturn(Optional.of(testInventory));
         when(itemRepository.findById(1L)).thenReturn(Optional.of(testItem));
         when(itemService.getRemainingStock(1L)).thenReturn(50); // Current stock
-        when(inventoryRepository.save(any(Inventory.class))).thenReturn(testInventory);
+        when(inventoryRepository.saveAndFlush(any(Inventory.class))).thenReturn(testInventory);
 
         // Act
         InventoryDTO result = inventoryService.updateInventory(1L, updatedDTO);
@@ -219,7 +333,10 @@ class InventoryServiceImplTest {
         verify(inventoryRepository, times(1)).findById(1L);
         verify(itemRepository, times(1)).findById(1L);
         verify(itemService, times(1)).getRemainingStock(1L);
-        verify(inventoryRepository, times(1)).save(any(Inventory.class));
+        verify(inventoryRepository, times(1)).saveAndFlush(any(Inventory.class));
+        verify(trendService, times(1)).adjustInventoryActivity(1L, testInventory.getCreatedAt(), "T", -50);
+        verify(trendService, times(1)).adjustInventoryActivity(1L, testInventory.getCreatedAt(), "T", 100);
+        verify(eventPublisher, times(1)).publishEvent(new InventoryChangedEvent(1L, 1L, 0L));
     }
 
     @Test
@@ -233,7 +350,7 @@ class InventoryServiceImplTest {
         when(inventoryRepository.findById(1L)).thenReturn(Optional.of(testInventory));
         when(itemRepository.findById(1L)).thenReturn(Optional.of(testItem));
         when(itemService.getRemainingStock(1L)).thenReturn(100); // Sufficient stock
-        when(inventoryRepository.save(any(Inventory.class))).thenReturn(testInventory);
+        when(inventoryRepository.saveAndFlush(any(Inventory.class))).thenReturn(testInventory);
 
         // Act
         InventoryDTO result = inventoryService.updateInventory(1L, updatedDTO);
@@ -243,7 +360,8 @@ class InventoryServiceImplTest {
         verify(inventoryRepository, times(1)).findById(1L);
         verify(itemRepository, times(1)).findById(1L);
         verify(itemService, times(1)).getRemainingStock(1L);
-        verify(inventoryRepository, times(1)).save(any(Inventory.class));
+        verify(inventoryRepository, times(1)).saveAndFlush(any(Inventory.class));
+        verify(itemService, times(1)).adjustStock(1L, -80);
     }
 
     @Test
@@ -268,7 +386,7 @@ class InventoryServiceImplTest {
         verify(inventoryRepository, times(1)).findById(1L);
         verify(itemRepository, times(1)).findById(1L);
         verify(itemService, times(1)).getRemainingStock(1L);
-        verify(inventoryRepository, never()).save(any(Inventory.class));
+        verify(inventoryRepository, never()).saveAndFlush(any(Inventory.class));
     }
 
     @Test
@@ -279,7 +397,7 @@ class InventoryServiceImplTest {
         assertThrows(ResourceNotFoundException.class, () -> inventoryService.updateInventory(1L, testInventoryDTO));
         verify(inventoryRepository, times(1)).findById(1L);
         verify(itemRepository, never()).findById(anyLong());
-        verify(inventoryRepository, never()).save(any(Inventory.class));
+        verify(inventoryRepository, never()).saveAndFlush(any(Inventory.class));
     }
 
     @Test
@@ -292,7 +410,7 @@ class InventoryServiceImplTest {
         assertThrows(ResourceNotFoundException.class, () -> inventoryService.updateInventory(1L, testInventoryDTO));
         verify(inventoryRepository, times(1)).findById(1L);
         verify(itemRepository, times(1)).findById(1L);
-        verify(inventoryRepository, never()).save(any(Inventory.class));
+        verify(inventoryRepository, never()).saveAndFlush(any(Inventory.class));
     }
 
     @Test
@@ -308,6 +426,7 @@ class InventoryServiceImplTest {
         verify(inventoryRepository, times(1)).findById(1L);
         verify(itemService, times(1)).getRemainingStock(1L);
         verify(inventoryRepository, times(1)).delete(testInventory);
+        verify(eventPublisher, times(1)).publishEvent(new InventoryChangedEvent(1L, 1L, null));
     }
 
     @Test
@@ -326,6 +445,8 @@ class InventoryServiceImplTest {
         verify(inventoryRepository, times(1)).findById(1L);
         verify(itemService, times(1)).getRemainingStock(1L);
         verify(inventoryRepository, times(1)).delete(testInventory);
+        verify(itemService, times(1)).adjustStock(1L, 30);
+        verify(trendService, times(1)).adjustInventoryActivity(1L, testInventory.getCreatedAt(), "W", -30);
     }
 
     @Test
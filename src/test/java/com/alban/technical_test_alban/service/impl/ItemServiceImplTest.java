@@ -1,24 +1,56 @@
 package com.alban.technical_test_alban.service.impl;
 
+import com.alban.technical_test_alban.component.CursorCodec;
+import com.alban.technical_test_alban.component.EntityTag;
+import com.alban.technical_test_alban.component.EntityVersions;
+import com.alban.technical_test_alban.component.ItemNameIndex;
+import com.alban.technical_test_alban.component.ItemSearchIndex;
+import com.alban.technical_test_alban.component.StockCache;
+import com.alban.technical_test_alban.dto.CacheRegionStatsDTO;
+import com.alban.technical_test_alban.dto.CursorPageDTO;
 import com.alban.technical_test_alban.dto.ItemDTO;
 import com.alban.technical_test_alban.entity.Item;
+import com.alban.technical_test_alban.entity.ItemStock;
+import com.alban.technical_test_alban.event.ItemChangedEvent;
+import com.alban.technical_test_alban.event.StockChangedEvent;
 import com.alban.technical_test_alban.exception.DuplicateResourceException;
+import com.alban.technical_test_alban.exception.InsufficientStockException;
 import com.alban.technical_test_alban.exception.ResourceNotFoundException;
+import com.alban.technical_test_alban.repository.ItemQuantity;
 import com.alban.technical_test_alban.repository.ItemRepository;
+import com.alban.technical_test_alban.repository.ItemSalesRepository;
+import com.alban.technical_test_alban.repository.ItemStockRepository;
+import com.alban.technical_test_alban.repository.ReorderThresholdRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -30,6 +62,36 @@ class ItemServiceImplTest {
     @Mock
     private ItemRepository itemRepository;
 
+    @Mock
+    private ItemStockRepository itemStockRepository;
+
+    @Mock
+    private ItemSalesRepository itemSalesRepository;
+
+    @Mock
+    private ReorderThresholdRepository reorderThresholdRepository;
+
+    @Mock
+    private StockCache stockCache;
+
+    @Mock
+    private EntityVersions entityVersions;
+
+    @Mock
+    private ItemNameIndex itemNameIndex;
+
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private CursorCodec cursorCodec = new CursorCodec(new ObjectMapper());
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
     @InjectMocks
     private ItemServiceImpl itemService;
 
@@ -42,6 +104,7 @@ class ItemServiceImplTest {
         testItem.setId(1L);
         testItem.setName("Test Item");
         testItem.setPrice(new BigDecimal("100.00"));
+        testItem.setVersion(0L);
 
         testItemDTO = new ItemDTO();
         testItemDTO.setId(1L);
@@ -53,8 +116,7 @@ class ItemServiceImplTest {
     void getItem_WhenItemExists_ShouldReturnItemDTO() {
        
         when(itemRepository.findById(1L)).thenReturn(Optional.of(testItem));
-        when(itemRepository.calculateInventoryStock(1L)).thenReturn(100);
-        when(itemRepository.calculateOrderedStock(1L)).thenReturn(20);
+        when(itemStockRepository.findLevelByItemId(1L)).thenReturn(new ItemStock(1L, 80, 3L));
 
        
         ItemDTO result = itemService.getItem(1L);
@@ -78,6 +140,102 @@ class ItemServiceImplTest {
         verify(itemRepository, times(1)).findById(1L);
     }
 
+    @Test
+    void getItemTag_WhenVersionsKnown_ShouldNotTouchDatabase() {
+       
+        EntityTag tag = new EntityTag("2-5", 1_000L);
+        when(entityVersions.item(1L)).thenReturn(Optional.of(tag));
+
+       
+        EntityTag result = itemService.getItemTag(1L);
+
+        
+        assertEquals(tag, result);
+        verifyNoInteractions(itemRepository, itemStockRepository);
+    }
+
+    @Test
+    void getItemTag_WhenVersionsUnknown_ShouldRecordItemAndStockVersions() {
+       
+        testItem.setVersion(2L);
+        EntityTag tag = new EntityTag("2-5", 1_000L);
+        when(entityVersions.item(1L)).thenReturn(Optional.empty());
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(testItem));
+        when(itemStockRepository.findLevelByItemId(1L)).thenReturn(new ItemStock(1L, 80, 5L));
+        when(entityVersions.recordItem(1L, 2L, 5L)).thenReturn(tag);
+
+       
+        EntityTag result = itemService.getItemTag(1L);
+
+        
+        assertEquals(tag, result);
+    }
+
+    @Test
+    void getItemTag_WhenItemDoesNotExist_ShouldThrowResourceNotFoundException() {
+       
+        when(entityVersions.item(1L)).thenReturn(Optional.empty());
+        when(itemRepository.findById(1L)).thenReturn(Optional.empty());
+
+        
+        assertThrows(ResourceNotFoundException.class, () -> itemService.getItemTag(1L));
+        verify(entityVersions, never()).recordItem(anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    void scrollItems_WithIncludeStock_ShouldResolveStockForWholeWindow() {
+       
+        Sort sort = Sort.by("id");
+        Item secondItem = new Item();
+        secondItem.setId(2L);
+        secondItem.setName("Second Item");
+        secondItem.setPrice(new BigDecimal("5.00"));
+        Window<Item> window = Window.from(List.of(testItem, secondItem),
+                index -> ScrollPosition.forward(Map.of("id", index + 1L)), false);
+        when(itemRepository.findAllBy(ScrollPosition.keyset(), Limit.of(2), sort)).thenReturn(window);
+        when(stockCache.getAll(List.of(1L, 2L))).thenReturn(new HashMap<>(Map.of(1L, 80, 2L, 15)));
+
+       
+        CursorPageDTO<ItemDTO> result = itemService.scrollItems(null, 2, sort, true);
+
+        
+        assertEquals(List.of(80, 15), result.getContent().stream().map(ItemDTO::getRemainingStock).toList());
+        assertNull(result.getNext());
+        verify(itemStockRepository, never()).findLevelByItemId(anyLong());
+    }
+
+    @Test
+    void searchItems_WithIncludeStock_ShouldKeepRankAndResolveStock() {
+       
+        when(itemSearchIndex.search("pen", 10, true)).thenReturn(List.of(
+                new ItemSearchIndex.Hit(2L, "Pen", new BigDecimal("1.50")),
+                new ItemSearchIndex.Hit(1L, "Pencil", new BigDecimal("0.80"))));
+        when(stockCache.getAll(List.of(2L, 1L))).thenReturn(new HashMap<>(Map.of(2L, 12, 1L, 40)));
+
+       
+        List<ItemDTO> result = itemService.searchItems("pen", 10, true, true);
+
+        
+        assertEquals(List.of("Pen", "Pencil"), result.stream().map(ItemDTO::getName).toList());
+        assertEquals(List.of(12, 40), result.stream().map(ItemDTO::getRemainingStock).toList());
+        verify(itemRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void searchItems_WithoutIncludeStock_ShouldNotResolveStock() {
+       
+        when(itemSearchIndex.search("pen", 10, false)).thenReturn(List.of(
+                new ItemSearchIndex.Hit(2L, "Pen", new BigDecimal("1.50"))));
+
+       
+        List<ItemDTO> result = itemService.searchItems("pen", 10, false, false);
+
+        
+        assertEquals(1, result.size());
+        assertNull(result.get(0).getRemainingStock());
+        verifyNoInteractions(stockCache);
+    }
+
     @Test
     void getAllItems_WithIncludeStock_ShouldReturnPageOfItemDTOs() {
        
@@ -90,8 +248,8 @@ class ItemServiceImplTest {
         Page<Item> itemPage = new PageImpl<>(Arrays.asList(testItem, item2));
 
         when(itemRepository.findAll(pageable)).thenReturn(itemPage);
-        when(itemRepository.calculateInventoryStock(anyLong())).thenReturn(100);
-        when(itemRepository.calculateOrderedStock(anyLong())).thenReturn(20);
+        when(itemStockRepository.findAllById(Set.of(1L, 2L)))
+                .thenReturn(List.of(new ItemStock(1L, 80, 0L), new ItemStock(2L, 15, 0L)));
 
        
         Page<ItemDTO> result = itemService.getAllItems(pageable, true);
@@ -100,7 +258,34 @@ class ItemServiceImplTest {
         assertNotNull(result);
         assertEquals(2, result.getContent().size());
         assertEquals(80, result.getContent().get(0).getRemainingStock());
+        assertEquals(15, result.getContent().get(1).getRemainingStock());
         verify(itemRepository, times(1)).findAll(pageable);
+        verify(itemStockRepository, never()).findLevelByItemId(anyLong());
+    }
+
+    @Test
+    void getRemainingStock_ForPageWithMissingBalances_ShouldUseGroupedAggregates() {
+       
+        ItemQuantity topUps = mock(ItemQuantity.class);
+        when(topUps.getItemId()).thenReturn(2L);
+        when(topUps.getQuantity()).thenReturn(40L);
+        ItemQuantity ordered = mock(ItemQuantity.class);
+        when(ordered.getItemId()).thenReturn(2L);
+        when(ordered.getQuantity()).thenReturn(15L);
+
+        when(itemStockRepository.findAllById(Set.of(1L, 2L, 3L))).thenReturn(List.of(new ItemStock(1L, 80, 0L)));
+        when(itemRepository.calculateInventoryStockByItemIds(anyCollection())).thenReturn(List.of(topUps));
+        when(itemRepository.calculateOrderedStockByItemIds(anyCollection())).thenReturn(List.of(ordered));
+        when(itemStockRepository.saveAll(anyIterable())).thenAnswer(invocation -> invocation.getArgument(0));
+
+       
+        Map<Long, Integer> result = itemService.getRemainingStock(List.of(1L, 2L, 3L));
+
+        
+        assertEquals(Map.of(1L, 80, 2L, 25, 3L, 0), result);
+        verify(itemRepository, never()).calculateInventoryStock(anyLong());
+        verify(itemStockRepository, times(1)).saveAll(anyIterable());
+        verify(eventPublisher, times(2)).publishEvent(any(StockChangedEvent.class));
     }
 
     @Test
@@ -119,14 +304,14 @@ class ItemServiceImplTest {
         assertEquals(1, result.getContent().size());
         assertNull(result.getContent().get(0).getRemainingStock());
         verify(itemRepository, times(1)).findAll(pageable);
-        verify(itemRepository, never()).calculateInventoryStock(anyLong());
+        verify(itemStockRepository, never()).findLevelByItemId(anyLong());
     }
 
     @Test
     void createItem_WithValidData_ShouldReturnCreatedItemDTO() {
        
-        when(itemRepository.findByName("Test Item")).thenReturn(Optional.empty());
-        when(itemRepository.save(any(Item.class))).thenReturn(testItem);
+        when(itemNameIndex.findId("Test Item")).thenReturn(Optional.empty());
+        when(itemRepository.saveAndFlush(any(Item.class))).thenReturn(testItem);
 
        
         ItemDTO result = itemService.createItem(testItemDTO);
@@ -135,19 +320,34 @@ class ItemServiceImplTest {
         assertNotNull(result);
         assertEquals("Test Item", result.getName());
         assertEquals(new BigDecimal("100.00"), result.getPrice());
-        verify(itemRepository, times(1)).findByName("Test Item");
-        verify(itemRepository, times(1)).save(any(Item.class));
+        verify(itemNameIndex, times(1)).findId("Test Item");
+        verify(itemRepository, times(1)).saveAndFlush(any(Item.class));
+        verify(itemStockRepository, times(1)).save(new ItemStock(1L, 0, null));
+        verify(eventPublisher, times(1)).publishEvent(new ItemChangedEvent(1L, null, "Test Item", new BigDecimal("100.00"), 0L));
+    }
+
+    @Test
+    void createItem_WhenNameCommittedConcurrently_ShouldThrowDuplicateResourceException() {
+       
+        when(itemNameIndex.findId("Test Item")).thenReturn(Optional.empty());
+        when(itemRepository.saveAndFlush(any(Item.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement [Unique index or primary key violation: \"PUBLIC.UK_ITEMS_NAME_INDEX_4 ON PUBLIC.ITEMS(NAME)\"]"));
+
+        
+        assertThrows(DuplicateResourceException.class, () -> itemService.createItem(testItemDTO));
+        verify(itemStockRepository, never()).save(any(ItemStock.class));
+        verify(eventPublisher, never()).publishEvent(any(ItemChangedEvent.class));
     }
 
     @Test
     void createItem_WithDuplicateName_ShouldThrowDuplicateResourceException() {
        
-        when(itemRepository.findByName("Test Item")).thenReturn(Optional.of(testItem));
+        when(itemNameIndex.findId("Test Item")).thenReturn(Optional.of(1L));
 
         
         assertThrows(DuplicateResourceException.class, () -> itemService.createItem(testItemDTO));
-        verify(itemRepository, times(1)).findByName("Test Item");
-        verify(itemRepository, never()).save(any(Item.class));
+        verify(itemNameIndex, times(1)).findId("Test Item");
+        verify(itemRepository, never()).saveAndFlush(any(Item.class));
     }
 
     @Test
@@ -158,8 +358,8 @@ class ItemServiceImplTest {
         updatedDTO.setPrice(new BigDecimal("150.00"));
 
         when(itemRepository.findById(1L)).thenReturn(Optional.of(testItem));
-        when(itemRepository.findByName("Updated Item")).thenReturn(Optional.empty());
-        when(itemRepository.save(any(Item.class))).thenReturn(testItem);
+        when(itemNameIndex.findId("Updated Item")).thenReturn(Optional.empty());
+        when(itemRepository.saveAndFlush(any(Item.class))).thenReturn(testItem);
 
        
         ItemDTO result = itemService.updateItem(1L, updatedDTO);
@@ -167,8 +367,10 @@ class ItemServiceImplTest {
         
         assertNotNull(result);
         verify(itemRepository, times(1)).findById(1L);
-        verify(itemRepository, times(1)).findByName("Updated Item");
-        verify(itemRepository, times(1)).save(any(Item.class));
+        verify(itemNameIndex, times(1)).findId("Updated Item");
+        verify(itemRepository, times(1)).saveAndFlush(any(Item.class));
+        verify(eventPublisher, times(1)).publishEvent(
+                new ItemChangedEvent(1L, "Test Item", "Updated Item", new BigDecimal("150.00"), 0L));
     }
 
     @Test
@@ -179,7 +381,7 @@ class ItemServiceImplTest {
         updatedDTO.setPrice(new BigDecimal("150.00"));
 
         when(itemRepository.findById(1L)).thenReturn(Optional.of(testItem));
-        when(itemRepository.save(any(Item.class))).thenReturn(testItem);
+        when(itemRepository.saveAndFlush(any(Item.class))).thenReturn(testItem);
 
        
         ItemDTO result = itemService.updateItem(1L, updatedDTO);
@@ -187,8 +389,10 @@ class ItemServiceImplTest {
         
         assertNotNull(result);
         verify(itemRepository, times(1)).findById(1L);
-        verify(itemRepository, never()).findByName(anyString());
-        verify(itemRepository, times(1)).save(any(Item.class));
+        verify(itemNameIndex, never()).findId(anyString());
+        verify(itemRepository, times(1)).saveAndFlush(any(Item.class));
+        verify(eventPublisher, times(1)).publishEvent(
+                new ItemChangedEvent(1L, "Test Item", "Test Item", new BigDecimal("150.00"), 0L));
     }
 
     @Test
@@ -199,7 +403,7 @@ class ItemServiceImplTest {
         
         assertThrows(ResourceNotFoundException.class, () -> itemService.updateItem(1L, testItemDTO));
         verify(itemRepository, times(1)).findById(1L);
-        verify(itemRepository, never()).save(any(Item.class));
+        verify(itemRepository, never()).saveAndFlush(any(Item.class));
     }
 
     @Test
@@ -214,13 +418,13 @@ class ItemServiceImplTest {
         existingItem.setName("Duplicate Item");
 
         when(itemRepository.findById(1L)).thenReturn(Optional.of(testItem));
-        when(itemRepository.findByName("Duplicate Item")).thenReturn(Optional.of(existingItem));
+        when(itemNameIndex.findId("Duplicate Item")).thenReturn(Optional.of(existingItem.getId()));
 
         
         assertThrows(DuplicateResourceException.class, () -> itemService.updateItem(1L, updatedDTO));
         verify(itemRepository, times(1)).findById(1L);
-        verify(itemRepository, times(1)).findByName("Duplicate Item");
-        verify(itemRepository, never()).save(any(Item.class));
+        verify(itemNameIndex, times(1)).findId("Duplicate Item");
+        verify(itemRepository, never()).saveAndFlush(any(Item.class));
     }
 
     @Test
@@ -233,7 +437,13 @@ class ItemServiceImplTest {
 
         
         verify(itemRepository, times(1)).findById(1L);
+        verify(itemStockRepository, times(1)).deleteById(1L);
+        verify(itemSalesRepository, times(1)).deleteById(1L);
+        verify(reorderThresholdRepository, times(1)).deleteById(1L);
         verify(itemRepository, times(1)).delete(testItem);
+        // The cached balance is dropped by StockCache once the delete commits
+        verifyNoInteractions(stockCache);
+        verify(eventPublisher, times(1)).publishEvent(new ItemChangedEvent(1L, "Test Item", null, null, null));
     }
 
     @Test
@@ -248,8 +458,37 @@ class ItemServiceImplTest {
     }
 
     @Test
-    void getRemainingStock_WithBothInventoryAndOrders_ShouldReturnCorrectValue() {
+    void getRemainingStock_WithBalanceRow_ShouldNotAggregateHistory() {
+       
+        when(itemStockRepository.findLevelByItemId(1L)).thenReturn(new ItemStock(1L, 70, 4L));
+
+       
+        Integer result = itemService.getRemainingStock(1L);
+
+        
+        assertEquals(70, result);
+        verify(stockCache, times(1)).put(1L, 70, 4L);
+        verify(itemRepository, never()).calculateInventoryStock(anyLong());
+        verify(itemRepository, never()).calculateOrderedStock(anyLong());
+    }
+
+    @Test
+    void getRemainingStock_WhenCached_ShouldNotTouchDatabase() {
+       
+        when(stockCache.get(1L)).thenReturn(Optional.of(42));
+
+       
+        Integer result = itemService.getRemainingStock(1L);
+
+        
+        assertEquals(42, result);
+        verifyNoInteractions(itemStockRepository, itemRepository);
+    }
+
+    @Test
+    void getRemainingStock_WithoutBalanceRow_ShouldReconcileFromHistory() {
        
+        when(itemStockRepository.findLevelByItemId(1L)).thenReturn(null, new ItemStock(1L, 70, 0L));
         when(itemRepository.calculateInventoryStock(1L)).thenReturn(100);
         when(itemRepository.calculateOrderedStock(1L)).thenReturn(30);
 
@@ -257,47 +496,144 @@ class ItemServiceImplTest {
         Integer result = itemService.getRemainingStock(1L);
 
         
+        assertEquals(70, result);
+        verify(itemStockRepository, times(1)).save(new ItemStock(1L, 70, null));
+        verify(eventPublisher, times(1)).publishEvent(new StockChangedEvent(1L, 70, 0L));
+    }
+
+    @Test
+    void adjustStock_WithExistingBalance_ShouldApplyDelta() {
+       
+        ItemStock stock = new ItemStock(1L, 25, 6L);
+        when(itemStockRepository.findById(1L)).thenReturn(Optional.of(stock));
+
+       
+        itemService.adjustStock(1L, -5);
+
+        
+        assertEquals(20, stock.getQuantity());
+        verify(itemStockRepository, times(1)).saveAndFlush(stock);
+        verify(eventPublisher, times(1)).publishEvent(new StockChangedEvent(1L, 20, 6L));
+        verify(itemRepository, never()).calculateInventoryStock(anyLong());
+    }
+
+    @Test
+    void adjustStock_WhenBalanceWouldTurnNegative_ShouldThrowInsufficientStockException() {
+       
+        ItemStock stock = new ItemStock(1L, 3, 6L);
+        when(itemStockRepository.findById(1L)).thenReturn(Optional.of(stock));
+
+       
+        assertThrows(InsufficientStockException.class, () -> itemService.adjustStock(1L, -5));
+
+        
+        assertEquals(3, stock.getQuantity());
+        verify(itemStockRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void adjustStock_WithoutBalanceRow_ShouldReconcile() {
+       
+        when(itemStockRepository.findById(1L)).thenReturn(Optional.empty());
+        when(itemRepository.calculateInventoryStock(1L)).thenReturn(10);
+        when(itemRepository.calculateOrderedStock(1L)).thenReturn(0);
+        when(itemStockRepository.findLevelByItemId(1L)).thenReturn(new ItemStock(1L, 10, 0L));
+
+       
+        itemService.adjustStock(1L, 10);
+
+        
+        verify(itemStockRepository, times(1)).save(new ItemStock(1L, 10, null));
+    }
+
+    @Test
+    void adjustStock_WithZeroDelta_ShouldDoNothing() {
+       
+        itemService.adjustStock(1L, 0);
+
+        
+        verifyNoInteractions(itemStockRepository);
+    }
+
+    @Test
+    void reconcileStock_WithBothInventoryAndOrders_ShouldReturnCorrectValue() {
+       
+        when(itemRepository.calculateInventoryStock(1L)).thenReturn(100);
+        when(itemRepository.calculateOrderedStock(1L)).thenReturn(30);
+        when(itemStockRepository.findLevelByItemId(1L)).thenReturn(new ItemStock(1L, 0, 0L));
+
+       
+        Integer result = itemService.reconcileStock(1L);
+
+        
         assertEquals(70, result);
         verify(itemRepository, times(1)).calculateInventoryStock(1L);
         verify(itemRepository, times(1)).calculateOrderedStock(1L);
+        verify(itemStockRepository, times(1)).save(new ItemStock(1L, 70, null));
     }
 
     @Test
-    void getRemainingStock_WithNullInventory_ShouldReturnNegativeValue() {
+    void reconcileStock_WithNullInventory_ShouldReturnNegativeValue() {
        
         when(itemRepository.calculateInventoryStock(1L)).thenReturn(null);
         when(itemRepository.calculateOrderedStock(1L)).thenReturn(20);
+        when(itemStockRepository.findLevelByItemId(1L)).thenReturn(new ItemStock(1L, 0, 0L));
 
        
-        Integer result = itemService.getRemainingStock(1L);
+        Integer result = itemService.reconcileStock(1L);
 
         
         assertEquals(-20, result);
     }
 
     @Test
-    void getRemainingStock_WithNullOrders_ShouldReturnInventoryValue() {
+    void reconcileStock_WithNullOrders_ShouldReturnInventoryValue() {
        
         when(itemRepository.calculateInventoryStock(1L)).thenReturn(100);
         when(itemRepository.calculateOrderedStock(1L)).thenReturn(null);
+        when(itemStockRepository.findLevelByItemId(1L)).thenReturn(new ItemStock(1L, 0, 0L));
 
        
-        Integer result = itemService.getRemainingStock(1L);
+        Integer result = itemService.reconcileStock(1L);
 
         
         assertEquals(100, result);
     }
 
     @Test
-    void getRemainingStock_WithBothNull_ShouldReturnZero() {
+    void reconcileStock_WithBothNull_ShouldReturnZero() {
        
         when(itemRepository.calculateInventoryStock(1L)).thenReturn(null);
         when(itemRepository.calculateOrderedStock(1L)).thenReturn(null);
+        when(itemStockRepository.findLevelByItemId(1L)).thenReturn(new ItemStock(1L, 0, 0L));
 
        
-        Integer result = itemService.getRemainingStock(1L);
+        Integer result = itemService.reconcileStock(1L);
 
         
         assertEquals(0, result);
     }
+
+    @Test
+    void getCacheStats_ShouldReportBothRegions() {
+       
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        Statistics statistics = mock(Statistics.class);
+        CacheRegionStatistics itemRegion = mock(CacheRegionStatistics.class);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getStatistics()).thenReturn(statistics);
+        when(statistics.getDomainDataRegionStatistics("items")).thenReturn(itemRegion);
+        when(statistics.getQueryRegionStatistics("items-by-name")).thenReturn(null);
+        when(itemRegion.getHitCount()).thenReturn(9L);
+        when(itemRegion.getMissCount()).thenReturn(1L);
+        when(itemRegion.getPutCount()).thenReturn(1L);
+
+       
+        List<CacheRegionStatsDTO> result = itemService.getCacheStats();
+
+        
+        assertEquals(new CacheRegionStatsDTO("items", 9, 1, 1, 0.9), result.get(0));
+        assertEquals(new CacheRegionStatsDTO("items-by-name", 0, 0, 0, 0), result.get(1));
+    }
 }
@@ -0,0 +1,50 @@
+package com.alban.technical_test_alban.service.impl;
+
+import com.alban.technical_test_alban.dto.OrderDTO;
+import com.alban.technical_test_alban.dto.OrderTicketDTO;
+import com.alban.technical_test_alban.dto.OrderTicketStatus;
+import com.alban.technical_test_alban.service.ItemService;
+import com.alban.technical_test_alban.service.OrderIntakeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class OrderIntakeFlowTest {
+
+    @Autowired
+    private OrderIntakeService orderIntakeService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Test
+    void submittedOrders_ShouldBeCreatedByTheWorkers() throws Exception {
+        int before = itemService.getRemainingStock(3L);
+        List<String> tickets = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            tickets.add(orderIntakeService.submitOrder(new OrderDTO(null, 3L, null, 1, new BigDecimal("30.00"))).getTicketId());
+        }
+
+        for (String ticketId : tickets) {
+            assertEquals(OrderTicketStatus.CREATED, awaitOutcome(ticketId).getStatus());
+        }
+        assertEquals(before - 5, itemService.getRemainingStock(3L));
+    }
+
+    private OrderTicketDTO awaitOutcome(String ticketId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        OrderTicketDTO ticket = orderIntakeService.getTicket(ticketId);
+        while (ticket.getStatus() == OrderTicketStatus.QUEUED && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            ticket = orderIntakeService.getTicket(ticketId);
+        }
+        return ticket;
+    }
+}
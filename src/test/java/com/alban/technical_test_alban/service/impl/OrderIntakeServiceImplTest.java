@@ -0,0 +1,160 @@
+package com.alban.technical_test_alban.service.impl;
+
+import com.alban.technical_test_alban.component.OptimisticRetryExecutor;
+import com.alban.technical_test_alban.dto.OrderBatchLineDTO;
+import com.alban.technical_test_alban.dto.OrderBatchResultDTO;
+import com.alban.technical_test_alban.dto.OrderDTO;
+import com.alban.technical_test_alban.dto.OrderTicketDTO;
+import com.alban.technical_test_alban.dto.OrderTicketStatus;
+import com.alban.technical_test_alban.exception.InsufficientStockException;
+import com.alban.technical_test_alban.exception.OrderIntakeClosedException;
+import com.alban.technical_test_alban.exception.OrderQueueFullException;
+import com.alban.technical_test_alban.exception.ResourceNotFoundException;
+import com.alban.technical_test_alban.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderIntakeServiceImplTest {
+
+    @Mock
+    private OrderService orderService;
+
+    private OrderIntakeServiceImpl orderIntakeService;
+
+    private OrderDTO pen;
+    private OrderDTO book;
+
+    @BeforeEach
+    void setUp() {
+        orderIntakeService = new OrderIntakeServiceImpl(orderService, new OptimisticRetryExecutor(1, 0, 0),
+                2, 1, 10, Duration.ofMinutes(10), Duration.ofSeconds(1));
+
+        pen = new OrderDTO(null, 1L, null, 2, new BigDecimal("5.00"));
+        book = new OrderDTO(null, 2L, null, 50, new BigDecimal("10.00"));
+    }
+
+    @Test
+    void submitOrder_ShouldQueueWithoutCreatingTheOrder() {
+        
+        OrderTicketDTO ticket = orderIntakeService.submitOrder(pen);
+
+        
+        assertEquals(OrderTicketStatus.QUEUED, ticket.getStatus());
+        assertEquals(ticket, orderIntakeService.getTicket(ticket.getTicketId()));
+        verifyNoInteractions(orderService);
+    }
+
+    @Test
+    void submitOrder_WhenQueueIsFull_ShouldThrowOrderQueueFullException() {
+        
+        orderIntakeService.submitOrder(pen);
+        orderIntakeService.submitOrder(pen);
+
+        
+        assertThrows(OrderQueueFullException.class, () -> orderIntakeService.submitOrder(book));
+
+        
+        verifyNoInteractions(orderService);
+    }
+
+    @Test
+    void drain_ShouldCreateQueuedOrdersInOneBatch() {
+        
+        String penTicket = orderIntakeService.submitOrder(pen).getTicketId();
+        String bookTicket = orderIntakeService.submitOrder(book).getTicketId();
+        OrderDTO created = new OrderDTO("O11", 1L, "Pen", 2, new BigDecimal("5.00"));
+        when(orderService.createOrders(List.of(pen, book))).thenReturn(new OrderBatchResultDTO(1, 1, List.of(
+                new OrderBatchLineDTO(0, true, "Order created successfully", created),
+                new OrderBatchLineDTO(1, false, "Insufficient stock for item 'Book'. Requested: 50, Available: 3", null))));
+
+        
+        int drained = orderIntakeService.drain();
+
+        
+        assertEquals(2, drained);
+        OrderTicketDTO penOutcome = orderIntakeService.getTicket(penTicket);
+        assertEquals(OrderTicketStatus.CREATED, penOutcome.getStatus());
+        assertEquals(created, penOutcome.getOrder());
+        assertNotNull(penOutcome.getCompletedAt());
+        assertEquals(OrderTicketStatus.REJECTED, orderIntakeService.getTicket(bookTicket).getStatus());
+        verify(orderService, never()).createOrder(any());
+    }
+
+    @Test
+    void drain_WhenBatchFails_ShouldCreateOrdersOneByOne() {
+        
+        String penTicket = orderIntakeService.submitOrder(pen).getTicketId();
+        String bookTicket = orderIntakeService.submitOrder(book).getTicketId();
+        when(orderService.createOrders(anyList())).thenThrow(new DataIntegrityViolationException("batch"));
+        when(orderService.createOrder(pen)).thenThrow(new DataIntegrityViolationException("pen"));
+        when(orderService.createOrder(book)).thenThrow(new InsufficientStockException("Insufficient stock for item 'Book'"));
+
+        
+        orderIntakeService.drain();
+
+        
+        assertEquals(OrderTicketStatus.FAILED, orderIntakeService.getTicket(penTicket).getStatus());
+        OrderTicketDTO bookOutcome = orderIntakeService.getTicket(bookTicket);
+        assertEquals(OrderTicketStatus.REJECTED, bookOutcome.getStatus());
+        assertEquals("Insufficient stock for item 'Book'", bookOutcome.getMessage());
+    }
+
+    @Test
+    void getTicket_WhenUnknown_ShouldThrowResourceNotFoundException() {
+        
+        assertThrows(ResourceNotFoundException.class, () -> orderIntakeService.getTicket("missing"));
+    }
+
+    @Test
+    void destroy_ShouldStopAcceptingOrders() throws Exception {
+        
+        orderIntakeService.destroy();
+
+        
+        assertThrows(OrderIntakeClosedException.class, () -> orderIntakeService.submitOrder(pen));
+    }
+
+    @Test
+    void getTicket_ShouldKeepQueuedTicketsAndExpireThemOnlyOnceProcessed() {
+        
+        orderIntakeService = new OrderIntakeServiceImpl(orderService, new OptimisticRetryExecutor(1, 0, 0),
+                2, 1, 10, Duration.ZERO, Duration.ofSeconds(1));
+        OrderTicketDTO queued = orderIntakeService.submitOrder(pen);
+        when(orderService.createOrders(List.of(pen))).thenReturn(new OrderBatchResultDTO(1, 0, List.of(
+                new OrderBatchLineDTO(0, true, "Order created successfully", pen))));
+
+        
+        assertEquals(queued, orderIntakeService.getTicket(queued.getTicketId()));
+        orderIntakeService.drain();
+
+        
+        assertThrows(ResourceNotFoundException.class, () -> orderIntakeService.getTicket(queued.getTicketId()));
+    }
+
+    @Test
+    void drain_ShouldKeepSubmissionTimeOnCompletedTicket() {
+        
+        OrderTicketDTO queued = orderIntakeService.submitOrder(pen);
+        when(orderService.createOrders(List.of(pen))).thenReturn(new OrderBatchResultDTO(1, 0, List.of(
+                new OrderBatchLineDTO(0, true, "Order created successfully", pen))));
+
+        
+        orderIntakeService.drain();
+
+        
+        assertEquals(queued.getSubmittedAt(), orderIntakeService.getTicket(queued.getTicketId()).getSubmittedAt());
+    }
+}
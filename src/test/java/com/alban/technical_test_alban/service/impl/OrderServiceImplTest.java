@@ -1,27 +1,52 @@
 package com.alban.technical_test_alban.service.impl;
 
+import com.alban.technical_test_alban.component.CursorCodec;
+import com.alban.technical_test_alban.component.EntityTag;
+import com.alban.technical_test_alban.component.EntityVersions;
+import com.alban.technical_test_alban.component.OrderNumberGenerator;
+import com.alban.technical_test_alban.component.StockReservationEngine;
+import com.alban.technical_test_alban.dto.CursorPageDTO;
+import com.alban.technical_test_alban.dto.OrderBatchLineDTO;
+import com.alban.technical_test_alban.dto.OrderBatchResultDTO;
 import com.alban.technical_test_alban.dto.OrderDTO;
 import com.alban.technical_test_alban.entity.Item;
+import com.alban.technical_test_alban.event.OrderChangedEvent;
 import com.alban.technical_test_alban.entity.Order;
 import com.alban.technical_test_alban.exception.InsufficientStockException;
 import com.alban.technical_test_alban.exception.ResourceNotFoundException;
 import com.alban.technical_test_alban.repository.ItemRepository;
+import com.alban.technical_test_alban.repository.LineVersion;
 import com.alban.technical_test_alban.repository.OrderRepository;
 import com.alban.technical_test_alban.service.ItemService;
+import com.alban.technical_test_alban.service.SalesService;
+import com.alban.technical_test_alban.service.TrendService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -39,6 +64,30 @@ class OrderServiceImplTest {
     @Mock
     private ItemService itemService;
 
+    @Mock
+    private SalesService salesService;
+
+    @Mock
+    private TrendService trendService;
+
+    @Mock
+    private StockReservationEngine reservationEngine;
+
+    @Mock
+    private OrderNumberGenerator orderNumberGenerator;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private CursorCodec cursorCodec = new CursorCodec(new ObjectMapper());
+
+    @Mock
+    private EntityVersions entityVersions;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private OrderServiceImpl orderService;
 
@@ -58,6 +107,8 @@ class OrderServiceImplTest {
         testOrder.setItem(testItem);
         testOrder.setQty(10);
         testOrder.setPrice(new BigDecimal("1000.00"));
+        testOrder.setVersion(0L);
+        testOrder.setCreatedAt(Instant.parse("2024-03-01T10:15:30Z"));
 
         testOrderDTO = new OrderDTO();
         testOrderDTO.setOrderNo("1");
@@ -70,7 +121,8 @@ class OrderServiceImplTest {
     @Test
     void getOrder_WhenOrderExists_ShouldReturnOrderDTO() {
         
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+        when(orderRepository.findDTOById(1L)).thenReturn(Optional.of(
+                new OrderDTO("1", 1L, "Test Item", 10, new BigDecimal("1000.00"))));
 
         
         OrderDTO result = orderService.getOrder(1L);
@@ -82,32 +134,72 @@ class OrderServiceImplTest {
         assertEquals("Test Item", result.getItemName());
         assertEquals(10, result.getQty());
         assertEquals(new BigDecimal("1000.00"), result.getPrice());
-        verify(orderRepository, times(1)).findById(1L);
+        verify(orderRepository, times(1)).findDTOById(1L);
+        verify(orderRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void getOrderTag_WhenVersionsKnown_ShouldNotTouchDatabase() {
+        
+        EntityTag tag = new EntityTag("3-1", 1_000L);
+        when(entityVersions.order(1L)).thenReturn(Optional.of(tag));
+
+        
+        EntityTag result = orderService.getOrderTag(1L);
+
+        
+        assertEquals(tag, result);
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void getOrderTag_WhenVersionsUnknown_ShouldRecordOrderAndItemVersions() {
+        
+        EntityTag tag = new EntityTag("3-1", 1_000L);
+        LineVersion version = mock(LineVersion.class);
+        when(version.getVersion()).thenReturn(3L);
+        when(version.getItemId()).thenReturn(1L);
+        when(version.getItemVersion()).thenReturn(1L);
+        when(entityVersions.order(1L)).thenReturn(Optional.empty());
+        when(orderRepository.findVersionById(1L)).thenReturn(Optional.of(version));
+        when(entityVersions.recordOrder(1L, 1L, 3L, 1L)).thenReturn(tag);
+
+        
+        EntityTag result = orderService.getOrderTag(1L);
+
+        
+        assertEquals(tag, result);
+    }
+
+    @Test
+    void getOrderTag_WhenOrderDoesNotExist_ShouldThrowResourceNotFoundException() {
+        
+        when(entityVersions.order(1L)).thenReturn(Optional.empty());
+        when(orderRepository.findVersionById(1L)).thenReturn(Optional.empty());
+
+        
+        assertThrows(ResourceNotFoundException.class, () -> orderService.getOrderTag(1L));
     }
 
     @Test
     void getOrder_WhenOrderDoesNotExist_ShouldThrowResourceNotFoundException() {
         
-        when(orderRepository.findById(1L)).thenReturn(Optional.empty());
+        when(orderRepository.findDTOById(1L)).thenReturn(Optional.empty());
 
         
         assertThrows(ResourceNotFoundException.class, () -> orderService.getOrder(1L));
-        verify(orderRepository, times(1)).findById(1L);
+        verify(orderRepository, times(1)).findDTOById(1L);
     }
 
     @Test
     void getAllOrders_ShouldReturnPageOfOrderDTOs() {
         
-        Order order2 = new Order();
-        order2.setOrderNo("1");
-        order2.setItem(testItem);
-        order2.setQty(5);
-        order2.setPrice(new BigDecimal("500.00"));
-
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Order> orderPage = new PageImpl<>(Arrays.asList(testOrder, order2));
+        Page<OrderDTO> orderPage = new PageImpl<>(Arrays.asList(
+                new OrderDTO("1", 1L, "Test Item", 10, new BigDecimal("1000.00")),
+                new OrderDTO("1", 1L, "Test Item", 5, new BigDecimal("500.00"))));
 
-        when(orderRepository.findAll(pageable)).thenReturn(orderPage);
+        when(orderRepository.findAllAsDTO(pageable)).thenReturn(orderPage);
 
         
         Page<OrderDTO> result = orderService.getAllOrders(pageable);
@@ -117,7 +209,8 @@ class OrderServiceImplTest {
         assertEquals(2, result.getContent().size());
         assertEquals("1", result.getContent().get(0).getOrderNo());
         assertEquals("1", result.getContent().get(1).getOrderNo());
-        verify(orderRepository, times(1)).findAll(pageable);
+        verify(orderRepository, times(1)).findAllAsDTO(pageable);
+        verify(orderRepository, never()).findAll(any(Pageable.class));
     }
 
     @Test
@@ -125,6 +218,7 @@ class OrderServiceImplTest {
         
         when(itemRepository.findById(1L)).thenReturn(Optional.of(testItem));
         when(itemService.getRemainingStock(1L)).thenReturn(50); // Sufficient stock
+        when(orderNumberGenerator.next()).thenReturn("O11");
         when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
 
         
@@ -136,7 +230,12 @@ class OrderServiceImplTest {
         assertEquals(10, result.getQty());
         verify(itemRepository, times(1)).findById(1L);
         verify(itemService, times(1)).getRemainingStock(1L);
-        verify(orderRepository, times(1)).save(any(Order.class));
+        verify(reservationEngine, times(1)).lock(1L);
+        verify(orderNumberGenerator, times(1)).next();
+        verify(orderRepository, times(1)).save(argThat(order -> "O11".equals(order.getOrderNo())));
+        verify(itemService, times(1)).adjustStock(1L, -10);
+        verify(salesService, times(1)).adjustSales(1L, 10, new BigDecimal("10000.00"));
+        verify(trendService, times(1)).adjustOrderActivity(eq(1L), any(Instant.class), eq(10L), eq(new BigDecimal("10000.00")));
     }
 
     @Test
@@ -171,6 +270,92 @@ class OrderServiceImplTest {
         verify(orderRepository, never()).save(any(Order.class));
     }
 
+    @Test
+    void scrollOrders_ShouldQueryByKeysetAndReturnNextToken() {
+       
+        Sort sort = Sort.by(Sort.Direction.DESC, "orderNo");
+        Window<Order> window = Window.from(List.of(testOrder),
+                index -> ScrollPosition.forward(Map.of("orderNo", "1", "id", 7L)), true);
+        when(orderRepository.findAllBy(ScrollPosition.keyset(), Limit.of(10), sort)).thenReturn(window);
+
+       
+        CursorPageDTO<OrderDTO> result = orderService.scrollOrders(null, 10, sort);
+
+        
+        assertEquals(1, result.getContent().size());
+        assertTrue(result.isHasNext());
+        assertEquals(Map.of("orderNo", "1", "id", 7L), cursorCodec.decode(result.getNext(), Order.class, sort).getKeys());
+        verify(orderRepository, never()).count();
+    }
+
+    @Test
+    void createOrders_ShouldConsumeStockInRequestOrderAndReportEachLine() {
+       
+        Item otherItem = new Item();
+        otherItem.setId(2L);
+        otherItem.setName("Other Item");
+        otherItem.setPrice(new BigDecimal("5.00"));
+
+        List<OrderDTO> request = List.of(
+                new OrderDTO(null, 1L, null, 6, new BigDecimal("10.00")),
+                new OrderDTO(null, 2L, null, 3, new BigDecimal("5.00")),
+                new OrderDTO(null, 1L, null, 6, new BigDecimal("10.00")),
+                new OrderDTO(null, 1L, null, 4, new BigDecimal("10.00")),
+                new OrderDTO(null, 9L, null, 1, new BigDecimal("10.00")),
+                new OrderDTO(null, 1L, null, null, new BigDecimal("10.00")));
+
+        when(itemRepository.findAllById(Set.of(1L, 2L, 9L))).thenReturn(List.of(testItem, otherItem));
+        when(itemService.getRemainingStock(Set.of(1L, 2L))).thenReturn(Map.of(1L, 10, 2L, 3));
+        when(orderNumberGenerator.next(3)).thenReturn(List.of("O21", "O22", "O23"));
+        when(orderRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+       
+        OrderBatchResultDTO result = orderService.createOrders(request);
+
+        
+        assertEquals(3, result.getAccepted());
+        assertEquals(3, result.getRejected());
+        List<OrderBatchLineDTO> lines = result.getLines();
+        assertTrue(lines.get(0).isSuccess());
+        assertEquals("O21", lines.get(0).getOrder().getOrderNo());
+        assertTrue(lines.get(1).isSuccess());
+        assertEquals("O22", lines.get(1).getOrder().getOrderNo());
+        assertFalse(lines.get(2).isSuccess());
+        assertTrue(lines.get(2).getMessage().startsWith("Insufficient stock"));
+        assertTrue(lines.get(3).isSuccess());
+        assertEquals("O23", lines.get(3).getOrder().getOrderNo());
+        assertEquals("Item not found with id: 9", lines.get(4).getMessage());
+        assertEquals("qty: Quantity is required", lines.get(5).getMessage());
+
+        verify(reservationEngine, times(1)).lock(any(Long[].class));
+        verify(orderRepository, times(1)).saveAll(anyList());
+        verify(itemService, times(1)).adjustStock(1L, -10);
+        verify(itemService, times(1)).adjustStock(2L, -3);
+        verify(salesService, times(1)).adjustSales(1L, 10, new BigDecimal("100.00"));
+        verify(salesService, times(1)).adjustSales(2L, 3, new BigDecimal("15.00"));
+        verify(trendService, times(1)).adjustOrderActivity(eq(1L), any(Instant.class), eq(10L), eq(new BigDecimal("100.00")));
+        verify(trendService, times(1)).adjustOrderActivity(eq(2L), any(Instant.class), eq(3L), eq(new BigDecimal("15.00")));
+    }
+
+    @Test
+    void createOrders_WithNoAcceptedLine_ShouldNotAllocateOrderNumbers() {
+       
+        List<OrderDTO> request = List.of(new OrderDTO(null, 1L, null, 50, new BigDecimal("10.00")));
+
+        when(itemRepository.findAllById(Set.of(1L))).thenReturn(List.of(testItem));
+        when(itemService.getRemainingStock(Set.of(1L))).thenReturn(Map.of(1L, 5));
+
+       
+        OrderBatchResultDTO result = orderService.createOrders(request);
+
+        
+        assertEquals(0, result.getAccepted());
+        assertEquals(1, result.getRejected());
+        verify(orderNumberGenerator, never()).next(anyInt());
+        verify(itemService, never()).adjustStock(anyLong(), anyInt());
+        verify(salesService, never()).adjustSales(anyLong(), anyLong(), any());
+    }
+
     @Test
     void updateOrder_WithIncreasingQuantityAndSufficientStock_ShouldReturnUpdatedOrderDTO() {
         
@@ -182,7 +367,7 @@ class OrderServiceImplTest {
         when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
         when(itemRepository.findById(1L)).thenReturn(Optional.of(testItem));
         when(itemService.getRemainingStock(1L)).thenReturn(10); // Sufficient for additional 5
-        when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
+        when(orderRepository.saveAndFlush(any(Order.class))).thenReturn(testOrder);
 
         
         OrderDTO result = orderService.updateOrder(1L, updatedDTO);
@@ -192,7 +377,8 @@ class OrderServiceImplTest {
         verify(orderRepository, times(1)).findById(1L);
         verify(itemRepository, times(1)).findById(1L);
         verify(itemService, times(1)).getRemainingStock(1L);
-        verify(orderRepository, times(1)).save(any(Order.class));
+        verify(orderRepository, times(1)).saveAndFlush(any(Order.class));
+        verify(eventPublisher, times(1)).publishEvent(new OrderChangedEvent(1L, 1L, 0L));
     }
 
     @Test
@@ -219,7 +405,7 @@ class OrderServiceImplTest {
         verify(orderRepository, times(1)).findById(1L);
         verify(itemRepository, times(1)).findById(1L);
         verify(itemService, times(1)).getRemainingStock(1L);
-        verify(orderRepository, never()).save(any(Order.class));
+        verify(orderRepository, never()).saveAndFlush(any(Order.class));
     }
 
     @Test
@@ -232,7 +418,7 @@ class OrderServiceImplTest {
 
         when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
         when(itemRepository.findById(1L)).thenReturn(Optional.of(testItem));
-        when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
+        when(orderRepository.saveAndFlush(any(Order.class))).thenReturn(testOrder);
 
         
         OrderDTO result = orderService.updateOrder(1L, updatedDTO);
@@ -242,7 +428,36 @@ class OrderServiceImplTest {
         verify(orderRepository, times(1)).findById(1L);
         verify(itemRepository, times(1)).findById(1L);
         verify(itemService, never()).getRemainingStock(anyLong());
-        verify(orderRepository, times(1)).save(any(Order.class));
+        verify(orderRepository, times(1)).saveAndFlush(any(Order.class));
+        verify(itemService, times(1)).adjustStock(1L, 5);
+        verify(salesService, times(1)).adjustSales(1L, -5, new BigDecimal("-7500.00"));
+    }
+
+    @Test
+    void updateOrder_WhenItemChanges_ShouldMoveStockAndSalesToNewItem() {
+        
+        Item otherItem = new Item();
+        otherItem.setId(2L);
+        otherItem.setName("Other Item");
+        otherItem.setPrice(new BigDecimal("5.00"));
+        OrderDTO updatedDTO = new OrderDTO(null, 2L, null, 4, new BigDecimal("5.00"));
+
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+        when(itemRepository.findById(2L)).thenReturn(Optional.of(otherItem));
+        when(orderRepository.saveAndFlush(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        
+        OrderDTO result = orderService.updateOrder(1L, updatedDTO);
+
+        
+        assertEquals(2L, result.getItemId());
+        verify(itemService, times(1)).adjustStock(1L, 10);
+        verify(itemService, times(1)).adjustStock(2L, -4);
+        verify(salesService, times(1)).adjustSales(1L, -10, new BigDecimal("-10000.00"));
+        verify(salesService, times(1)).adjustSales(2L, 4, new BigDecimal("20.00"));
+        // Still bucketed by the creation time of the order
+        verify(trendService, times(1)).adjustOrderActivity(1L, testOrder.getCreatedAt(), -10, new BigDecimal("-10000.00"));
+        verify(trendService, times(1)).adjustOrderActivity(2L, testOrder.getCreatedAt(), 4, new BigDecimal("20.00"));
     }
 
     @Test
@@ -255,7 +470,7 @@ class OrderServiceImplTest {
 
         when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
         when(itemRepository.findById(1L)).thenReturn(Optional.of(testItem));
-        when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
+        when(orderRepository.saveAndFlush(any(Order.class))).thenReturn(testOrder);
 
         
         OrderDTO result = orderService.updateOrder(1L, updatedDTO);
@@ -265,7 +480,7 @@ class OrderServiceImplTest {
         verify(orderRepository, times(1)).findById(1L);
         verify(itemRepository, times(1)).findById(1L);
         verify(itemService, never()).getRemainingStock(anyLong());
-        verify(orderRepository, times(1)).save(any(Order.class));
+        verify(orderRepository, times(1)).saveAndFlush(any(Order.class));
     }
 
     @Test
@@ -277,7 +492,7 @@ class OrderServiceImplTest {
         assertThrows(ResourceNotFoundException.class, () -> orderService.updateOrder(1L, testOrderDTO));
         verify(orderRepository, times(1)).findById(1L);
         verify(itemRepository, never()).findById(anyLong());
-        verify(orderRepository, never()).save(any(Order.class));
+        verify(orderRepository, never()).saveAndFlush(any(Order.class));
     }
 
     @Test
@@ -290,7 +505,7 @@ class OrderServiceImplTest {
         assertThrows(ResourceNotFoundException.class, () -> orderService.updateOrder(1L, testOrderDTO));
         verify(orderRepository, times(1)).findById(1L);
         verify(itemRepository, times(1)).findById(1L);
-        verify(orderRepository, never()).save(any(Order.class));
+        verify(orderRepository, never()).saveAndFlush(any(Order.class));
     }
 
     @Test
@@ -304,6 +519,10 @@ class OrderServiceImplTest {
         
         verify(orderRepository, times(1)).findById(1L);
         verify(orderRepository, times(1)).delete(testOrder);
+        verify(itemService, times(1)).adjustStock(1L, 10);
+        verify(salesService, times(1)).adjustSales(1L, -10, new BigDecimal("-10000.00"));
+        verify(trendService, times(1)).adjustOrderActivity(1L, testOrder.getCreatedAt(), -10, new BigDecimal("-10000.00"));
+        verify(eventPublisher, times(1)).publishEvent(new OrderChangedEvent(1L, 1L, null));
     }
 
     @Test
@@ -0,0 +1,116 @@
+package com.alban.technical_test_alban.service.impl;
+
+import com.alban.technical_test_alban.component.ItemSearchIndex;
+import com.alban.technical_test_alban.component.StockCache;
+import com.alban.technical_test_alban.dto.ItemDTO;
+import com.alban.technical_test_alban.dto.StockUpdateDTO;
+import com.alban.technical_test_alban.exception.ResourceNotFoundException;
+import com.alban.technical_test_alban.service.ItemService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveItemServiceImplTest {
+
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+
+    @Mock
+    private StockCache stockCache;
+
+    @Mock
+    private ItemService itemService;
+
+    private ReactiveItemServiceImpl reactiveItemService;
+
+    @BeforeEach
+    void setUp() {
+        reactiveItemService = new ReactiveItemServiceImpl(itemSearchIndex, stockCache, itemService, Schedulers.immediate());
+    }
+
+    @Test
+    void getItem_ShouldBeAnsweredFromMemory() {
+        
+        when(itemSearchIndex.isReady()).thenReturn(true);
+        when(itemSearchIndex.get(1L)).thenReturn(Optional.of(new ItemSearchIndex.Hit(1L, "Pen", new BigDecimal("5.00"))));
+        when(stockCache.get(1L)).thenReturn(Optional.of(40));
+
+        
+        ItemDTO item = reactiveItemService.getItem(1L).block();
+
+        
+        assertEquals(new ItemDTO(1L, "Pen", new BigDecimal("5.00"), 40), item);
+        verifyNoInteractions(itemService);
+    }
+
+    @Test
+    void getItem_WhenStockIsNotCached_ShouldReadIt() {
+        
+        when(itemSearchIndex.isReady()).thenReturn(true);
+        when(itemSearchIndex.get(1L)).thenReturn(Optional.of(new ItemSearchIndex.Hit(1L, "Pen", new BigDecimal("5.00"))));
+        when(stockCache.get(1L)).thenReturn(Optional.empty());
+        when(itemService.getRemainingStock(1L)).thenReturn(0);
+
+        
+        StockUpdateDTO stock = reactiveItemService.getStock(1L).block();
+
+        
+        assertEquals(new StockUpdateDTO(1L, 0), stock);
+    }
+
+    @Test
+    void getItem_BeforeIndexIsLoaded_ShouldReadTheItem() {
+        
+        ItemDTO stored = new ItemDTO(1L, "Pen", new BigDecimal("5.00"), 40);
+        when(itemSearchIndex.isReady()).thenReturn(false);
+        when(itemService.getItem(1L)).thenReturn(stored);
+
+        
+        ItemDTO item = reactiveItemService.getItem(1L).block();
+
+        
+        assertEquals(stored, item);
+        verify(itemSearchIndex, never()).get(any());
+    }
+
+    @Test
+    void getItem_WhenItemNotFound_ShouldSignalResourceNotFoundException() {
+        
+        when(itemSearchIndex.isReady()).thenReturn(true);
+        when(itemSearchIndex.get(9L)).thenReturn(Optional.empty());
+
+        
+        assertThrows(ResourceNotFoundException.class, () -> reactiveItemService.getItem(9L).block());
+
+        
+        verifyNoInteractions(stockCache);
+    }
+
+    @Test
+    void getItems_ShouldKeepRequestedOrderAndSkipUnknownIds() {
+        
+        when(itemSearchIndex.isReady()).thenReturn(true);
+        when(itemSearchIndex.get(2L)).thenReturn(Optional.of(new ItemSearchIndex.Hit(2L, "Book", BigDecimal.TEN)));
+        when(itemSearchIndex.get(9L)).thenReturn(Optional.empty());
+        when(itemSearchIndex.get(1L)).thenReturn(Optional.of(new ItemSearchIndex.Hit(1L, "Pen", BigDecimal.ONE)));
+        when(stockCache.get(anyLong())).thenReturn(Optional.of(5));
+
+        
+        List<ItemDTO> items = reactiveItemService.getItems(List.of(2L, 9L, 1L, 2L)).collectList().block();
+
+        
+        assertEquals(List.of(2L, 1L), items.stream().map(ItemDTO::getId).toList());
+    }
+}
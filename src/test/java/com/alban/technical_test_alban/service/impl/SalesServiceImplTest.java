@@ -0,0 +1,110 @@
+package com.alban.technical_test_alban.service.impl;
+
+import com.alban.technical_test_alban.dto.ItemSalesDTO;
+import com.alban.technical_test_alban.dto.SalesReportDTO;
+import com.alban.technical_test_alban.entity.ItemSales;
+import com.alban.technical_test_alban.event.SalesChangedEvent;
+import com.alban.technical_test_alban.repository.ItemSalesRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SalesServiceImplTest {
+
+    @Mock
+    private ItemSalesRepository itemSalesRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private SalesServiceImpl salesService;
+
+    @Test
+    void getSalesReport_ShouldSumItemRollupsWithoutReadingOrders() {
+        
+        when(itemSalesRepository.findAllAsDTO()).thenReturn(List.of(
+                new ItemSalesDTO(5L, "Shoe", 6L, new BigDecimal("270.00")),
+                new ItemSalesDTO(1L, "Pen", 7L, new BigDecimal("35.00"))));
+
+        
+        SalesReportDTO report = salesService.getSalesReport();
+
+        
+        assertEquals(13, report.getTotalUnits());
+        assertEquals(new BigDecimal("305.00"), report.getTotalRevenue());
+        assertEquals(2, report.getItems().size());
+        verify(itemSalesRepository, never()).insertAllFromOrders(anyLong());
+    }
+
+    @Test
+    void adjustSales_WhenRollupRowExists_ShouldAddDeltas() {
+        
+        when(itemSalesRepository.addSales(1L, -2, new BigDecimal("-10.00"))).thenReturn(1);
+        when(itemSalesRepository.findTotalsByItemId(1L)).thenReturn(new ItemSales(1L, 5L, new BigDecimal("25.00"), 4L));
+
+        
+        salesService.adjustSales(1L, -2, new BigDecimal("-10.00"));
+
+        
+        verify(itemSalesRepository, times(1)).addSales(1L, -2, new BigDecimal("-10.00"));
+        verify(itemSalesRepository, never()).insertFromOrders(anyLong(), anyLong());
+        verify(eventPublisher, times(1)).publishEvent(new SalesChangedEvent(1L, 5L, 4L));
+    }
+
+    @Test
+    void adjustSales_WhenRollupRowIsMissing_ShouldBuildItFromOrders() {
+        
+        when(itemSalesRepository.addSales(1L, 3, new BigDecimal("15.00"))).thenReturn(0);
+        when(itemSalesRepository.findMaxVersion()).thenReturn(8L);
+        when(itemSalesRepository.findTotalsByItemId(1L)).thenReturn(new ItemSales(1L, 3L, new BigDecimal("15.00"), 9L));
+
+        
+        salesService.adjustSales(1L, 3, new BigDecimal("15.00"));
+
+        
+        // Newer than any row a rebuild may have dropped
+        verify(itemSalesRepository, times(1)).insertFromOrders(1L, 9L);
+        verify(eventPublisher, times(1)).publishEvent(new SalesChangedEvent(1L, 3L, 9L));
+    }
+
+    @Test
+    void adjustSales_WithZeroDeltas_ShouldNotWrite() {
+        
+        salesService.adjustSales(1L, 0, new BigDecimal("0.00"));
+
+        
+        verifyNoInteractions(itemSalesRepository, eventPublisher);
+    }
+
+    @Test
+    void rebuildSales_ShouldReplaceRollupFromOrders() {
+        
+        when(itemSalesRepository.findMaxVersion()).thenReturn(8L);
+        when(itemSalesRepository.findAllItemIds()).thenReturn(List.of(1L, 2L));
+        when(itemSalesRepository.insertAllFromOrders(9L)).thenReturn(6);
+        when(itemSalesRepository.findAll()).thenReturn(List.of(new ItemSales(1L, 7L, new BigDecimal("35.00"), 9L)));
+
+        
+        int items = salesService.rebuildSales();
+
+        
+        assertEquals(6, items);
+        verify(itemSalesRepository, times(1)).deleteAllInBatch();
+        // Newer than any replaced row, so listeners take the rebuilt totals
+        verify(eventPublisher, times(1)).publishEvent(new SalesChangedEvent(1L, 7L, 9L));
+        // Item 2 has no orders left, its old totals are cleared
+        verify(eventPublisher, times(1)).publishEvent(new SalesChangedEvent(2L, 0L, 9L));
+    }
+}
@@ -0,0 +1,101 @@
+package com.alban.technical_test_alban.service.impl;
+
+import com.alban.technical_test_alban.component.OptimisticRetryExecutor;
+import com.alban.technical_test_alban.component.StockCache;
+import com.alban.technical_test_alban.component.StockConcurrencyMode;
+import com.alban.technical_test_alban.component.StockReservationEngine;
+import com.alban.technical_test_alban.dto.StockConcurrencyDTO;
+import com.alban.technical_test_alban.dto.StockConsistencyDTO;
+import com.alban.technical_test_alban.dto.StockMismatchDTO;
+import com.alban.technical_test_alban.entity.ItemStock;
+import com.alban.technical_test_alban.repository.ItemQuantity;
+import com.alban.technical_test_alban.repository.ItemRepository;
+import com.alban.technical_test_alban.repository.ItemStockRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockServiceImplTest {
+
+    @Mock
+    private StockCache stockCache;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private ItemStockRepository itemStockRepository;
+
+    @Mock
+    private StockReservationEngine reservationEngine;
+
+    @Mock
+    private OptimisticRetryExecutor retryExecutor;
+
+    @InjectMocks
+    private StockServiceImpl stockService;
+
+    @Test
+    void checkConsistency_WhenAllSourcesAgree_ShouldReportConsistent() {
+        ItemQuantity topUps = quantity(1L, 50L);
+        ItemQuantity ordered = quantity(1L, 20L);
+        when(itemRepository.calculateInventoryStockByItem()).thenReturn(List.of(topUps));
+        when(itemRepository.calculateOrderedStockByItem()).thenReturn(List.of(ordered));
+        when(itemStockRepository.findAll()).thenReturn(List.of(new ItemStock(1L, 30, 2L), new ItemStock(2L, 0, 0L)));
+        when(stockCache.snapshot()).thenReturn(Map.of(1L, 30, 2L, 0));
+
+        StockConsistencyDTO result = stockService.checkConsistency();
+
+        assertTrue(result.isConsistent());
+        assertEquals(2, result.getCheckedItems());
+        assertTrue(result.getMismatches().isEmpty());
+    }
+
+    @Test
+    void checkConsistency_WhenCacheDrifted_ShouldReportMismatch() {
+        ItemQuantity topUps = quantity(1L, 50L);
+        when(itemRepository.calculateInventoryStockByItem()).thenReturn(List.of(topUps));
+        when(itemRepository.calculateOrderedStockByItem()).thenReturn(List.of());
+        when(itemStockRepository.findAll()).thenReturn(List.of(new ItemStock(1L, 50, 1L)));
+        when(stockCache.snapshot()).thenReturn(Map.of(1L, 45));
+
+        StockConsistencyDTO result = stockService.checkConsistency();
+
+        assertFalse(result.isConsistent());
+        assertEquals(List.of(new StockMismatchDTO(1L, 45, 50, 50)), result.getMismatches());
+    }
+
+    @Test
+    void rebuildCache_ShouldDelegateToCache() {
+        when(stockCache.rebuild()).thenReturn(7);
+
+        assertEquals(7, stockService.rebuildCache());
+        verify(stockCache, times(1)).rebuild();
+    }
+
+    @Test
+    void getConcurrencyStats_ShouldReportModeAndCounters() {
+        when(reservationEngine.getMode()).thenReturn(StockConcurrencyMode.OPTIMISTIC);
+        when(retryExecutor.getConflicts()).thenReturn(5L);
+        when(retryExecutor.getRetries()).thenReturn(4L);
+        when(retryExecutor.getExhausted()).thenReturn(1L);
+
+        assertEquals(new StockConcurrencyDTO("optimistic", 5, 4, 1), stockService.getConcurrencyStats());
+    }
+
+    private ItemQuantity quantity(Long itemId, Long quantity) {
+        ItemQuantity projection = mock(ItemQuantity.class);
+        when(projection.getItemId()).thenReturn(itemId);
+        when(projection.getQuantity()).thenReturn(quantity);
+        return projection;
+    }
+}
@@ -0,0 +1,116 @@
+package com.alban.technical_test_alban.service.impl;
+
+import com.alban.technical_test_alban.dto.TrendDTO;
+import com.alban.technical_test_alban.dto.TrendPointDTO;
+import com.alban.technical_test_alban.entity.TimeBucket;
+import com.alban.technical_test_alban.exception.InvalidTrendQueryException;
+import com.alban.technical_test_alban.repository.ItemActivityRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TrendServiceImplTest {
+
+    private static final Instant CREATED_AT = Instant.parse("2024-03-01T10:15:30Z");
+
+    @Mock
+    private ItemActivityRepository itemActivityRepository;
+
+    @InjectMocks
+    private TrendServiceImpl trendService;
+
+    @Test
+    void getTrend_ShouldAlignRangeToBucketsAndSumPoints() {
+        
+        Instant from = Instant.parse("2024-01-01T00:00:00Z");
+        Instant to = Instant.parse("2025-01-01T00:00:00Z");
+        when(itemActivityRepository.findItemTrend(1L, TimeBucket.DAY, from, to)).thenReturn(List.of(
+                new TrendPointDTO(Instant.parse("2024-03-01T00:00:00Z"), 6L, new BigDecimal("30.00"), 10L, 0L),
+                new TrendPointDTO(Instant.parse("2024-03-02T00:00:00Z"), 1L, new BigDecimal("5.00"), 0L, 2L)));
+
+        
+        TrendDTO trend = trendService.getTrend(1L, TimeBucket.DAY, Instant.parse("2024-01-01T07:30:00Z"), to);
+
+        
+        assertEquals(from, trend.getFrom());
+        assertEquals(7, trend.getUnitsOrdered());
+        assertEquals(new BigDecimal("35.00"), trend.getRevenue());
+        assertEquals(10, trend.getUnitsToppedUp());
+        assertEquals(2, trend.getUnitsWithdrawn());
+        assertEquals(2, trend.getPoints().size());
+        verify(itemActivityRepository, never()).findTrend(any(), any(), any());
+    }
+
+    @Test
+    void getTrend_WithoutItem_ShouldReadTheCatalogueFromStartOfDay() {
+        
+        when(itemActivityRepository.findTrend(eq(TimeBucket.HOUR), any(Instant.class), any(Instant.class))).thenReturn(List.of());
+
+        
+        TrendDTO trend = trendService.getTrend(null, TimeBucket.HOUR, null, null);
+
+        
+        assertEquals(Instant.now().truncatedTo(ChronoUnit.DAYS), trend.getFrom());
+        assertEquals(BigDecimal.ZERO, trend.getRevenue());
+    }
+
+    @Test
+    void getTrend_WithTooManyBuckets_ShouldThrowInvalidTrendQueryException() {
+        
+        Instant to = Instant.parse("2024-03-01T00:00:00Z");
+
+        
+        assertThrows(InvalidTrendQueryException.class,
+                () -> trendService.getTrend(1L, TimeBucket.MINUTE, to.minusSeconds(8 * 24 * 3600), to));
+        assertThrows(InvalidTrendQueryException.class, () -> trendService.getTrend(1L, TimeBucket.HOUR, to, to));
+        verifyNoInteractions(itemActivityRepository);
+    }
+
+    @Test
+    void adjustOrderActivity_ShouldUpdateEachBucketAndInsertMissingOnes() {
+        
+        when(itemActivityRepository.addActivity(eq(1L), any(), any(), eq(2L), eq(new BigDecimal("10.00")), eq(0L), eq(0L)))
+                .thenReturn(1);
+        when(itemActivityRepository.addActivity(1L, TimeBucket.MINUTE, Instant.parse("2024-03-01T10:15:00Z"),
+                2L, new BigDecimal("10.00"), 0L, 0L)).thenReturn(0);
+
+        
+        trendService.adjustOrderActivity(1L, CREATED_AT, 2, new BigDecimal("10.00"));
+
+        
+        verify(itemActivityRepository, times(1)).addActivity(1L, TimeBucket.HOUR, Instant.parse("2024-03-01T10:00:00Z"),
+                2L, new BigDecimal("10.00"), 0L, 0L);
+        verify(itemActivityRepository, times(1)).addActivity(1L, TimeBucket.DAY, Instant.parse("2024-03-01T00:00:00Z"),
+                2L, new BigDecimal("10.00"), 0L, 0L);
+        verify(itemActivityRepository, times(1)).insertActivity(1L, "MINUTE", Instant.parse("2024-03-01T10:15:00Z"),
+                2L, new BigDecimal("10.00"), 0L, 0L);
+        verify(itemActivityRepository, times(1)).insertActivity(anyLong(), anyString(), any(), anyLong(), any(), anyLong(), anyLong());
+    }
+
+    @Test
+    void adjustInventoryActivity_ShouldCountWithdrawalsApartFromTopUps() {
+        
+        when(itemActivityRepository.addActivity(eq(1L), any(), any(), eq(0L), eq(BigDecimal.ZERO), eq(0L), eq(-4L)))
+                .thenReturn(1);
+
+        
+        trendService.adjustInventoryActivity(1L, CREATED_AT, "W", -4);
+        trendService.adjustInventoryActivity(1L, CREATED_AT, "T", 0);
+
+        
+        verify(itemActivityRepository, times(3)).addActivity(eq(1L), any(), any(), eq(0L), eq(BigDecimal.ZERO), eq(0L), eq(-4L));
+        verifyNoMoreInteractions(itemActivityRepository);
+    }
+}